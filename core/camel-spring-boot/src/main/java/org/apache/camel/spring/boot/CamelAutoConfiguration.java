@@ -33,23 +33,31 @@ import org.apache.camel.main.RoutesCollector;
 import org.apache.camel.model.Model;
 import org.apache.camel.spi.BeanRepository;
 import org.apache.camel.spi.StartupStepRecorder;
+import org.apache.camel.spring.boot.statistics.InflightExchangeSampler;
+import org.apache.camel.spring.boot.statistics.RouteStatisticsCollector;
+import org.apache.camel.spring.boot.util.HierarchicalPropertiesEvaluator;
 import org.apache.camel.spring.spi.ApplicationContextBeanRepository;
 import org.apache.camel.spring.spi.CamelBeanPostProcessor;
 import org.apache.camel.support.DefaultRegistry;
 import org.apache.camel.support.startup.LoggingStartupStepRecorder;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Role;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
@@ -104,10 +112,16 @@ public class CamelAutoConfiguration {
         }
 
         final Map<String, BeanRepository> repositories = applicationContext.getBeansOfType(BeanRepository.class);
-        if (!repositories.isEmpty()) {
+        LazyComponentsBeanRepository lazyComponents = null;
+        if (config.isLazyComponents()) {
+            // only create the component customizers (and their auto-configurations) when the component is used
+            lazyComponents = new LazyComponentsBeanRepository(applicationContext);
+            camelContext.addStartupListener(lazyComponents);
+        }
+        if (!repositories.isEmpty() || lazyComponents != null) {
             List<BeanRepository> reps = new ArrayList<>();
             // include default bean repository as well
-            reps.add(new ApplicationContextBeanRepository(applicationContext));
+            reps.add(lazyComponents != null ? lazyComponents : new ApplicationContextBeanRepository(applicationContext));
             // and then any custom
             reps.addAll(repositories.values());
             // sort by ordered
@@ -121,19 +135,59 @@ public class CamelAutoConfiguration {
             if (env instanceof ConfigurableEnvironment) {
                 MutablePropertySources sources = ((ConfigurableEnvironment) env).getPropertySources();
                 if (!sources.contains("camel-file-configuration")) {
-                    sources.addFirst(new FilePropertySource("camel-file-configuration", applicationContext, config.getFileConfigurations()));
+                    FilePropertySource source = new FilePropertySource("camel-file-configuration", applicationContext, config.getFileConfigurations());
+                    sources.addFirst(source);
+                    if (config.isFileConfigurationsReloadEnabled() && applicationContext instanceof ConfigurableApplicationContext) {
+                        source.startWatching();
+                        ((ConfigurableApplicationContext) applicationContext).addApplicationListener(event -> {
+                            // not when a child context is closed
+                            if (event instanceof ContextClosedEvent && ((ContextClosedEvent) event).getApplicationContext() == applicationContext) {
+                                IOHelper.close(source);
+                            }
+                        });
+                    }
                 }
             }
         }
 
-        camelContext.adapt(ExtendedCamelContext.class).setPackageScanClassResolver(new FatJarPackageScanClassResolver());
-        camelContext.adapt(ExtendedCamelContext.class).setPackageScanResourceResolver(new FatJarPackageScanResourceResolver());
+        if (applicationContext instanceof ConfigurableApplicationContext) {
+            // the enabled properties are only memoized while the auto configurations are evaluated
+            final Environment environment = applicationContext.getEnvironment();
+            ((ConfigurableApplicationContext) applicationContext).addApplicationListener(event -> {
+                if (event instanceof ContextRefreshedEvent && ((ContextRefreshedEvent) event).getApplicationContext() == applicationContext
+                        || event instanceof CamelPropertiesChangedEvent) {
+                    HierarchicalPropertiesEvaluator.stopMemoizing(environment);
+                }
+            });
+        }
+
+        // the class and resource resolvers share the scanned jar files, which are evicted when camel is started
+        FatJarPackageScanCache scanCache = new FatJarPackageScanCache(config.getPackageScanParallelism());
+        camelContext.addStartupListener(scanCache);
+        camelContext.adapt(ExtendedCamelContext.class).setPackageScanClassResolver(new FatJarPackageScanClassResolver(scanCache));
+        camelContext.adapt(ExtendedCamelContext.class).setPackageScanResourceResolver(new FatJarPackageScanResourceResolver(scanCache));
+
+        RouteStatisticsCollector statistics = applicationContext.getBeanProvider(RouteStatisticsCollector.class).getIfAvailable();
+        if (statistics != null) {
+            // must be added before the routes are created
+            camelContext.addRoutePolicyFactory(statistics);
+            camelContext.adapt(ExtendedCamelContext.class).addInterceptStrategy(statistics);
+        }
+        InflightExchangeSampler inflightSampler = applicationContext.getBeanProvider(InflightExchangeSampler.class).getIfAvailable();
+        if (inflightSampler != null) {
+            camelContext.addRoutePolicyFactory(inflightSampler);
+        }
 
         if (config.getRouteFilterIncludePattern() != null || config.getRouteFilterExcludePattern() != null) {
             LOG.info("Route filtering pattern: include={}, exclude={}", config.getRouteFilterIncludePattern(), config.getRouteFilterExcludePattern());
             camelContext.getExtension(Model.class).setRouteFilterPattern(config.getRouteFilterIncludePattern(), config.getRouteFilterExcludePattern());
         }
 
+        if (config.getShutdownRoutesParallelism() > 1) {
+            // must be set before the common options, which configure the shutdown strategy
+            camelContext.setShutdownStrategy(new ParallelShutdownStrategy(camelContext, config.getShutdownRoutesParallelism()));
+        }
+
         // configure the common/default options
         DefaultConfigurationConfigurer.configure(camelContext, config);
         // lookup and configure SPI beans
@@ -149,6 +203,10 @@ public class CamelAutoConfiguration {
             camelContext.adapt(ExtendedCamelContext.class).getStartupStepRecorder().setEnabled(false);
         } else if ("logging".equals(config.getStartupRecorder())) {
             camelContext.adapt(ExtendedCamelContext.class).setStartupStepRecorder(new LoggingStartupStepRecorder());
+        } else if ("memory".equals(config.getStartupRecorder())) {
+            MemoryStartupStepRecorder recorder = new MemoryStartupStepRecorder();
+            recorder.setMaxDepth(config.getStartupRecorderMaxDepth());
+            camelContext.adapt(ExtendedCamelContext.class).setStartupStepRecorder(recorder);
         } else if ("java-flight-recorder".equals(config.getStartupRecorder())
                 || config.getStartupRecorder() == null) {
             // try to auto discover camel-jfr to use
@@ -249,8 +307,10 @@ public class CamelAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(PropertiesParser.class)
-    PropertiesParser propertiesParser() {
-        return new SpringPropertiesParser();
+    SpringPropertiesParser propertiesParser(CamelConfigurationProperties config) {
+        SpringPropertiesParser parser = new SpringPropertiesParser();
+        parser.setCacheEnabled(config.isPropertiesCacheEnabled());
+        return parser;
     }
 
     // We explicitly declare the destroyMethod to be "" as the Spring @Bean
@@ -265,6 +325,32 @@ public class CamelAutoConfiguration {
         return pc;
     }
 
+    /**
+     * Marks the component starters as lazy when in lazy components mode.
+     */
+    @Bean
+    static LazyComponentsBeanFactoryPostProcessor lazyComponentsBeanFactoryPostProcessor() {
+        return new LazyComponentsBeanFactoryPostProcessor();
+    }
+
+    /**
+     * Collects route statistics without JMX.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "camel.springboot", name = "route-statistics-enabled")
+    RouteStatisticsCollector routeStatisticsCollector() {
+        return new RouteStatisticsCollector();
+    }
+
+    /**
+     * Keeps track of a sample of the inflight exchanges.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "camel.springboot", name = "inflight-sampling-enabled")
+    InflightExchangeSampler inflightExchangeSampler(CamelConfigurationProperties config) {
+        return new InflightExchangeSampler(config.getInflightSamplingRate(), config.getInflightSamplingCapacity());
+    }
+
     /**
      * Camel post processor - required to support Camel annotations.
      */
@@ -51,6 +51,85 @@ public class CamelConfigurationProperties extends DefaultConfigurationProperties
      */
     private boolean warnOnEarlyShutdown = true;
 
+    /**
+     * The number of threads to use for inspecting the nested jars of a Spring Boot fat jar in parallel when
+     * scanning packages for classes and resources (such as type converters and routes).
+     * The default value 1 inspects the nested jars one after another.
+     */
+    private int packageScanParallelism = 1;
+
+    /**
+     * Whether to record statistics (attempts, hits, misses, failures and time spent) per pair of types converted
+     * by the Spring type conversion bridge, which is used as fallback type converter when Camel has no converter.
+     */
+    private boolean typeConversionStatisticsEnabled;
+
+    /**
+     * Whether to only create and configure the components of the component starters when an endpoint uri first uses
+     * the component. The auto-configurations, configuration properties and customizers of the component starters
+     * which are not used are then not created, which reduces startup time and memory when many starters are on the
+     * classpath. The component starters which have not been used are logged when Camel has been started.
+     */
+    private boolean lazyComponents;
+
+    /**
+     * The number of threads to use for starting the routes in parallel (the routes are still built one after
+     * another). The routes are started in groups by their startup order, where the routes without a startup order are
+     * started last. The time taken to start the routes is logged. The default value 1 starts the routes one after
+     * another.
+     */
+    private int routesStartupParallelism = 1;
+
+    /**
+     * Whether to collect statistics (exchanges total, failed, inflight and processing time histograms) per route and
+     * processor without JMX. The statistics are available from the camelroutes actuator endpoint and as Micrometer
+     * meters (when Micrometer is on the classpath), also when JMX is disabled.
+     */
+    private boolean routeStatisticsEnabled;
+
+    /**
+     * The number of threads to use for shutting down the routes in parallel. The routes are shutdown in waves, where
+     * a route which consumes from an endpoint that other routes send to (such as direct or seda), is shutdown after
+     * these routes, and routes which defer shutdown are shutdown last. The shutdown timeout applies to all the waves
+     * together, so the time taken tracks the slowest routes rather than the sum of all routes.
+     * The default value 1 shuts down the routes using the default Camel shutdown strategy.
+     */
+    private int shutdownRoutesParallelism = 1;
+
+    /**
+     * Whether to keep track of a sample of the inflight exchanges (with the route and node they are at, the time
+     * elapsed and the thread), which are available from the camelinflight actuator endpoint. The sampling uses
+     * slots allocated up front, so it can be enabled in production.
+     */
+    private boolean inflightSamplingEnabled;
+
+    /**
+     * One in every sampling rate exchanges is tracked when inflight sampling is enabled. The value 1 tracks all
+     * the exchanges.
+     */
+    private int inflightSamplingRate = 10;
+
+    /**
+     * The maximum number of exchanges tracked at the same time when inflight sampling is enabled.
+     */
+    private int inflightSamplingCapacity = 1000;
+
+    /**
+     * Whether to cache the values of the property placeholders resolved from the Spring environment, which saves
+     * querying all the property sources of the environment for placeholders resolved per message (such as in dynamic
+     * endpoints). The cache is cleared when the application context is refreshed, when the file configurations are
+     * reloaded, and when the environment changes (Spring Cloud).
+     */
+    private boolean propertiesCacheEnabled;
+
+    /**
+     * Whether to watch the files loaded from the file configurations (camel.springboot.file-configurations) for
+     * changes, such as when a secret mounted to the container is rotated. The changed files are then loaded again
+     * without stopping the routes, and an event with the changed properties is published so the cached property
+     * placeholders are evicted and dependent components can re-bind.
+     */
+    private boolean fileConfigurationsReloadEnabled;
+
     // Default Properties via camel-main
     // ---------------------------------
 
@@ -830,7 +909,9 @@ public class CamelConfigurationProperties extends DefaultConfigurationProperties
 
     /**
      * To use startup recorder for capturing execution time during starting Camel. The recorder can be one of: false (or
-     * off), logging, java-flight-recorder (or jfr).
+     * off), logging, memory, java-flight-recorder (or jfr).
+     *
+     * The memory recorder keeps the startup steps in memory, which can be queried with the camelstartup actuator endpoint.
      */
     private String startupRecorder;
 
@@ -903,4 +984,92 @@ public class CamelConfigurationProperties extends DefaultConfigurationProperties
         this.warnOnEarlyShutdown = warnOnEarlyShutdown;
     }
 
+    public int getPackageScanParallelism() {
+        return packageScanParallelism;
+    }
+
+    public void setPackageScanParallelism(int packageScanParallelism) {
+        this.packageScanParallelism = packageScanParallelism;
+    }
+
+    public boolean isTypeConversionStatisticsEnabled() {
+        return typeConversionStatisticsEnabled;
+    }
+
+    public void setTypeConversionStatisticsEnabled(boolean typeConversionStatisticsEnabled) {
+        this.typeConversionStatisticsEnabled = typeConversionStatisticsEnabled;
+    }
+
+    public boolean isLazyComponents() {
+        return lazyComponents;
+    }
+
+    public void setLazyComponents(boolean lazyComponents) {
+        this.lazyComponents = lazyComponents;
+    }
+
+    public int getRoutesStartupParallelism() {
+        return routesStartupParallelism;
+    }
+
+    public void setRoutesStartupParallelism(int routesStartupParallelism) {
+        this.routesStartupParallelism = routesStartupParallelism;
+    }
+
+    public boolean isRouteStatisticsEnabled() {
+        return routeStatisticsEnabled;
+    }
+
+    public void setRouteStatisticsEnabled(boolean routeStatisticsEnabled) {
+        this.routeStatisticsEnabled = routeStatisticsEnabled;
+    }
+
+    public int getShutdownRoutesParallelism() {
+        return shutdownRoutesParallelism;
+    }
+
+    public void setShutdownRoutesParallelism(int shutdownRoutesParallelism) {
+        this.shutdownRoutesParallelism = shutdownRoutesParallelism;
+    }
+
+    public boolean isInflightSamplingEnabled() {
+        return inflightSamplingEnabled;
+    }
+
+    public void setInflightSamplingEnabled(boolean inflightSamplingEnabled) {
+        this.inflightSamplingEnabled = inflightSamplingEnabled;
+    }
+
+    public int getInflightSamplingRate() {
+        return inflightSamplingRate;
+    }
+
+    public void setInflightSamplingRate(int inflightSamplingRate) {
+        this.inflightSamplingRate = inflightSamplingRate;
+    }
+
+    public int getInflightSamplingCapacity() {
+        return inflightSamplingCapacity;
+    }
+
+    public void setInflightSamplingCapacity(int inflightSamplingCapacity) {
+        this.inflightSamplingCapacity = inflightSamplingCapacity;
+    }
+
+    public boolean isPropertiesCacheEnabled() {
+        return propertiesCacheEnabled;
+    }
+
+    public void setPropertiesCacheEnabled(boolean propertiesCacheEnabled) {
+        this.propertiesCacheEnabled = propertiesCacheEnabled;
+    }
+
+    public boolean isFileConfigurationsReloadEnabled() {
+        return fileConfigurationsReloadEnabled;
+    }
+
+    public void setFileConfigurationsReloadEnabled(boolean fileConfigurationsReloadEnabled) {
+        this.fileConfigurationsReloadEnabled = fileConfigurationsReloadEnabled;
+    }
+
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when properties used by Camel have changed (such as when the files of a {@link FilePropertySource} have
+ * been reloaded), so resolved property placeholders can be evicted and dependent components can re-bind.
+ */
+public class CamelPropertiesChangedEvent extends ApplicationEvent {
+
+    private final Set<String> keys;
+
+    /**
+     * @param source the source of the changed properties
+     * @param keys   the names of the changed properties, or empty if not known (all properties may have changed)
+     */
+    public CamelPropertiesChangedEvent(Object source, Set<String> keys) {
+        super(source);
+        this.keys = Collections.unmodifiableSet(new LinkedHashSet<>(keys));
+    }
+
+    /**
+     * The names of the changed properties, or empty if not known (all properties may have changed).
+     */
+    public Set<String> getKeys() {
+        return keys;
+    }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.ExtendedCamelContext;
@@ -36,6 +37,8 @@ import org.apache.camel.main.SimpleMainShutdownStrategy;
 import org.apache.camel.spi.CamelEvent;
 import org.apache.camel.spi.CamelEvent.Type;
 import org.apache.camel.spi.EventNotifier;
+import org.apache.camel.spring.boot.vault.VaultSecretsCache;
+import org.apache.camel.spring.boot.vault.VaultSecretsPrefetcher;
 import org.apache.camel.support.EventNotifierSupport;
 import org.apache.camel.support.LifecycleStrategySupport;
 import org.apache.camel.support.service.ServiceHelper;
@@ -46,6 +49,7 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 
 /**
  * A spring application listener that when spring boot is starting (refresh event) will setup Camel by:
@@ -75,6 +79,8 @@ public class CamelSpringBootApplicationListener implements ApplicationListener<C
                                               RoutesCollector springBootRoutesCollector) {
         this.applicationContext = applicationContext;
         this.camelContextConfigurations = new ArrayList<>(camelContextConfigurations);
+        // invoke the configurations in their order (such as the bulkheads after the routes from route templates)
+        AnnotationAwareOrderComparator.sort(this.camelContextConfigurations);
         this.configurationProperties = configurationProperties;
         this.springBootRoutesCollector = springBootRoutesCollector;
     }
@@ -103,7 +109,20 @@ public class CamelSpringBootApplicationListener implements ApplicationListener<C
                 configurer.setJavaRoutesIncludePattern(configurationProperties.getJavaRoutesIncludePattern());
                 configurer.setRoutesExcludePattern(configurationProperties.getRoutesExcludePattern());
                 configurer.setRoutesIncludePattern(configurationProperties.getRoutesIncludePattern());
+
+                if (configurationProperties.getRoutesStartupParallelism() > 1) {
+                    configureParallelRoutesStartup(camelContext);
+                }
+                VaultSecretsPrefetcher prefetcher = createVaultSecretsPrefetcher();
+                if (prefetcher != null) {
+                    // look up the vault secrets concurrently before the routes are configured
+                    prefetcher.prefetch(camelContext, applicationContext.getEnvironment(), configurationProperties.getRoutesIncludePattern());
+                }
                 configurer.configureRoutes(camelContext);
+                if (prefetcher != null) {
+                    // and the secrets of the routes which have been configured (before they are started)
+                    prefetcher.prefetch(camelContext);
+                }
 
                 for (CamelContextConfiguration camelContextConfiguration : camelContextConfigurations) {
                     LOG.debug("CamelContextConfiguration found. Invoking beforeApplicationStart: {}", camelContextConfiguration);
@@ -234,6 +253,24 @@ public class CamelSpringBootApplicationListener implements ApplicationListener<C
 
     // Helpers
 
+    private VaultSecretsPrefetcher createVaultSecretsPrefetcher() {
+        List<VaultSecretsCache> caches = applicationContext.getBeanProvider(VaultSecretsCache.class).orderedStream()
+            .filter(VaultSecretsCache::isPrefetch)
+            .collect(Collectors.toList());
+        return caches.isEmpty() ? null : new VaultSecretsPrefetcher(caches);
+    }
+
+    private void configureParallelRoutesStartup(CamelContext camelContext) {
+        if (!camelContext.isAutoStartup()) {
+            LOG.debug("CamelContext is not auto startup so the routes are not started");
+        } else if (configurationProperties.isRouteControllerSuperviseEnabled()) {
+            LOG.info("Routes are started by the supervising route controller and not in parallel");
+        } else {
+            // camel should not start the routes as they are started in parallel when camel has been started
+            new ParallelRoutesStartup(configurationProperties.getRoutesStartupParallelism()).install(camelContext);
+        }
+    }
+
     private void terminateMainControllerAfter(final CamelContext camelContext, int seconds,
                                               final MainShutdownStrategy shutdownStrategy, final Runnable mainCompletedTask) {
         ScheduledExecutorService executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "CamelSpringBootTerminateTask");
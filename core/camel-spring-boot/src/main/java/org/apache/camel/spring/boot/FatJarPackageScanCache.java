@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedStartupListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of the class and resource entries of the spring-boot fat jars, which is shared by the
+ * {@link FatJarPackageScanClassResolver} and {@link FatJarPackageScanResourceResolver} of a {@link CamelContext}.
+ * <p/>
+ * Each fat jar is scanned only once using its central directory, and the nested jars are taken from the
+ * {@link FatJarPackageScanIndex} when present, or otherwise inspected once (optionally in parallel). The cache is
+ * cleared when the {@link CamelContext} is fully started, as package scanning mostly happens during startup.
+ */
+public class FatJarPackageScanCache implements ExtendedStartupListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FatJarPackageScanCache.class);
+
+    static final String SPRING_BOOT_CLASSIC_LIB_ROOT = "lib/";
+    static final String SPRING_BOOT_BOOT_INF_LIB_ROOT = "BOOT-INF/lib/";
+    static final String SPRING_BOOT_BOOT_INF_CLASSES_ROOT = "BOOT-INF/classes/";
+    static final String SPRING_BOOT_WEB_INF_LIB_ROOT = "WEB-INF/lib/";
+    static final String SPRING_BOOT_WEB_INF_CLASSES_ROOT = "WEB-INF/classes/";
+
+    private static final String[] INDEX_ROOTS = { SPRING_BOOT_BOOT_INF_CLASSES_ROOT, SPRING_BOOT_WEB_INF_CLASSES_ROOT, "" };
+
+    private final Map<String, JarEntries> jars = new ConcurrentHashMap<>();
+    private final int parallelism;
+
+    public FatJarPackageScanCache() {
+        this(1);
+    }
+
+    /**
+     * @param parallelism the number of threads used for inspecting the nested jars of a fat jar, a value of 1 (or
+     *                    less) inspects the nested jars one after another.
+     */
+    public FatJarPackageScanCache(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Gets the class and resource entries of the given jar file, scanning the jar on first access.
+     *
+     * @param  urlPath the path of the jar file
+     * @return         the entries, or <tt>null</tt> if the path is not a jar file that can be scanned
+     */
+    public JarEntries getJarEntries(String urlPath) {
+        File file = new File(urlPath);
+        if (!file.isFile()) {
+            return null;
+        }
+        return jars.computeIfAbsent(urlPath, k -> scanJar(file, k));
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+        jars.clear();
+    }
+
+    /**
+     * Number of jar files in the cache.
+     */
+    public int size() {
+        return jars.size();
+    }
+
+    @Override
+    public void onCamelContextStarted(CamelContext context, boolean alreadyStarted) throws Exception {
+        // noop
+    }
+
+    @Override
+    public void onCamelContextFullyStarted(CamelContext context, boolean alreadyStarted) throws Exception {
+        LOG.debug("Clearing package scan cache of {} jar files", jars.size());
+        clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected JarEntries scanJar(File file, String urlPath) {
+        JarEntries entries = new JarEntries();
+        ExecutorService pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try (ZipFile zip = new ZipFile(file)) {
+            FatJarPackageScanIndex index = loadIndex(zip, urlPath);
+
+            // the entries of the jar in order, either as names or as pending inspections of nested jars
+            List<Object> parts = new ArrayList<>();
+            List<String> current = new ArrayList<>();
+            int indexed = 0;
+            int inspected = 0;
+            // only the central directory is read, nested jars are only opened if not in the index
+            Enumeration<? extends ZipEntry> it = zip.entries();
+            while (it.hasMoreElements()) {
+                ZipEntry entry = it.nextElement();
+                String name = entry.getName().trim();
+                if (entry.isDirectory() || JarFile.MANIFEST_NAME.equals(name)) {
+                    continue;
+                }
+                if (isSpringBootNestedJar(name)) {
+                    String jarName = name.substring(name.lastIndexOf('/') + 1);
+                    FatJarPackageScanIndex.IndexedJar indexedJar = index != null ? index.getJar(jarName, entry.getSize(), entry.getCrc()) : null;
+                    if (indexedJar != null) {
+                        indexed++;
+                        current.addAll(indexedJar.getClassEntries());
+                        current.addAll(indexedJar.getResourceEntries());
+                    } else {
+                        inspected++;
+                        String nestedUrl = urlPath + "!/" + name;
+                        if (pool != null) {
+                            parts.add(current);
+                            current = new ArrayList<>();
+                            parts.add(pool.submit(() -> scanNestedJar(zip, entry, nestedUrl)));
+                        } else {
+                            current.addAll(scanNestedJar(zip, entry, nestedUrl));
+                        }
+                    }
+                } else {
+                    current.add(cleanupSpringBootClassName(name));
+                }
+            }
+            parts.add(current);
+
+            // merge in the same order as the entries of the jar
+            for (Object part : parts) {
+                List<String> names = part instanceof Future ? getNestedJarEntries((Future<List<String>>) part, urlPath) : (List<String>) part;
+                names.forEach(entries::addEntry);
+            }
+            LOG.debug("Scanned jar file: {} with {} class and {} resource entries ({} indexed, {} inspected nested jars)",
+                    urlPath, entries.getClassCount(), entries.getResourceCount(), indexed, inspected);
+        } catch (IOException ioe) {
+            LOG.warn("Cannot search jar file '" + urlPath + " due to an IOException: " + ioe.getMessage() + ". This exception is ignored.", ioe);
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+        return entries;
+    }
+
+    private List<String> scanNestedJar(ZipFile zip, ZipEntry nestedJar, String nestedUrl) {
+        LOG.trace("Inspecting nested jar: {}", nestedUrl);
+        List<String> answer = new ArrayList<>();
+        try (InputStream is = zip.getInputStream(nestedJar)) {
+            JarInputStream jarStream = new JarInputStream(is);
+            JarEntry entry;
+            while ((entry = jarStream.getNextJarEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    answer.add(cleanupSpringBootClassName(entry.getName().trim()));
+                }
+            }
+        } catch (IOException ioe) {
+            LOG.warn("Cannot search jar file '" + nestedUrl + " due to an IOException: " + ioe.getMessage() + ". This exception is ignored.", ioe);
+        }
+        return answer;
+    }
+
+    private static List<String> getNestedJarEntries(Future<List<String>> future, String urlPath) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while inspecting nested jars of jar file: {}", urlPath);
+        } catch (ExecutionException e) {
+            LOG.warn("Cannot inspect nested jar of jar file '" + urlPath + "' due to: " + e.getCause().getMessage() + ". This exception is ignored.", e.getCause());
+        }
+        return Collections.emptyList();
+    }
+
+    private FatJarPackageScanIndex loadIndex(ZipFile zip, String urlPath) throws IOException {
+        for (String root : INDEX_ROOTS) {
+            ZipEntry entry = zip.getEntry(root + FatJarPackageScanIndex.INDEX_LOCATION);
+            if (entry != null) {
+                try (InputStream is = zip.getInputStream(entry)) {
+                    FatJarPackageScanIndex index = FatJarPackageScanIndex.read(is);
+                    if (index == null) {
+                        LOG.debug("Ignoring package scan index of jar file: {} as its format is not supported", urlPath);
+                    }
+                    return index;
+                }
+            }
+        }
+        return null;
+    }
+
+    static boolean isSpringBootNestedJar(String name) {
+        // Supporting both versions of the packaging model
+        return name.endsWith(".jar") && (name.startsWith(SPRING_BOOT_CLASSIC_LIB_ROOT) || name.startsWith(SPRING_BOOT_BOOT_INF_LIB_ROOT) || name.startsWith(SPRING_BOOT_WEB_INF_LIB_ROOT));
+    }
+
+    static String cleanupSpringBootClassName(String name) {
+        // Classes inside BOOT-INF/classes will be loaded by the new classloader as if they were in the root
+        if (name.startsWith(SPRING_BOOT_BOOT_INF_CLASSES_ROOT)) {
+            name = name.substring(SPRING_BOOT_BOOT_INF_CLASSES_ROOT.length());
+        }
+        if (name.startsWith(SPRING_BOOT_WEB_INF_CLASSES_ROOT)) {
+            name = name.substring(SPRING_BOOT_WEB_INF_CLASSES_ROOT.length());
+        }
+        return name;
+    }
+
+    /**
+     * The class and resource entries of a jar file, stored in a prefix trie keyed by package (directory).
+     */
+    public static final class JarEntries {
+
+        private final PackageNode root = new PackageNode();
+        private int classCount;
+        private int resourceCount;
+
+        void addEntry(String name) {
+            PackageNode node = root;
+            int start = 0;
+            int pos;
+            while ((pos = name.indexOf('/', start)) != -1) {
+                node = node.child(name.substring(start, pos));
+                start = pos + 1;
+            }
+            if (name.endsWith(".class")) {
+                node.classes.add(name);
+                classCount++;
+            } else {
+                node.resources.add(name);
+                resourceCount++;
+            }
+        }
+
+        /**
+         * All the class entries of the jar.
+         */
+        public List<String> getClassEntries() {
+            List<String> answer = new ArrayList<>(classCount);
+            root.collectClasses(answer);
+            return answer;
+        }
+
+        /**
+         * The resource entries (non class entries) which starts with the given prefix.
+         */
+        public List<String> getResourceEntries(String prefix) {
+            List<String> answer = new ArrayList<>();
+
+            PackageNode node = root;
+            int start = 0;
+            int pos;
+            while (node != null && (pos = prefix.indexOf('/', start)) != -1) {
+                node = node.children.get(prefix.substring(start, pos));
+                start = pos + 1;
+            }
+            if (node == null) {
+                return answer;
+            }
+
+            String rest = prefix.substring(start);
+            for (String name : node.resources) {
+                if (name.startsWith(prefix)) {
+                    answer.add(name);
+                }
+            }
+            for (Map.Entry<String, PackageNode> child : node.children.entrySet()) {
+                if (child.getKey().startsWith(rest)) {
+                    child.getValue().collectResources(answer);
+                }
+            }
+            return answer;
+        }
+
+        public int getClassCount() {
+            return classCount;
+        }
+
+        public int getResourceCount() {
+            return resourceCount;
+        }
+    }
+
+    private static final class PackageNode {
+
+        private final Map<String, PackageNode> children = new LinkedHashMap<>();
+        private final List<String> classes = new ArrayList<>();
+        private final List<String> resources = new ArrayList<>();
+
+        private PackageNode child(String name) {
+            return children.computeIfAbsent(name, k -> new PackageNode());
+        }
+
+        private void collectClasses(List<String> answer) {
+            answer.addAll(classes);
+            for (PackageNode child : children.values()) {
+                child.collectClasses(answer);
+            }
+        }
+
+        private void collectResources(List<String> answer) {
+            answer.addAll(resources);
+            for (PackageNode child : children.values()) {
+                child.collectResources(answer);
+            }
+        }
+    }
+
+}
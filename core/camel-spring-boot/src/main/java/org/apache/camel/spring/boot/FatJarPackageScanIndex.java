@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Build-time index of the class and resource entries contained in the nested jars of a spring-boot fat jar.
+ * <p/>
+ * The index is generated by the {@code generate-package-scan-index} goal of the
+ * {@code camel-spring-boot-generator-maven-plugin} and stored as {@link #INDEX_LOCATION} in the application classes.
+ * It is a line based text file:
+ * <pre>
+ * camel-package-scan-index	3
+ * J	camel-core-engine-3.18.3.jar	123456	9f3a51c2
+ * P	org/apache/camel/impl	DefaultCamelContext	DefaultModel
+ * R	META-INF/services/org/apache/camel	TypeConverterLoader
+ * </pre>
+ * where {@code J} lines start the section of a nested jar (file name, size in bytes and CRC-32 in hex, as in the
+ * central directory of the fat jar), {@code P} lines list the
+ * simple class names (without the .class suffix) per package directory, and {@code R} lines list the file names of
+ * the other resources per directory.
+ */
+public final class FatJarPackageScanIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/camel/package-scan.idx";
+    public static final String INDEX_HEADER = "camel-package-scan-index";
+    public static final int INDEX_VERSION = 3;
+
+    private final Map<String, IndexedJar> jars;
+
+    private FatJarPackageScanIndex(Map<String, IndexedJar> jars) {
+        this.jars = jars;
+    }
+
+    /**
+     * Reads the index from the given stream (the stream is not closed).
+     *
+     * @return the index, or <tt>null</tt> if the stream does not contain an index of a supported version
+     */
+    public static FatJarPackageScanIndex read(InputStream is) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null || !line.equals(INDEX_HEADER + "\t" + INDEX_VERSION)) {
+            return null;
+        }
+
+        Map<String, IndexedJar> jars = new HashMap<>();
+        IndexedJar current = null;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\t");
+            if ("J".equals(parts[0]) && parts.length == 4) {
+                current = new IndexedJar(Long.parseLong(parts[2]), Long.parseLong(parts[3], 16));
+                jars.put(parts[1], current);
+            } else if ("P".equals(parts[0]) && current != null && parts.length > 1) {
+                String dir = parts[1].isEmpty() ? "" : parts[1] + "/";
+                for (int i = 2; i < parts.length; i++) {
+                    current.classEntries.add(dir + parts[i] + ".class");
+                }
+            } else if ("R".equals(parts[0]) && current != null && parts.length > 1) {
+                String dir = parts[1].isEmpty() ? "" : parts[1] + "/";
+                for (int i = 2; i < parts.length; i++) {
+                    current.resourceEntries.add(dir + parts[i]);
+                }
+            } else {
+                // corrupt or unknown content, so do not trust the index
+                return null;
+            }
+        }
+        return new FatJarPackageScanIndex(jars);
+    }
+
+    /**
+     * Gets the indexed entries of the given nested jar.
+     *
+     * @param  jarName the file name of the nested jar (without any BOOT-INF/lib/ folder)
+     * @param  size    the size of the nested jar in the fat jar
+     * @param  crc     the CRC-32 of the nested jar in the fat jar
+     * @return         the indexed jar, or <tt>null</tt> if the jar is not indexed or the index is stale
+     */
+    public IndexedJar getJar(String jarName, long size, long crc) {
+        IndexedJar jar = jars.get(jarName);
+        if (jar == null || jar.size != size || jar.crc != crc) {
+            return null;
+        }
+        return jar;
+    }
+
+    public int size() {
+        return jars.size();
+    }
+
+    public static final class IndexedJar {
+        private final long size;
+        private final long crc;
+        private final List<String> classEntries = new ArrayList<>();
+        private final List<String> resourceEntries = new ArrayList<>();
+
+        private IndexedJar(long size, long crc) {
+            this.size = size;
+            this.crc = crc;
+        }
+
+        public List<String> getClassEntries() {
+            return Collections.unmodifiableList(classEntries);
+        }
+
+        public List<String> getResourceEntries() {
+            return Collections.unmodifiableList(resourceEntries);
+        }
+    }
+
+}
@@ -29,17 +29,33 @@ import java.util.jar.JarInputStream;
 /**
  * An implementation of the {@code org.apache.camel.spi.PackageScanResourceResolver} that is able to
  * scan spring-boot fat jars to find resources contained also in nested jars.
+ * <p/>
+ * Jar files are scanned using a {@link FatJarPackageScanCache}, which can be shared with the
+ * {@link FatJarPackageScanClassResolver} so each jar is scanned only once.
  */
 public class FatJarPackageScanResourceResolver extends DefaultPackageScanResourceResolver {
 
-    private static final String SPRING_BOOT_CLASSIC_LIB_ROOT = "lib/";
-    private static final String SPRING_BOOT_BOOT_INF_LIB_ROOT = "BOOT-INF/lib/";
-    private static final String SPRING_BOOT_BOOT_INF_CLASSES_ROOT = "BOOT-INF/classes/";
-    private static final String SPRING_BOOT_WEB_INF_LIB_ROOT = "WEB-INF/lib/";
-    private static final String SPRING_BOOT_WEB_INF_CLASSES_ROOT = "WEB-INF/classes/";
+    private final FatJarPackageScanCache scanCache;
+
+    public FatJarPackageScanResourceResolver() {
+        this(new FatJarPackageScanCache());
+    }
+
+    public FatJarPackageScanResourceResolver(FatJarPackageScanCache scanCache) {
+        this.scanCache = scanCache;
+    }
+
+    public FatJarPackageScanCache getScanCache() {
+        return scanCache;
+    }
 
     @Override
     protected List<String> doLoadImplementationsInJar(String packageName, InputStream stream, String urlPath) {
+        FatJarPackageScanCache.JarEntries jarEntries = scanCache.getJarEntries(urlPath);
+        if (jarEntries != null) {
+            IOHelper.close(stream, urlPath, log);
+            return jarEntries.getResourceEntries(packageName);
+        }
         return doLoadImplementationsInJar(packageName,  stream, urlPath, true, true);
     }
 
@@ -54,13 +70,13 @@ public class FatJarPackageScanResourceResolver extends DefaultPackageScanResourc
             JarEntry entry;
             while ((entry = jarStream.getNextJarEntry()) != null) {
                 String name = entry.getName().trim();
-                if (inspectNestedJars && !entry.isDirectory() && isSpringBootNestedJar(name)) {
+                if (inspectNestedJars && !entry.isDirectory() && FatJarPackageScanCache.isSpringBootNestedJar(name)) {
                     String nestedUrl = urlPath + "!/" + name;
                     log.trace("Inspecting nested jar: {}", nestedUrl);
                     List<String> nestedEntries = doLoadImplementationsInJar(packageName, jarStream, nestedUrl, false, false);
                     entries.addAll(nestedEntries);
                 } else if (!entry.isDirectory() && !name.endsWith(".class")) {
-                    name = cleanupSpringBootClassName(name);
+                    name = FatJarPackageScanCache.cleanupSpringBootClassName(name);
                     // name is FQN so it must start with package name
                     if (name.startsWith(packageName)) {
                         entries.add(name);
@@ -79,21 +95,4 @@ public class FatJarPackageScanResourceResolver extends DefaultPackageScanResourc
         return entries;
     }
 
-    private boolean isSpringBootNestedJar(String name) {
-        // Supporting both versions of the packaging model
-        return name.endsWith(".jar") && (name.startsWith(SPRING_BOOT_CLASSIC_LIB_ROOT) || name.startsWith(SPRING_BOOT_BOOT_INF_LIB_ROOT) || name.startsWith(SPRING_BOOT_WEB_INF_LIB_ROOT));
-    }
-
-    private String cleanupSpringBootClassName(String name) {
-        // Classes inside BOOT-INF/classes will be loaded by the new classloader as if they were in the root
-        if (name.startsWith(SPRING_BOOT_BOOT_INF_CLASSES_ROOT)) {
-            name = name.substring(SPRING_BOOT_BOOT_INF_CLASSES_ROOT.length());
-        }
-        if (name.startsWith(SPRING_BOOT_WEB_INF_CLASSES_ROOT)) {
-            name = name.substring(SPRING_BOOT_WEB_INF_CLASSES_ROOT.length());
-        }
-        return name;
-    }
-
-
 }
@@ -16,9 +16,23 @@
  */
 package org.apache.camel.spring.boot;
 
+import java.io.Closeable;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.util.StringHelper;
 import org.slf4j.Logger;
@@ -29,53 +43,210 @@ import org.springframework.core.io.Resource;
 
 /**
  * To load properties from files, such as a secret mounted to the container.
+ * <p/>
+ * The files can be watched for changes (see {@link #startWatching()}), such as when a mounted secret is rotated, in
+ * which case only the changed files are loaded again, and the properties are swapped at once. A
+ * {@link CamelPropertiesChangedEvent} with the changed properties is then published, so resolved placeholders can be
+ * evicted and dependent components can re-bind, without stopping the routes.
  */
-public class FilePropertySource extends PropertySource {
+public class FilePropertySource extends PropertySource implements Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(FilePropertySource.class);
 
+    // wait for more changes before reloading (such as the symlinks of a kubernetes secret being swapped)
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    private final ApplicationContext applicationContext;
+    private final String directory;
+    // the loaded files by path
+    private Map<String, LoadedFile> files = new LinkedHashMap<>();
     // properties for all the loaded files
-    private final Properties properties;
+    private volatile Properties properties;
+    private volatile WatchService watchService;
 
     public FilePropertySource(String name, ApplicationContext applicationContext, String directory) {
         super(name);
         StringHelper.notEmpty(directory, "directory");
+        this.applicationContext = applicationContext;
+        this.directory = directory;
 
-        Properties loaded = new Properties();
-        try {
-            Resource[] files = applicationContext.getResources(directory);
-            for (Resource file : files) {
-                if (file.exists()) {
-                    try (FileInputStream fis = new FileInputStream(file.getFile())) {
-                        LOG.debug("Loading properties from file: {}", file);
-                        Properties extra = new Properties();
-                        extra.load(fis);
-                        if (!extra.isEmpty()) {
-                            loaded.putAll(extra);
-                        }
-                    } catch (IOException e) {
-                        // ignore
-                    }
-                }
-            }
-        } catch (IOException e) {
-            // ignore
-        }
+        reload();
 
         // if we loaded any files then store as properties
-        if (loaded.isEmpty()) {
-            properties = null;
+        if (properties == null) {
             LOG.warn("No properties found while loading from: {}", directory);
         } else {
-            properties = loaded;
             LOG.info("Loaded {} properties from: {}", properties.size(), directory);
         }
     }
 
     @Override
     public Object getProperty(String name) {
-        Object answer = properties != null ? properties.getProperty(name) : null;
+        Properties current = properties;
+        Object answer = current != null ? current.getProperty(name) : null;
         LOG.trace("getProperty {} -> {}", name, answer);
         return answer;
     }
+
+    /**
+     * Starts watching the directories of the files for changes, to reload the changed files.
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        Set<Path> dirs = new HashSet<>();
+        for (String path : files.keySet()) {
+            dirs.add(new File(path).getAbsoluteFile().toPath().getParent());
+        }
+        if (dirs.isEmpty()) {
+            LOG.warn("Cannot watch for changes as no files found while loading from: {}", directory);
+            return;
+        }
+
+        WatchService ws = FileSystems.getDefault().newWatchService();
+        for (Path dir : dirs) {
+            dir.register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        }
+        watchService = ws;
+
+        Thread watcher = new Thread(() -> watch(ws), "CamelFilePropertySourceWatcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        LOG.info("Watching {} directories for changes of the properties loaded from: {}", dirs.size(), directory);
+    }
+
+    /**
+     * Stops watching for changes.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    /**
+     * Loads the files which are new or have changed since they were loaded, and swaps the properties.
+     *
+     * @return the names of the properties which have changed
+     */
+    synchronized Set<String> reload() {
+        Resource[] resources;
+        try {
+            resources = applicationContext.getResources(directory);
+        } catch (IOException e) {
+            // keep the properties loaded before
+            LOG.warn("Cannot load properties from: " + directory + " due to: " + e.getMessage() + ". The properties loaded before are kept.", e);
+            return new HashSet<>();
+        }
+
+        Map<String, LoadedFile> loaded = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            if (!resource.exists()) {
+                continue;
+            }
+            File file;
+            try {
+                file = resource.getFile();
+            } catch (IOException e) {
+                LOG.warn("Cannot load properties from: {} due to: {}", resource, e.getMessage());
+                continue;
+            }
+            String path = file.getAbsolutePath();
+            LoadedFile previous = files.get(path);
+            if (previous != null && previous.isUpToDate(file)) {
+                loaded.put(path, previous);
+            } else {
+                try {
+                    loaded.put(path, load(file));
+                } catch (IOException e) {
+                    if (previous != null) {
+                        // such as while a secret is being rotated, so keep the properties of the file loaded before
+                        LOG.warn("Cannot load properties from file: {} due to: {}. The properties loaded before are kept.", file, e.getMessage());
+                        loaded.put(path, previous);
+                    } else {
+                        LOG.warn("Cannot load properties from file: {} due to: {}", file, e.getMessage());
+                    }
+                }
+            }
+        }
+
+        Properties merged = new Properties();
+        loaded.values().forEach(f -> merged.putAll(f.properties));
+        Properties previous = properties != null ? properties : new Properties();
+        Set<String> changed = new HashSet<>();
+        for (String key : merged.stringPropertyNames()) {
+            if (!Objects.equals(merged.getProperty(key), previous.getProperty(key))) {
+                changed.add(key);
+            }
+        }
+        for (String key : previous.stringPropertyNames()) {
+            if (!merged.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+
+        files = loaded;
+        properties = merged.isEmpty() ? null : merged;
+        return changed;
+    }
+
+    private void watch(WatchService ws) {
+        try {
+            while (true) {
+                WatchKey key = ws.take();
+                key.pollEvents();
+                key.reset();
+                // wait until the changes are done
+                while ((key = ws.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+
+                Set<String> changed = reload();
+                if (!changed.isEmpty()) {
+                    LOG.info("Reloaded {} changed properties from: {}", changed.size(), directory);
+                    applicationContext.publishEvent(new CamelPropertiesChangedEvent(this, changed));
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // stopped watching
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOG.warn("Stopped watching for changes of the properties loaded from: " + directory + " due to: " + e.getMessage(), e);
+        }
+    }
+
+    private static LoadedFile load(File file) throws IOException {
+        try (FileInputStream fis = new FileInputStream(file)) {
+            LOG.debug("Loading properties from file: {}", file);
+            // the time and size of the file (following symlinks) before reading it, so a change while reading is not missed
+            long lastModified = file.lastModified();
+            long length = file.length();
+            Properties extra = new Properties();
+            extra.load(fis);
+            return new LoadedFile(lastModified, length, extra);
+        }
+    }
+
+    private static final class LoadedFile {
+
+        private final long lastModified;
+        private final long length;
+        private final Properties properties;
+
+        private LoadedFile(long lastModified, long length, Properties properties) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.properties = properties;
+        }
+
+        private boolean isUpToDate(File file) {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
 }
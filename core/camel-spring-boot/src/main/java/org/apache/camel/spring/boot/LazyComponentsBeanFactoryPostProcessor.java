@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import org.apache.camel.spi.ComponentCustomizer;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * Marks the auto-configurations and configuration properties of the component starters as lazy when in lazy
+ * components mode (camel.springboot.lazy-components=true), so they are only created when their component is used.
+ *
+ * @see LazyComponentsBeanRepository
+ */
+public class LazyComponentsBeanFactoryPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    public static final String LAZY_COMPONENTS = "camel.springboot.lazy-components";
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (environment == null || !environment.getProperty(LAZY_COMPONENTS, Boolean.class, false)) {
+            return;
+        }
+
+        for (String name : beanFactory.getBeanNamesForType(ComponentConfigurationPropertiesCommon.class, true, false)) {
+            setLazyInit(beanFactory, name);
+        }
+        for (String name : beanFactory.getBeanNamesForType(ComponentCustomizer.class, true, false)) {
+            if (beanFactory.containsBeanDefinition(name)) {
+                String factoryBeanName = beanFactory.getBeanDefinition(name).getFactoryBeanName();
+                if (factoryBeanName != null) {
+                    setLazyInit(beanFactory, factoryBeanName);
+                }
+            }
+        }
+    }
+
+    private static void setLazyInit(ConfigurableListableBeanFactory beanFactory, String name) {
+        if (beanFactory.containsBeanDefinition(name)) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.isSingleton()) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+}
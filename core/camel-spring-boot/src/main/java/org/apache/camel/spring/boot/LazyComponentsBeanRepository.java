@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.ExtendedStartupListener;
+import org.apache.camel.spi.ComponentCustomizer;
+import org.apache.camel.spring.boot.util.ConditionalOnHierarchicalProperties;
+import org.apache.camel.spring.spi.ApplicationContextBeanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.AnnotationUtils;
+
+/**
+ * The bean repository used in lazy components mode (camel.springboot.lazy-components=true).
+ * <p/>
+ * Instead of creating every {@link ComponentCustomizer} of the component starters (and thereby their
+ * auto-configurations and configuration properties) when the first component is added to Camel, then only the
+ * customizers of the component being added are created, when an endpoint uri first resolves the component.
+ * The customizers of a component starter are matched by the name of the component, so they are not applied to
+ * components added with another name. When Camel is started, then the component starters which have not been used
+ * are reported.
+ */
+public class LazyComponentsBeanRepository extends ApplicationContextBeanRepository implements ExtendedStartupListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LazyComponentsBeanRepository.class);
+    private static final String COMPONENT_PREFIX = "camel.component.";
+
+    private final ApplicationContext applicationContext;
+    private final ComponentCustomizer customizer = new LazyComponentCustomizer();
+    private final Set<String> usedComponents = ConcurrentHashMap.newKeySet();
+    // component name -> the names of its customizer beans (from the component starters)
+    private volatile Map<String, List<String>> componentCustomizers;
+    // customizer beans which are not from a component starter and therefore apply to any component
+    private volatile List<String> otherCustomizers;
+
+    public LazyComponentsBeanRepository(ApplicationContext applicationContext) {
+        super(applicationContext);
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Set<T> findByType(Class<T> type) {
+        if (type == ComponentCustomizer.class) {
+            // the customizers are resolved when a component is added
+            return (Set<T>) Collections.singleton(customizer);
+        }
+        return super.findByType(type);
+    }
+
+    /**
+     * The names of the components from the component starters which have been used.
+     */
+    public Set<String> getUsedComponents() {
+        return Collections.unmodifiableSet(new TreeSet<>(usedComponents));
+    }
+
+    /**
+     * The names of the components from the component starters which have not been used.
+     */
+    public Set<String> getUnusedComponents() {
+        Set<String> answer = new TreeSet<>(getComponentCustomizers().keySet());
+        answer.removeAll(usedComponents);
+        return Collections.unmodifiableSet(answer);
+    }
+
+    @Override
+    public void onCamelContextStarted(CamelContext context, boolean alreadyStarted) throws Exception {
+        // noop
+    }
+
+    @Override
+    public void onCamelContextFullyStarted(CamelContext context, boolean alreadyStarted) throws Exception {
+        Set<String> unused = getUnusedComponents();
+        LOG.info("Lazy components: {} of {} component starters have been used", usedComponents.size(),
+                getComponentCustomizers().size());
+        if (!unused.isEmpty()) {
+            LOG.info("Lazy components: the component starters {} have not been used", unused);
+        }
+    }
+
+    protected List<ComponentCustomizer> resolveCustomizers(String name) {
+        List<String> names = new ArrayList<>();
+        List<String> starter = getComponentCustomizers().get(name);
+        if (starter != null) {
+            usedComponents.add(name);
+            names.addAll(starter);
+        }
+        names.addAll(otherCustomizers);
+
+        List<ComponentCustomizer> answer = new ArrayList<>(names.size());
+        for (String beanName : names) {
+            answer.add(applicationContext.getBean(beanName, ComponentCustomizer.class));
+        }
+        answer.sort(Comparator.comparingInt(ComponentCustomizer::getOrder));
+        return answer;
+    }
+
+    private Map<String, List<String>> getComponentCustomizers() {
+        if (componentCustomizers == null) {
+            synchronized (this) {
+                if (componentCustomizers == null) {
+                    initComponentCustomizers();
+                }
+            }
+        }
+        return componentCustomizers;
+    }
+
+    private void initComponentCustomizers() {
+        Map<String, List<String>> components = new HashMap<>();
+        List<String> others = new ArrayList<>();
+
+        ConfigurableListableBeanFactory beanFactory = applicationContext instanceof ConfigurableApplicationContext
+                ? ((ConfigurableApplicationContext) applicationContext).getBeanFactory() : null;
+        // only look at the bean definitions to not create the customizers
+        for (String beanName : applicationContext.getBeanNamesForType(ComponentCustomizer.class, true, false)) {
+            String component = null;
+            if (beanFactory != null && beanFactory.containsBeanDefinition(beanName)) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (definition.getFactoryBeanName() != null) {
+                    component = getComponentName(beanFactory.getType(definition.getFactoryBeanName(), false));
+                }
+            }
+            if (component != null) {
+                components.computeIfAbsent(component, k -> new ArrayList<>()).add(beanName);
+            } else {
+                others.add(beanName);
+            }
+        }
+
+        LOG.debug("Lazy components: found {} component starters and {} other component customizers", components.size(), others.size());
+        otherCustomizers = others;
+        componentCustomizers = components;
+    }
+
+    private static String getComponentName(Class<?> autoConfiguration) {
+        if (autoConfiguration == null) {
+            return null;
+        }
+        // the generated auto-configurations are conditional on the properties of their component
+        ConditionalOnHierarchicalProperties annotation
+                = AnnotationUtils.findAnnotation(autoConfiguration, ConditionalOnHierarchicalProperties.class);
+        if (annotation != null) {
+            for (String property : annotation.value()) {
+                if (property.startsWith(COMPONENT_PREFIX)) {
+                    return property.substring(COMPONENT_PREFIX.length());
+                }
+            }
+        }
+        return null;
+    }
+
+    private final class LazyComponentCustomizer implements ComponentCustomizer {
+
+        @Override
+        public void configure(String name, Component target) {
+            for (ComponentCustomizer customizer : resolveCustomizers(name)) {
+                if (customizer.isEnabled(name, target)) {
+                    customizer.configure(name, target);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.camel.StartupStep;
+import org.apache.camel.support.startup.DefaultStartupStepRecorder;
+
+/**
+ * A {@link org.apache.camel.spi.StartupStepRecorder} which keeps the recorded startup steps (with their durations) in
+ * memory, so they can be queried at runtime, such as from the camelstartup actuator endpoint.
+ */
+public class MemoryStartupStepRecorder extends DefaultStartupStepRecorder {
+
+    private final List<RecordedStep> steps = new ArrayList<>();
+
+    public MemoryStartupStepRecorder() {
+        setEnabled(true);
+    }
+
+    @Override
+    protected void onEndStep(StartupStep step) {
+        if (getMaxDepth() >= 0 && step.getLevel() > getMaxDepth()) {
+            return;
+        }
+        long duration = System.currentTimeMillis() - step.getBeginTime();
+        RecordedStep recorded = new RecordedStep(step.getId(), step.getParentId(), step.getLevel(), step.getType(),
+                step.getName(), step.getDescription(), step.getBeginTime(), duration);
+        synchronized (steps) {
+            steps.add(recorded);
+        }
+    }
+
+    /**
+     * The recorded steps ordered by when they began.
+     */
+    public List<RecordedStep> getSteps() {
+        List<RecordedStep> answer;
+        synchronized (steps) {
+            answer = new ArrayList<>(steps);
+        }
+        answer.sort(Comparator.comparingInt(RecordedStep::getId));
+        return answer;
+    }
+
+    /**
+     * Clears the recorded steps.
+     */
+    public void clear() {
+        synchronized (steps) {
+            steps.clear();
+        }
+    }
+
+    /**
+     * A startup step which has ended.
+     */
+    public static final class RecordedStep {
+
+        private final int id;
+        private final int parentId;
+        private final int level;
+        private final String type;
+        private final String name;
+        private final String description;
+        private final long beginTime;
+        private final long duration;
+
+        RecordedStep(int id, int parentId, int level, String type, String name, String description,
+                     long beginTime, long duration) {
+            this.id = id;
+            this.parentId = parentId;
+            this.level = level;
+            this.type = type;
+            this.name = name;
+            this.description = description;
+            this.beginTime = beginTime;
+            this.duration = duration;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * The id of the parent step, or 0 if this is a root step.
+         */
+        public int getParentId() {
+            return parentId;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public long getBeginTime() {
+            return beginTime;
+        }
+
+        /**
+         * How long time the step took in millis.
+         */
+        public long getDuration() {
+            return duration;
+        }
+    }
+}
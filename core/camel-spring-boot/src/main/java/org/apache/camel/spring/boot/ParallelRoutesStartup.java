@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedStartupListener;
+import org.apache.camel.Route;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.health.HealthCheckRegistry;
+import org.apache.camel.health.HealthCheckResultBuilder;
+import org.apache.camel.impl.health.AbstractHealthCheck;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts the routes concurrently on a bounded thread pool, to speed up starting applications with many routes (such
+ * as routes created from route templates).
+ * <p/>
+ * The routes are built (from the route builders and route templates) one after another as usual, and are started
+ * after {@link CamelContext} has been started (which then must not start the routes itself, so its auto startup is
+ * turned off until the routes have been started). The routes are started in groups by their startup order: all routes
+ * with the same startup order are started concurrently, and the routes without a startup order are started last.
+ * Routes which are not auto startup are not started.
+ * <p/>
+ * As {@link CamelContext} is started before its routes, a readiness health check (routes-startup) is DOWN until the
+ * routes have been started, so the application is not reported ready meanwhile. The time taken to start each route
+ * is logged (at debug level for all of them).
+ */
+public class ParallelRoutesStartup implements ExtendedStartupListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelRoutesStartup.class);
+    private static final int REPORT_TOP = 10;
+
+    private final int parallelism;
+    private final Map<String, Long> startTimes = new ConcurrentHashMap<>();
+    private final RoutesStartupHealthCheck healthCheck = new RoutesStartupHealthCheck();
+    private volatile boolean routesStarted;
+
+    public ParallelRoutesStartup(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * The time taken in millis to start each route (keyed by route id)
+     */
+    public Map<String, Long> getStartTimes() {
+        return Collections.unmodifiableMap(startTimes);
+    }
+
+    /**
+     * Whether the routes have been started (or failed to start).
+     */
+    public boolean isRoutesStarted() {
+        return routesStarted;
+    }
+
+    /**
+     * Installs this on the given {@link CamelContext} (before it is started), so its routes are started concurrently
+     * instead of by {@link CamelContext}.
+     */
+    public void install(CamelContext camelContext) {
+        camelContext.setAutoStartup(false);
+        camelContext.addStartupListener(this);
+        HealthCheckRegistry registry = camelContext.getExtension(HealthCheckRegistry.class);
+        if (registry != null) {
+            registry.register(healthCheck);
+        }
+    }
+
+    @Override
+    public void onCamelContextStarted(CamelContext context, boolean alreadyStarted) throws Exception {
+        // noop
+    }
+
+    @Override
+    public void onCamelContextFullyStarted(CamelContext context, boolean alreadyStarted) throws Exception {
+        // auto startup is turned off while camel is started, as the routes are started here instead
+        if (!alreadyStarted && !context.isAutoStartup()) {
+            try {
+                startRoutes(context);
+            } finally {
+                // so routes added later are started, and all routes are started if camel is restarted
+                context.setAutoStartup(true);
+                routesStarted = true;
+                HealthCheckRegistry registry = context.getExtension(HealthCheckRegistry.class);
+                if (registry != null) {
+                    registry.unregister(healthCheck);
+                }
+            }
+        }
+    }
+
+    protected void startRoutes(CamelContext camelContext) throws Exception {
+        // group the routes by startup order, and the routes without startup order last
+        Map<Integer, List<Route>> groups = new TreeMap<>();
+        List<Route> unordered = new ArrayList<>();
+        for (Route route : camelContext.getRoutes()) {
+            if (!route.isAutoStartup()) {
+                continue;
+            }
+            if (route.getStartupOrder() != null) {
+                groups.computeIfAbsent(route.getStartupOrder(), k -> new ArrayList<>()).add(route);
+            } else {
+                unordered.add(route);
+            }
+        }
+        List<List<Route>> ordered = new ArrayList<>(groups.values());
+        ordered.add(unordered);
+
+        StopWatch watch = new StopWatch();
+        int count = 0;
+        ExecutorService pool = camelContext.getExecutorServiceManager().newFixedThreadPool(this, "RoutesStartup", parallelism);
+        try {
+            for (List<Route> group : ordered) {
+                List<Future<?>> futures = new ArrayList<>(group.size());
+                for (Route route : group) {
+                    futures.add(pool.submit(() -> {
+                        StopWatch routeWatch = new StopWatch();
+                        try {
+                            camelContext.getRouteController().startRoute(route.getRouteId());
+                        } catch (Exception e) {
+                            throw RuntimeCamelException.wrapRuntimeException(e);
+                        }
+                        startTimes.put(route.getRouteId(), routeWatch.taken());
+                    }));
+                }
+                // the next group must not be started before this group has been started
+                awaitAll(futures);
+                count += group.size();
+            }
+        } finally {
+            camelContext.getExecutorServiceManager().shutdownNow(pool);
+        }
+        LOG.info("Started {} routes using {} threads in {}", count, parallelism, TimeUtils.printDuration(watch.taken()));
+        report("Start", startTimes);
+    }
+
+    private final class RoutesStartupHealthCheck extends AbstractHealthCheck {
+
+        private RoutesStartupHealthCheck() {
+            super("camel", "routes-startup");
+        }
+
+        @Override
+        public boolean isLiveness() {
+            return false;
+        }
+
+        @Override
+        protected void doCall(HealthCheckResultBuilder builder, Map<String, Object> options) {
+            if (routesStarted) {
+                builder.up();
+            } else {
+                builder.message("Routes are being started").down();
+            }
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws Exception {
+        Exception cause = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (cause == null) {
+                    cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+        }
+        if (cause != null) {
+            throw cause;
+        }
+    }
+
+    private static void report(String phase, Map<String, Long> times) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(times.entrySet());
+        entries.sort(Map.Entry.<String, Long> comparingByValue().reversed());
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        entries.forEach(e -> sorted.put(e.getKey(), e.getValue()));
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{} times (millis): {}", phase, sorted);
+        } else if (!sorted.isEmpty()) {
+            Map<String, Long> slowest = new LinkedHashMap<>();
+            entries.stream().limit(REPORT_TOP).forEach(e -> slowest.put(e.getKey(), e.getValue()));
+            LOG.info("{} times (millis) of the {} slowest: {}", phase, slowest.size(), slowest);
+        }
+    }
+}
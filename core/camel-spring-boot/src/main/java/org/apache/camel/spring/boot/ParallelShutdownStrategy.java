@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.ShutdownRoute;
+import org.apache.camel.impl.engine.DefaultShutdownStrategy;
+import org.apache.camel.model.ModelCamelContext;
+import org.apache.camel.model.ProcessorDefinitionHelper;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.SendDefinition;
+import org.apache.camel.model.ToDynamicDefinition;
+import org.apache.camel.spi.RouteStartupOrder;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A shutdown strategy which shuts down the routes in parallel on a bounded thread pool, so the time taken to shutdown
+ * tracks the slowest route rather than the sum of all routes.
+ * <p/>
+ * The routes are shutdown in waves: a route which consumes from an endpoint that other routes send to (such as direct
+ * or seda) is shutdown in a later wave than these routes, so they can complete their inflight exchanges, and the
+ * routes which defer shutdown ({@link ShutdownRoute#Defer}) are shutdown last. All the routes of a wave are shutdown
+ * concurrently, each with the graceful shutdown of {@link DefaultShutdownStrategy}, and the timeout applies to all the
+ * waves together. Suspending routes, and shutting down a single route, is done by {@link DefaultShutdownStrategy}.
+ */
+public class ParallelShutdownStrategy extends DefaultShutdownStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelShutdownStrategy.class);
+
+    private final int parallelism;
+    private final AtomicBoolean timeoutOccurred = new AtomicBoolean();
+
+    public ParallelShutdownStrategy(CamelContext camelContext, int parallelism) {
+        super(camelContext);
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean hasTimeoutOccurred() {
+        return timeoutOccurred.get() || super.hasTimeoutOccurred();
+    }
+
+    @Override
+    protected boolean doShutdown(CamelContext context, List<RouteStartupOrder> routes, long timeout, TimeUnit timeUnit,
+                                 boolean suspendOnly, boolean abortAfterTimeout, boolean forceShutdown) throws Exception {
+        if (suspendOnly || forceShutdown || parallelism <= 1 || routes.size() <= 1) {
+            return super.doShutdown(context, routes, timeout, timeUnit, suspendOnly, abortAfterTimeout, forceShutdown);
+        }
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Timeout must be a positive value");
+        }
+
+        timeoutOccurred.set(false);
+        List<List<RouteStartupOrder>> waves = planWaves(context, routes);
+        LOG.info("Starting to graceful shutdown {} routes in {} waves using {} threads (timeout {} {})", routes.size(),
+                waves.size(), parallelism, timeout, timeUnit.toString().toLowerCase());
+
+        StopWatch watch = new StopWatch();
+        long deadline = System.currentTimeMillis() + timeUnit.toMillis(timeout);
+        ExecutorService pool = context.getExecutorServiceManager().newFixedThreadPool(this, "ParallelShutdown", parallelism);
+        try {
+            for (int i = 0; i < waves.size(); i++) {
+                List<RouteStartupOrder> wave = waves.get(i);
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    timeoutOccurred.set(true);
+                    return onTimeout(context, waves.subList(i, waves.size()), abortAfterTimeout);
+                }
+
+                List<Future<Boolean>> futures = new ArrayList<>(wave.size());
+                for (RouteStartupOrder route : wave) {
+                    futures.add(pool.submit(() -> shutdownRoute(context, route, remaining, abortAfterTimeout)));
+                }
+                // the next wave must not be shutdown before this wave has been shutdown
+                boolean completed = awaitAll(futures);
+                if (!completed) {
+                    timeoutOccurred.set(true);
+                    if (abortAfterTimeout) {
+                        LOG.warn("Timeout occurred during graceful shutdown. Aborting the shutdown of the remaining routes.");
+                        return false;
+                    }
+                }
+            }
+        } finally {
+            context.getExecutorServiceManager().shutdownNow(pool);
+        }
+
+        LOG.info("Graceful shutdown of {} routes in {} waves completed in {}", routes.size(), waves.size(),
+                TimeUtils.printDuration(watch.taken()));
+        return true;
+    }
+
+    /**
+     * Plans the waves in which the routes are shutdown, where the routes of a wave are shutdown concurrently.
+     */
+    protected List<List<RouteStartupOrder>> planWaves(CamelContext context, List<RouteStartupOrder> routes) {
+        List<RouteStartupOrder> ordered = new ArrayList<>(routes);
+        Comparator<RouteStartupOrder> comparator = Comparator.comparingInt(RouteStartupOrder::getStartupOrder);
+        ordered.sort(isShutdownRoutesInReverseOrder() ? comparator.reversed() : comparator);
+
+        // the routes consuming from each endpoint
+        Map<Endpoint, List<RouteStartupOrder>> consumers = new HashMap<>();
+        for (RouteStartupOrder route : ordered) {
+            consumers.computeIfAbsent(route.getRoute().getEndpoint(), k -> new ArrayList<>()).add(route);
+        }
+        // the routes which send to each route
+        Map<RouteStartupOrder, List<RouteStartupOrder>> senders = new IdentityHashMap<>();
+        for (RouteStartupOrder route : ordered) {
+            for (Endpoint endpoint : findSendToEndpoints(context, route)) {
+                for (RouteStartupOrder consumer : consumers.getOrDefault(endpoint, Collections.emptyList())) {
+                    if (consumer != route) {
+                        senders.computeIfAbsent(consumer, k -> new ArrayList<>()).add(route);
+                    }
+                }
+            }
+        }
+
+        Map<RouteStartupOrder, Integer> levels = new IdentityHashMap<>();
+        int maxLevel = 0;
+        for (RouteStartupOrder route : ordered) {
+            int level = level(route, senders, levels, Collections.newSetFromMap(new IdentityHashMap<>()));
+            if (route.getRoute().getShutdownRoute() != ShutdownRoute.Defer) {
+                maxLevel = Math.max(maxLevel, level);
+            }
+        }
+
+        Map<Integer, List<RouteStartupOrder>> waves = new TreeMap<>();
+        for (RouteStartupOrder route : ordered) {
+            int level = levels.get(route);
+            if (route.getRoute().getShutdownRoute() == ShutdownRoute.Defer) {
+                // the deferred routes after all the other routes
+                level += maxLevel + 1;
+            }
+            waves.computeIfAbsent(level, k -> new ArrayList<>()).add(route);
+        }
+        return new ArrayList<>(waves.values());
+    }
+
+    private static int level(RouteStartupOrder route, Map<RouteStartupOrder, List<RouteStartupOrder>> senders,
+                             Map<RouteStartupOrder, Integer> levels, Set<RouteStartupOrder> visiting) {
+        Integer level = levels.get(route);
+        if (level != null) {
+            return level;
+        }
+        if (!visiting.add(route)) {
+            // routes sending to each other are shutdown in the same wave
+            return 0;
+        }
+        int answer = 0;
+        for (RouteStartupOrder sender : senders.getOrDefault(route, Collections.emptyList())) {
+            answer = Math.max(answer, level(sender, senders, levels, visiting) + 1);
+        }
+        visiting.remove(route);
+        levels.put(route, answer);
+        return answer;
+    }
+
+    private static Set<Endpoint> findSendToEndpoints(CamelContext context, RouteStartupOrder route) {
+        Set<Endpoint> answer = new HashSet<>();
+        RouteDefinition definition = context.adapt(ModelCamelContext.class).getRouteDefinition(route.getRoute().getRouteId());
+        if (definition == null) {
+            return answer;
+        }
+        List<String> uris = new ArrayList<>();
+        for (SendDefinition<?> send : ProcessorDefinitionHelper.filterTypeInOutputs(definition.getOutputs(), SendDefinition.class)) {
+            uris.add(send.getEndpointUri());
+        }
+        for (ToDynamicDefinition send : ProcessorDefinitionHelper.filterTypeInOutputs(definition.getOutputs(), ToDynamicDefinition.class)) {
+            uris.add(send.getUri());
+        }
+        for (String uri : uris) {
+            try {
+                // only endpoints which exists (dynamic uris are not known)
+                Endpoint endpoint = uri != null ? context.hasEndpoint(uri) : null;
+                if (endpoint != null) {
+                    answer.add(endpoint);
+                }
+            } catch (RuntimeException e) {
+                LOG.debug("Cannot resolve endpoint: {} of route: {} due to: {}", uri, route.getRoute().getRouteId(), e.getMessage());
+            }
+        }
+        return answer;
+    }
+
+    private boolean shutdownRoute(CamelContext context, RouteStartupOrder route, long timeout, boolean abortAfterTimeout)
+            throws Exception {
+        // each route is shutdown by its own strategy, as the default strategy shuts down one route at a time
+        DefaultShutdownStrategy strategy = createRouteShutdownStrategy(context);
+        ServiceHelper.startService(strategy);
+        try {
+            return strategy.shutdown(context, route, timeout, TimeUnit.MILLISECONDS, abortAfterTimeout)
+                    && !strategy.hasTimeoutOccurred();
+        } finally {
+            ServiceHelper.stopAndShutdownService(strategy);
+        }
+    }
+
+    private boolean onTimeout(CamelContext context, List<List<RouteStartupOrder>> waves, boolean abortAfterTimeout)
+            throws Exception {
+        if (abortAfterTimeout) {
+            LOG.warn("Timeout occurred during graceful shutdown. Aborting the shutdown of the remaining routes.");
+            return false;
+        }
+        if (isShutdownNowOnTimeout()) {
+            LOG.warn("Timeout occurred during graceful shutdown. Forcing the shutdown of the remaining routes.");
+            List<RouteStartupOrder> remaining = new ArrayList<>();
+            waves.forEach(remaining::addAll);
+            DefaultShutdownStrategy strategy = createRouteShutdownStrategy(context);
+            ServiceHelper.startService(strategy);
+            try {
+                strategy.shutdownForced(context, remaining);
+            } finally {
+                ServiceHelper.stopAndShutdownService(strategy);
+            }
+        }
+        return true;
+    }
+
+    protected DefaultShutdownStrategy createRouteShutdownStrategy(CamelContext context) {
+        DefaultShutdownStrategy strategy = new DefaultShutdownStrategy(context);
+        strategy.setShutdownNowOnTimeout(isShutdownNowOnTimeout());
+        strategy.setSuppressLoggingOnTimeout(isSuppressLoggingOnTimeout());
+        strategy.setLogInflightExchangesOnTimeout(isLogInflightExchangesOnTimeout());
+        return strategy;
+    }
+
+    private static boolean awaitAll(List<Future<Boolean>> futures) throws Exception {
+        boolean answer = true;
+        Exception cause = null;
+        for (Future<Boolean> future : futures) {
+            try {
+                answer &= future.get();
+            } catch (ExecutionException e) {
+                if (cause == null) {
+                    cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+        }
+        if (cause != null) {
+            throw cause;
+        }
+        return answer;
+    }
+}
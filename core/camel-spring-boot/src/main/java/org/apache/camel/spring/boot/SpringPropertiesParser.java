@@ -16,23 +16,137 @@
  */
 package org.apache.camel.spring.boot;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.apache.camel.component.properties.DefaultPropertiesParser;
 import org.apache.camel.component.properties.PropertiesLookup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.env.Environment;
 
-class SpringPropertiesParser extends DefaultPropertiesParser {
+/**
+ * Resolves the property placeholders of Camel from the Spring {@link Environment}.
+ * <p/>
+ * When the cache is enabled, then the value of each property is resolved from the {@link Environment} only once (as
+ * it queries all its property sources each time), which matters for placeholders resolved per message such as in
+ * dynamic endpoints. The cache is cleared when the application context is refreshed, when a
+ * {@link CamelPropertiesChangedEvent} is published, and when Spring Cloud publishes an environment change event.
+ */
+public class SpringPropertiesParser extends DefaultPropertiesParser implements ApplicationListener<ApplicationEvent> {
+
+    static final int MAX_CACHE_SIZE = 10000;
+
+    private static final String ENVIRONMENT_CHANGE_EVENT = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
+    private static final Object NOT_FOUND = new Object();
 
     // Members
 
     @Autowired
     private Environment env;
 
+    private final Map<String, Object> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile boolean cacheEnabled;
+
+    public SpringPropertiesParser() {
+    }
+
+    SpringPropertiesParser(Environment env) {
+        this.env = env;
+    }
+
     // Overridden
 
     @Override
     public String parseProperty(String key, String value, PropertiesLookup properties) {
-        return env.getProperty(key);
+        if (!cacheEnabled) {
+            return env.getProperty(key);
+        }
+
+        Object answer = cache.get(key);
+        if (answer != null) {
+            hits.increment();
+            return answer != NOT_FOUND ? (String) answer : null;
+        }
+
+        misses.increment();
+        long current = generation.get();
+        String resolved = env.getProperty(key);
+        if (cache.size() < MAX_CACHE_SIZE) {
+            cache.put(key, resolved != null ? resolved : NOT_FOUND);
+            if (generation.get() != current) {
+                // the cache was cleared while resolving so the value may be stale
+                cache.remove(key);
+            }
+        }
+        return resolved;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        // the whole cache is cleared even if only some keys have changed, as the cached values of other properties
+        // may be derived from the changed ones (such as a property with a placeholder referring to a changed key)
+        if (event instanceof ContextRefreshedEvent || event instanceof CamelPropertiesChangedEvent
+                || ENVIRONMENT_CHANGE_EVENT.equals(event.getClass().getName())) {
+            clearCache();
+        }
+    }
+
+    /**
+     * Clears the resolved properties.
+     */
+    public void clearCache() {
+        generation.incrementAndGet();
+        cache.clear();
+        evictions.increment();
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * Whether to cache the resolved properties.
+     */
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+        clearCache();
+    }
+
+    /**
+     * Number of properties resolved from the cache.
+     */
+    public long getCacheHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of properties resolved from the {@link Environment} (not in the cache).
+     */
+    public long getCacheMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of times the cache has been (partially) cleared.
+     */
+    public long getCacheEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Number of resolved properties in the cache.
+     */
+    public int getCacheSize() {
+        return cache.size();
     }
 
 }
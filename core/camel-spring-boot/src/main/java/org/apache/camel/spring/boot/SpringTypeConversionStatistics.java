@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the conversions from a source type to a target type done by the {@link SpringTypeConverter}.
+ */
+public final class SpringTypeConversionStatistics {
+
+    private final Class<?> sourceType;
+    private final Class<?> targetType;
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    SpringTypeConversionStatistics(Class<?> sourceType, Class<?> targetType) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+    }
+
+    void record(boolean hit, boolean failure, long nanos) {
+        attempts.increment();
+        if (failure) {
+            failures.increment();
+        } else if (hit) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        totalNanos.add(nanos);
+    }
+
+    public Class<?> getSourceType() {
+        return sourceType;
+    }
+
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Number of conversions attempted.
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * Number of conversions which returned a value.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of conversions which could not convert the value (returned null).
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of conversions which failed with an exception.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Total time spent converting in nanos.
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return sourceType.getName() + "->" + targetType.getName();
+    }
+}
@@ -17,9 +17,12 @@
 package org.apache.camel.spring.boot;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.TypeConversionException;
@@ -29,57 +32,197 @@ import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
+/**
+ * Fallback type converter which delegates to the Spring {@link ConversionService}s.
+ * <p/>
+ * Which conversion service (if any) can convert a given source type to a target type is decided once per pair of
+ * types, so repeated conversions (and repeated failing lookups) do not query all the conversion services again.
+ * If converters are added to the conversion services afterwards, then {@link #clearCache()} must be called. The
+ * decisions are cached using soft references (as Spring caches its converters), so the cache does not prevent the
+ * types from being unloaded, and is evicted when the memory runs low.
+ * <p/>
+ * When statistics is enabled, then the attempts, hits, misses, failures and time spent are recorded per pair of
+ * types, see {@link #getStatistics()}.
+ */
 public class SpringTypeConverter extends TypeConverterSupport {
 
+    private static final Decision NOT_CONVERTIBLE = new Decision(null, null, null, null);
+
     private final List<ConversionService> conversionServices;
-    private final ConcurrentHashMap<Class<?>, TypeDescriptor> types;
+    // target type -> source type -> decision (soft references, so the types are not held strongly)
+    private final Map<Class<?>, Map<Class<?>, Decision>> decisions;
+    private final Map<String, SpringTypeConversionStatistics> statistics = new ConcurrentHashMap<>();
+    private final List<Consumer<SpringTypeConversionStatistics>> statisticsListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean statisticsEnabled;
 
     @Autowired
     public SpringTypeConverter(List<ConversionService> conversionServices) {
         this.conversionServices = conversionServices;
-        this.types = new ConcurrentHashMap<>();
+        this.decisions = new ConcurrentReferenceHashMap<>();
     }
 
     @Override
     public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
-        // do not attempt to convert Camel types
-        if (type.getCanonicalName().startsWith("org.apache")) {
-            return null;
+        Decision decision = getDecision(type, value);
+        if (decision.statistics == null) {
+            return doConvertTo(decision, type, value);
         }
-        
-        // do not attempt to convert List -> Map. Ognl expression may use this converter as a fallback expecting null
-        if (type.isAssignableFrom(Map.class) && isArrayOrCollection(value)) {
+
+        long start = System.nanoTime();
+        boolean failure = true;
+        T answer = null;
+        try {
+            answer = doConvertTo(decision, type, value);
+            failure = false;
+            return answer;
+        } finally {
+            decision.statistics.record(answer != null, failure, System.nanoTime() - start);
+        }
+    }
+
+    private <T> T doConvertTo(Decision decision, Class<T> type, Object value) throws TypeConversionException {
+        if (decision.conversionService == null) {
             return null;
         }
 
-        TypeDescriptor sourceType = types.computeIfAbsent(value.getClass(), TypeDescriptor::valueOf);
-        TypeDescriptor targetType = types.computeIfAbsent(type, TypeDescriptor::valueOf);
-
-        for (ConversionService conversionService : conversionServices) {
-            if (conversionService.canConvert(sourceType, targetType)) {
-                try {
-                    return (T)conversionService.convert(value, sourceType, targetType);
-                } catch (ConversionFailedException e) {
-                    // if value is a collection or an array the check ConversionService::canConvert
-                    // may return true but then the conversion of specific objects may fail
-                    //
-                    // https://issues.apache.org/jira/browse/CAMEL-10548
-                    // https://jira.spring.io/browse/SPR-14971
-                    //
-                    if (e.getCause() instanceof ConverterNotFoundException && isArrayOrCollection(value)) {
-                        return null;
-                    } else {
-                        throw new TypeConversionException(value, type, e);
-                    }
+        try {
+            return (T) decision.conversionService.convert(value, decision.sourceType, decision.targetType);
+        } catch (ConversionFailedException e) {
+            // if value is a collection or an array the check ConversionService::canConvert
+            // may return true but then the conversion of specific objects may fail
+            //
+            // https://issues.apache.org/jira/browse/CAMEL-10548
+            // https://jira.spring.io/browse/SPR-14971
+            //
+            if (e.getCause() instanceof ConverterNotFoundException && isArrayOrCollection(value)) {
+                return null;
+            } else {
+                throw new TypeConversionException(value, type, e);
+            }
+        }
+    }
+
+    /**
+     * Clears the cached decisions of which conversion service to use for a pair of types.
+     */
+    public void clearCache() {
+        decisions.clear();
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * Whether to record statistics per pair of types converted.
+     */
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        // the statistics are kept in the decisions
+        clearCache();
+    }
+
+    /**
+     * The statistics per pair of types converted (only recorded if statistics is enabled).
+     */
+    public Collection<SpringTypeConversionStatistics> getStatistics() {
+        return Collections.unmodifiableCollection(statistics.values());
+    }
+
+    /**
+     * Adds a listener which is called for every new pair of types which statistics is recorded for.
+     */
+    public void addStatisticsListener(Consumer<SpringTypeConversionStatistics> listener) {
+        statisticsListeners.add(listener);
+    }
+
+    private Decision getDecision(Class<?> type, Object value) {
+        Map<Class<?>, Decision> byTarget = decisions.get(type);
+        if (byTarget == null) {
+            byTarget = decisions.computeIfAbsent(type, k -> new ConcurrentReferenceHashMap<>());
+        }
+        Decision decision = byTarget.get(value.getClass());
+        if (decision == null) {
+            // not decided inside computeIfAbsent, as the statistics listeners (such as registering meters) are
+            // notified when deciding
+            Decision created = decide(type, value);
+            decision = byTarget.putIfAbsent(value.getClass(), created);
+            if (decision == null) {
+                decision = created;
+            }
+        }
+        return decision;
+    }
+
+    private Decision decide(Class<?> type, Object value) {
+        ConversionService service = null;
+        TypeDescriptor sourceType = null;
+        TypeDescriptor targetType = null;
+
+        if (isConvertible(type, value)) {
+            sourceType = TypeDescriptor.valueOf(value.getClass());
+            targetType = TypeDescriptor.valueOf(type);
+
+            for (ConversionService conversionService : conversionServices) {
+                if (conversionService.canConvert(sourceType, targetType)) {
+                    service = conversionService;
+                    break;
                 }
             }
         }
 
-        return null;
+        if (statisticsEnabled) {
+            return new Decision(service, sourceType, targetType, getOrCreateStatistics(value.getClass(), type));
+        }
+        return service != null ? new Decision(service, sourceType, targetType, null) : NOT_CONVERTIBLE;
+    }
+
+    private boolean isConvertible(Class<?> type, Object value) {
+        // do not attempt to convert Camel types (or arrays of Camel types)
+        Class<?> componentType = type;
+        while (componentType.isArray()) {
+            componentType = componentType.getComponentType();
+        }
+        if (componentType.getName().startsWith("org.apache")) {
+            return false;
+        }
+
+        // do not attempt to convert List -> Map. Ognl expression may use this converter as a fallback expecting null
+        return !(type.isAssignableFrom(Map.class) && isArrayOrCollection(value));
+    }
+
+    private SpringTypeConversionStatistics getOrCreateStatistics(Class<?> sourceType, Class<?> targetType) {
+        String key = sourceType.getName() + "->" + targetType.getName();
+        SpringTypeConversionStatistics answer = statistics.get(key);
+        if (answer == null) {
+            SpringTypeConversionStatistics created = new SpringTypeConversionStatistics(sourceType, targetType);
+            answer = statistics.putIfAbsent(key, created);
+            if (answer == null) {
+                answer = created;
+                statisticsListeners.forEach(l -> l.accept(created));
+            }
+        }
+        return answer;
     }
 
     private boolean isArrayOrCollection(Object value) {
         return value instanceof Collection || value.getClass().isArray();
     }
+
+    private static final class Decision {
+        private final ConversionService conversionService;
+        private final TypeDescriptor sourceType;
+        private final TypeDescriptor targetType;
+        private final SpringTypeConversionStatistics statistics;
+
+        private Decision(ConversionService conversionService, TypeDescriptor sourceType, TypeDescriptor targetType,
+                         SpringTypeConversionStatistics statistics) {
+            this.conversionService = conversionService;
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.statistics = statistics;
+        }
+    }
 }
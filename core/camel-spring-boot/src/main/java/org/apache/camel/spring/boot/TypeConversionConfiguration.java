@@ -45,8 +45,10 @@ public class TypeConversionConfiguration {
     }
 
     @Bean
-    SpringTypeConverter springTypeConverter(CamelContext camelContext, ConversionService[] conversionServices) {
+    SpringTypeConverter springTypeConverter(CamelContext camelContext, ConversionService[] conversionServices,
+                                            CamelConfigurationProperties config) {
         SpringTypeConverter springTypeConverter = new SpringTypeConverter(asList(conversionServices));
+        springTypeConverter.setStatisticsEnabled(config.isTypeConversionStatisticsEnabled());
         camelContext.getTypeConverterRegistry().addFallbackTypeConverter(springTypeConverter, true);
         return springTypeConverter;
     }
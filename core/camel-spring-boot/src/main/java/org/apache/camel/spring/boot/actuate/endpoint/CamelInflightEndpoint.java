@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.spring.boot.statistics.InflightExchangeSampler;
+import org.apache.camel.spring.boot.statistics.SampledInflightExchange;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/*
+ * Spring Boot Management Endpoint to expose the inflight exchanges of Camel, sorted by the time elapsed (longest
+ * first) so the limit parameter gives the slowest exchanges. The exchanges are taken from the inflight exchange
+ * sampler (camel.springboot.inflight-sampling-enabled=true), which also knows the thread of the exchanges, or
+ * otherwise from the inflight repository when browsing is enabled (camel.springboot.inflight-repository-browse-enabled).
+ */
+@Endpoint(id = "camelinflight")
+public class CamelInflightEndpoint {
+
+    public static final String SOURCE_SAMPLER = "sampler";
+    public static final String SOURCE_REPOSITORY = "repository";
+
+    private final CamelContext camelContext;
+    private final InflightExchangeSampler sampler;
+
+    public CamelInflightEndpoint(CamelContext camelContext, InflightExchangeSampler sampler) {
+        this.camelContext = camelContext;
+        this.sampler = sampler;
+    }
+
+    @ReadOperation
+    public InflightEndpointInfo readInflight(@Nullable Integer limit) {
+        int max = limit != null && limit > 0 ? limit : 0;
+        InflightRepository repository = camelContext.getInflightRepository();
+
+        InflightEndpointInfo answer = new InflightEndpointInfo(repository.size());
+        if (sampler != null) {
+            answer.source = SOURCE_SAMPLER;
+            answer.samplingRate = sampler.getSamplingRate();
+            answer.capacity = sampler.getCapacity();
+            answer.sampled = sampler.getSampledCount();
+            answer.dropped = sampler.getDroppedCount();
+            for (SampledInflightExchange exchange : sampler.browse(max)) {
+                answer.exchanges.add(new InflightExchangeInfo(exchange));
+            }
+        } else if (repository.isInflightBrowseEnabled()) {
+            answer.source = SOURCE_REPOSITORY;
+            for (InflightRepository.InflightExchange exchange : repository.browse(max > 0 ? max : -1, true)) {
+                answer.exchanges.add(new InflightExchangeInfo(exchange));
+            }
+        }
+        return answer;
+    }
+
+    /*
+     * Container for exposing the inflight exchanges as JSON.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({"source", "total", "samplingRate", "capacity", "sampled", "dropped", "exchanges"})
+    public static class InflightEndpointInfo {
+
+        private final int total;
+        private final List<InflightExchangeInfo> exchanges = new ArrayList<>();
+        private String source;
+        private Integer samplingRate;
+        private Integer capacity;
+        private Long sampled;
+        private Long dropped;
+
+        public InflightEndpointInfo(int total) {
+            this.total = total;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public Integer getSamplingRate() {
+            return samplingRate;
+        }
+
+        public Integer getCapacity() {
+            return capacity;
+        }
+
+        public Long getSampled() {
+            return sampled;
+        }
+
+        public Long getDropped() {
+            return dropped;
+        }
+
+        public List<InflightExchangeInfo> getExchanges() {
+            return exchanges;
+        }
+    }
+
+    /*
+     * Container for exposing an inflight exchange as JSON.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({"exchangeId", "fromRouteId", "atRouteId", "nodeId", "elapsed", "threadName", "threadState"})
+    public static class InflightExchangeInfo {
+
+        private final String exchangeId;
+        private final String fromRouteId;
+        private final String atRouteId;
+        private final String nodeId;
+        private final long elapsed;
+        private final String threadName;
+        private final Thread.State threadState;
+
+        public InflightExchangeInfo(SampledInflightExchange exchange) {
+            this.exchangeId = exchange.getExchangeId();
+            this.fromRouteId = exchange.getFromRouteId();
+            this.atRouteId = exchange.getAtRouteId();
+            this.nodeId = exchange.getNodeId();
+            this.elapsed = exchange.getElapsed();
+            this.threadName = exchange.getThreadName();
+            this.threadState = exchange.getThreadState();
+        }
+
+        public InflightExchangeInfo(InflightRepository.InflightExchange exchange) {
+            this.exchangeId = exchange.getExchange().getExchangeId();
+            this.fromRouteId = exchange.getFromRouteId();
+            this.atRouteId = exchange.getAtRouteId();
+            this.nodeId = exchange.getNodeId();
+            this.elapsed = exchange.getElapsed();
+            this.threadName = null;
+            this.threadState = null;
+        }
+
+        public String getExchangeId() {
+            return exchangeId;
+        }
+
+        public String getFromRouteId() {
+            return fromRouteId;
+        }
+
+        public String getAtRouteId() {
+            return atRouteId;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public long getElapsed() {
+            return elapsed;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public Thread.State getThreadState() {
+            return threadState;
+        }
+    }
+
+}
@@ -16,14 +16,29 @@
  */
 package org.apache.camel.spring.boot.actuate.endpoint;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Route;
@@ -31,6 +46,11 @@ import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.StatefulService;
 import org.apache.camel.api.management.ManagedCamelContext;
 import org.apache.camel.api.management.mbean.ManagedRouteMBean;
+import org.apache.camel.spring.boot.statistics.LatencyHistogram;
+import org.apache.camel.spring.boot.statistics.ProcessingStatistics;
+import org.apache.camel.spring.boot.statistics.RouteStatistics;
+import org.apache.camel.spring.boot.statistics.RouteStatisticsCollector;
+import org.apache.camel.support.PatternHelper;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
@@ -40,6 +60,8 @@ import org.springframework.lang.Nullable;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 /*
  * Spring Boot Management Endpoint to expose Camel Route information.
@@ -47,14 +69,37 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 @Endpoint(id = "camelroutes")
 public class CamelRoutesEndpoint {
 
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final Set<String> ROUTE_FIELDS = new LinkedHashSet<>(Arrays.asList(
+            "id", "group", "description", "uptime", "uptimeMillis", "status", "properties", "details", "statistics"));
+
     private CamelContext camelContext;
     private ManagedCamelContext managedCamelContext;
     private CamelRoutesEndpointProperties properties;
+    private RouteStatisticsCollector statisticsCollector;
+    private ObjectWriter writer;
 
     public CamelRoutesEndpoint(CamelContext camelContext, CamelRoutesEndpointProperties properties) {
+        this(camelContext, properties, null);
+    }
+
+    public CamelRoutesEndpoint(CamelContext camelContext, CamelRoutesEndpointProperties properties,
+                               RouteStatisticsCollector statisticsCollector) {
+        this(camelContext, properties, statisticsCollector, null);
+    }
+
+    /*
+     * The object mapper (of the application) is used to stream the routes the same way as the routes are serialized
+     * when they are not streamed.
+     */
+    public CamelRoutesEndpoint(CamelContext camelContext, CamelRoutesEndpointProperties properties,
+                               RouteStatisticsCollector statisticsCollector, ObjectMapper objectMapper) {
         this.camelContext = camelContext;
         this.managedCamelContext = camelContext.getExtension(ManagedCamelContext.class);
         this.properties = properties;
+        this.statisticsCollector = statisticsCollector;
+        this.writer = (objectMapper != null ? objectMapper : new ObjectMapper()).writer();
     }
 
     @ReadOperation
@@ -62,6 +107,38 @@ public class CamelRoutesEndpoint {
         return getRoutesInfo();
     }
 
+    /**
+     * Reads the routes, optionally filtered, paged and with only the selected fields.
+     * <p/>
+     * This is exposed over the web by {@link CamelRoutesWebEndpointExtension}, which can also stream the routes.
+     *
+     * @param offset  the number of (filtered) routes to skip
+     * @param limit   the maximum number of routes to return
+     * @param group   only routes in this group
+     * @param status  only routes with this status (such as started or stopped)
+     * @param id      only routes with an id matching this pattern (wildcard or regular expression)
+     * @param fields  comma separated fields to include (id, group, description, uptime, uptimeMillis, status,
+     *                properties, details, statistics), by default all fields except details and statistics
+     * @param details whether to include the route details (only retrieved for the selected routes)
+     */
+    public List<Object> readRoutes(@Nullable Integer offset, @Nullable Integer limit, @Nullable String group,
+                                   @Nullable String status, @Nullable String id, @Nullable String fields,
+                                   @Nullable Boolean details) {
+        List<Route> routes = filterRoutes(offset, limit, group, status, id);
+        Function<Route, Object> mapper = routeMapper(fields, Boolean.TRUE.equals(details));
+        return routes.stream().map(mapper).collect(Collectors.toList());
+    }
+
+    /*
+     * Streams the routes as JSON, as read by readRoutes, so the response is not built in memory.
+     */
+    InputStream streamRoutes(Integer offset, Integer limit, String group, String status, String id, String fields,
+                             Boolean details) {
+        List<Route> routes = filterRoutes(offset, limit, group, status, id);
+        Function<Route, Object> mapper = routeMapper(fields, Boolean.TRUE.equals(details));
+        return new JsonArrayInputStream(routes.iterator(), mapper, writer);
+    }
+
     @ReadOperation
     public Object doReadAction(@Selector String id, @Selector ReadAction action) {
         switch (action) {
@@ -80,13 +157,93 @@ public class CamelRoutesEndpoint {
             throw new IllegalArgumentException(String.format("Read only: write action %s is not allowed", action));
         }
 
+        executeAction(id, action,
+                Optional.ofNullable(timeInfo).flatMap(ti -> Optional.ofNullable(ti.getTimeout())),
+                TimeUnit.SECONDS,
+                Optional.ofNullable(timeInfo).flatMap(ti -> Optional.ofNullable(ti.getAbortAfterTimeout())));
+    }
+
+    /**
+     * Executes the action on all the routes matching the given id pattern and group, concurrently. At least an id
+     * pattern or group must be given, so use the id pattern <tt>*</tt> to execute the action on all the routes.
+     *
+     * @param action            the action
+     * @param id                only routes with an id matching this pattern (wildcard or regular expression)
+     * @param group             only routes in this group
+     * @param timeout           the timeout in seconds shared by all the routes (deadline of the bulk action)
+     * @param abortAfterTimeout whether to abort stopping the routes after the timeout
+     * @param parallelism       the number of routes to act on concurrently
+     * @return                  the outcome per route
+     */
+    @WriteOperation
+    public BulkActionReport doBulkAction(@Selector WriteAction action, @Nullable String id, @Nullable String group,
+                                         @Nullable Long timeout, @Nullable Boolean abortAfterTimeout,
+                                         @Nullable Integer parallelism) {
+        if (this.properties.isReadOnly()) {
+            throw new IllegalArgumentException(String.format("Read only: write action %s is not allowed", action));
+        }
+        if (id == null && group == null) {
+            // do not act on all the routes by accident
+            throw new IllegalArgumentException(String.format("Bulk write action %s requires an id or group (use id=* for all routes)", action));
+        }
+
+        List<Route> routes = filterRoutes(null, null, group, null, id);
+        BulkActionReport report = new BulkActionReport(action);
+        if (routes.isEmpty()) {
+            return report;
+        }
+
+        int threads = Math.max(1, Math.min(routes.size(), parallelism != null ? parallelism : properties.getBulkParallelism()));
+        long deadline = timeout != null ? System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout) : 0;
+        ExecutorService executor = camelContext.getExecutorServiceManager().newFixedThreadPool(this, "CamelRoutesBulkAction", threads);
+        Map<String, Future<Long>> futures = new LinkedHashMap<>();
+        try {
+            for (Route route : routes) {
+                String routeId = route.getId();
+                futures.put(routeId, executor.submit(() -> {
+                    long start = System.nanoTime();
+                    if (timeout != null && deadline - start <= 0) {
+                        // the deadline passed while waiting for a thread (and the route is reported as timed out)
+                        return null;
+                    }
+                    Optional<Long> remaining = timeout != null
+                            ? Optional.of(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - start))) : Optional.empty();
+                    executeAction(routeId, action, remaining, TimeUnit.MILLISECONDS, Optional.ofNullable(abortAfterTimeout));
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }));
+            }
+
+            for (Map.Entry<String, Future<Long>> entry : futures.entrySet()) {
+                try {
+                    Long took = timeout != null
+                            ? entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                            : entry.getValue().get();
+                    report.addOutcome(new RouteActionOutcome(entry.getKey(),
+                            took != null ? RouteActionStatus.SUCCESS : RouteActionStatus.TIMEOUT, took, null));
+                } catch (TimeoutException e) {
+                    report.addOutcome(new RouteActionOutcome(entry.getKey(), RouteActionStatus.TIMEOUT, null, null));
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() instanceof RuntimeCamelException && e.getCause().getCause() != null
+                            ? e.getCause().getCause() : e.getCause();
+                    report.addOutcome(new RouteActionOutcome(entry.getKey(), RouteActionStatus.FAILED, null, cause.getMessage()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    report.addOutcome(new RouteActionOutcome(entry.getKey(), RouteActionStatus.TIMEOUT, null, null));
+                }
+            }
+        } finally {
+            // routes not acted upon yet by the deadline are not acted upon at all, while the routes still being acted
+            // upon are left to complete in the background (within their share of the timeout)
+            futures.values().forEach(future -> future.cancel(false));
+            camelContext.getExecutorServiceManager().shutdown(executor);
+        }
+        return report;
+    }
+
+    private void executeAction(String id, WriteAction action, Optional<Long> timeout, TimeUnit timeUnit, Optional<Boolean> abortAfterTimeout) {
         switch (action) {
             case STOP:
-                stopRoute(
-                        id,
-                        Optional.ofNullable(timeInfo).flatMap(ti -> Optional.ofNullable(ti.getTimeout())),
-                        Optional.of(TimeUnit.SECONDS),
-                        Optional.ofNullable(timeInfo).flatMap(ti -> Optional.ofNullable(ti.getAbortAfterTimeout())));
+                stopRoute(id, timeout, Optional.of(timeUnit), abortAfterTimeout);
                 break;
             case START:
                 startRoute(id);
@@ -95,9 +252,7 @@ public class CamelRoutesEndpoint {
                 resetRoute(id);
                 break;
             case SUSPEND:
-                suspendRoute(id,
-                        Optional.ofNullable(timeInfo).flatMap(ti -> Optional.ofNullable(ti.getTimeout())),
-                        Optional.of(TimeUnit.SECONDS));
+                suspendRoute(id, timeout, Optional.of(timeUnit));
                 break;
             case RESUME:
                 resumeRoute(id);
@@ -122,10 +277,101 @@ public class CamelRoutesEndpoint {
                 .collect(Collectors.toList());
     }
 
+    private RouteStatisticsInfo getRouteStatisticsInfo(String id) {
+        RouteStatistics statistics = statisticsCollector != null ? statisticsCollector.getRouteStatistics(id) : null;
+        return statistics != null ? new RouteStatisticsInfo(statistics) : null;
+    }
+
+    private List<Route> filterRoutes(Integer offset, Integer limit, String group, String status, String id) {
+        Stream<Route> routes = camelContext.getRoutes().stream();
+        if (group != null) {
+            routes = routes.filter(r -> group.equals(r.getGroup()));
+        }
+        if (status != null) {
+            routes = routes.filter(r -> r instanceof StatefulService && status.equalsIgnoreCase(((StatefulService) r).getStatus().name()));
+        }
+        if (id != null) {
+            routes = routes.filter(r -> PatternHelper.matchPattern(r.getId(), id));
+        }
+        if (offset != null && offset > 0) {
+            routes = routes.skip(offset);
+        }
+        if (limit != null && limit >= 0) {
+            routes = routes.limit(limit);
+        }
+        return routes.collect(Collectors.toList());
+    }
+
+    private Function<Route, Object> routeMapper(String fields, boolean details) {
+        if (fields == null) {
+            return details ? r -> new RouteDetailsEndpointInfo(camelContext, r, statisticsCollector) : RouteEndpointInfo::new;
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            field = field.trim();
+            if (!ROUTE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unsupported field " + field);
+            }
+            names.add(field);
+        }
+        if (details) {
+            names.add("details");
+        }
+        return r -> selectFields(r, names);
+    }
+
+    private Map<String, Object> selectFields(Route route, Set<String> fields) {
+        Map<String, Object> answer = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value;
+            switch (field) {
+                case "id":
+                    value = route.getId();
+                    break;
+                case "group":
+                    value = route.getGroup();
+                    break;
+                case "description":
+                    value = route.getDescription();
+                    break;
+                case "uptime":
+                    value = route.getUptime();
+                    break;
+                case "uptimeMillis":
+                    value = route.getUptimeMillis();
+                    break;
+                case "status":
+                    value = route instanceof StatefulService ? ((StatefulService) route).getStatus().name() : null;
+                    break;
+                case "properties":
+                    value = route.getProperties() != null ? new HashMap<>(route.getProperties()) : null;
+                    break;
+                case "details":
+                    // the details include the statistics collected without JMX, as when the fields are not selected
+                    RouteDetailsEndpointInfo info = new RouteDetailsEndpointInfo(camelContext, route, statisticsCollector);
+                    value = info.routeDetails;
+                    if (info.statistics != null) {
+                        answer.putIfAbsent("statistics", info.statistics);
+                    }
+                    break;
+                case "statistics":
+                    value = getRouteStatisticsInfo(route.getId());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported field " + field);
+            }
+            if (value != null) {
+                answer.put(field, value);
+            }
+        }
+        return answer;
+    }
+
     private RouteDetailsEndpointInfo getRouteDetailsInfo(String id) {
         Route route = camelContext.getRoute(id);
         if (route != null) {
-            return new RouteDetailsEndpointInfo(camelContext, route);
+            return new RouteDetailsEndpointInfo(camelContext, route, statisticsCollector);
         }
 
         return null;
@@ -248,19 +494,32 @@ public class CamelRoutesEndpoint {
 
     /*
      * Container for exposing {@link org.apache.camel.Route} information
-     * with route details as JSON. Route details are retrieved from JMX.
+     * with route details as JSON. Route details are retrieved from JMX,
+     * and route statistics from the route statistics collector (if enabled).
      */
     public static class RouteDetailsEndpointInfo extends RouteEndpointInfo {
 
         @JsonProperty("details")
         private RouteDetails routeDetails;
 
+        @JsonProperty("statistics")
+        private RouteStatisticsInfo statistics;
+
         public RouteDetailsEndpointInfo(final CamelContext camelContext, final Route route) {
+            this(camelContext, route, null);
+        }
+
+        public RouteDetailsEndpointInfo(final CamelContext camelContext, final Route route,
+                                        final RouteStatisticsCollector statisticsCollector) {
             super(route);
             if (camelContext.getManagementStrategy().getManagementAgent() != null) {
                 ManagedCamelContext mcc = camelContext.getExtension(ManagedCamelContext.class);
                 this.routeDetails = new RouteDetails(mcc.getManagedRoute(route.getId(), ManagedRouteMBean.class));
             }
+            RouteStatistics routeStatistics = statisticsCollector != null ? statisticsCollector.getRouteStatistics(route.getId()) : null;
+            if (routeStatistics != null) {
+                this.statistics = new RouteStatisticsInfo(routeStatistics);
+            }
         }
 
         @JsonInclude(JsonInclude.Include.NON_EMPTY)
@@ -426,6 +685,244 @@ public class CamelRoutesEndpoint {
         }
     }
 
+    /*
+     * Container for exposing the statistics of a route or processor collected without JMX, with the processing times in millis.
+     */
+    @JsonPropertyOrder({"id", "exchangesTotal", "exchangesFailed", "exchangesInflight", "meanProcessingTime",
+            "maxProcessingTime", "p50ProcessingTime", "p90ProcessingTime", "p99ProcessingTime", "processors"})
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RouteStatisticsInfo {
+
+        private final String id;
+        private final long exchangesTotal;
+        private final long exchangesFailed;
+        private final long exchangesInflight;
+        private final double meanProcessingTime;
+        private final double maxProcessingTime;
+        private final double p50ProcessingTime;
+        private final double p90ProcessingTime;
+        private final double p99ProcessingTime;
+        private final List<RouteStatisticsInfo> processors;
+
+        public RouteStatisticsInfo(ProcessingStatistics statistics) {
+            LatencyHistogram latency = statistics.getLatency();
+            this.id = statistics.getId();
+            this.exchangesTotal = statistics.getExchangesTotal();
+            this.exchangesFailed = statistics.getExchangesFailed();
+            this.exchangesInflight = statistics.getExchangesInflight();
+            this.meanProcessingTime = latency.getMean() / NANOS_PER_MILLI;
+            this.maxProcessingTime = (double) latency.getMax() / NANOS_PER_MILLI;
+            this.p50ProcessingTime = latency.getValueAtPercentile(50, TimeUnit.MILLISECONDS);
+            this.p90ProcessingTime = latency.getValueAtPercentile(90, TimeUnit.MILLISECONDS);
+            this.p99ProcessingTime = latency.getValueAtPercentile(99, TimeUnit.MILLISECONDS);
+            if (statistics instanceof RouteStatistics) {
+                this.processors = ((RouteStatistics) statistics).getProcessorStatistics().stream()
+                        .map(RouteStatisticsInfo::new)
+                        .sorted(Comparator.comparing(RouteStatisticsInfo::getId))
+                        .collect(Collectors.toList());
+            } else {
+                this.processors = null;
+            }
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public long getExchangesTotal() {
+            return exchangesTotal;
+        }
+
+        public long getExchangesFailed() {
+            return exchangesFailed;
+        }
+
+        public long getExchangesInflight() {
+            return exchangesInflight;
+        }
+
+        public double getMeanProcessingTime() {
+            return meanProcessingTime;
+        }
+
+        public double getMaxProcessingTime() {
+            return maxProcessingTime;
+        }
+
+        public double getP50ProcessingTime() {
+            return p50ProcessingTime;
+        }
+
+        public double getP90ProcessingTime() {
+            return p90ProcessingTime;
+        }
+
+        public double getP99ProcessingTime() {
+            return p99ProcessingTime;
+        }
+
+        public List<RouteStatisticsInfo> getProcessors() {
+            return processors;
+        }
+    }
+
+    /*
+     * Streams the JSON array of the routes, serializing one route at a time when the stream is read.
+     */
+    private static final class JsonArrayInputStream extends InputStream {
+
+        private final Iterator<Route> routes;
+        private final Function<Route, Object> mapper;
+        private final ObjectWriter writer;
+        private byte[] buffer = new byte[] { '[' };
+        private int pos;
+        private boolean first = true;
+        private boolean done;
+
+        private JsonArrayInputStream(Iterator<Route> routes, Function<Route, Object> mapper, ObjectWriter writer) {
+            this.routes = routes;
+            this.mapper = mapper;
+            this.writer = writer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer[pos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.length - pos);
+            System.arraycopy(buffer, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        private boolean fill() throws IOException {
+            while (pos >= buffer.length) {
+                if (done) {
+                    return false;
+                }
+                pos = 0;
+                if (routes.hasNext()) {
+                    byte[] json = writer.writeValueAsBytes(mapper.apply(routes.next()));
+                    if (first) {
+                        buffer = json;
+                        first = false;
+                    } else {
+                        buffer = new byte[json.length + 1];
+                        buffer[0] = ',';
+                        System.arraycopy(json, 0, buffer, 1, json.length);
+                    }
+                } else {
+                    buffer = new byte[] { ']' };
+                    done = true;
+                }
+            }
+            return true;
+        }
+    }
+
+    /*
+     * Outcome of a bulk action on the routes
+     */
+    @JsonPropertyOrder({"action", "total", "succeeded", "failed", "timedOut", "routes"})
+    public static class BulkActionReport {
+
+        private final WriteAction action;
+        private final List<RouteActionOutcome> routes = new ArrayList<>();
+
+        public BulkActionReport(WriteAction action) {
+            this.action = action;
+        }
+
+        void addOutcome(RouteActionOutcome outcome) {
+            routes.add(outcome);
+        }
+
+        public WriteAction getAction() {
+            return action;
+        }
+
+        public int getTotal() {
+            return routes.size();
+        }
+
+        public long getSucceeded() {
+            return count(RouteActionStatus.SUCCESS);
+        }
+
+        public long getFailed() {
+            return count(RouteActionStatus.FAILED);
+        }
+
+        public long getTimedOut() {
+            return count(RouteActionStatus.TIMEOUT);
+        }
+
+        public List<RouteActionOutcome> getRoutes() {
+            return routes;
+        }
+
+        private long count(RouteActionStatus status) {
+            return routes.stream().filter(r -> r.getStatus() == status).count();
+        }
+    }
+
+    /*
+     * Outcome of a bulk action on a single route
+     */
+    @JsonPropertyOrder({"id", "status", "durationMillis", "error"})
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RouteActionOutcome {
+
+        private final String id;
+        private final RouteActionStatus status;
+        private final Long durationMillis;
+        private final String error;
+
+        public RouteActionOutcome(String id, RouteActionStatus status, Long durationMillis, String error) {
+            this.id = id;
+            this.status = status;
+            this.durationMillis = durationMillis;
+            this.error = error;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public RouteActionStatus getStatus() {
+            return status;
+        }
+
+        public Long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    /*
+     * Status of a bulk action on a single route
+     */
+    public enum RouteActionStatus {
+        SUCCESS,
+        FAILED,
+        TIMEOUT
+    }
+
     /*
      * List of write actions available for the endpoint
      */
@@ -18,7 +18,10 @@ package org.apache.camel.spring.boot.actuate.endpoint;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.spring.boot.statistics.RouteStatisticsCollector;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.endpoint.expose.EndpointExposure;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -27,6 +30,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /*
  * Auto configuration for the {@link CamelRoutesEndpoint}.
  */
@@ -40,8 +45,18 @@ public class CamelRoutesEndpointAutoConfiguration {
     @Bean
     @ConditionalOnClass(CamelContext.class)
     @ConditionalOnMissingBean
-    public CamelRoutesEndpoint camelEndpoint(CamelContext camelContext, CamelRoutesEndpointProperties properties) {
-        return new CamelRoutesEndpoint(camelContext, properties);
+    public CamelRoutesEndpoint camelEndpoint(CamelContext camelContext, CamelRoutesEndpointProperties properties,
+                                             ObjectProvider<RouteStatisticsCollector> statisticsCollector,
+                                             ObjectProvider<ObjectMapper> objectMapper) {
+        return new CamelRoutesEndpoint(camelContext, properties, statisticsCollector.getIfAvailable(), objectMapper.getIfUnique());
+    }
+
+    @Bean
+    @ConditionalOnBean(CamelRoutesEndpoint.class)
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint(endpoint = CamelRoutesEndpoint.class, exposure = EndpointExposure.WEB)
+    public CamelRoutesWebEndpointExtension camelRoutesWebEndpointExtension(CamelRoutesEndpoint endpoint) {
+        return new CamelRoutesWebEndpointExtension(endpoint);
     }
 
 }
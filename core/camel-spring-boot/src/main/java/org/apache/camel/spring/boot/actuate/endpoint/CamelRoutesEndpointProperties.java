@@ -27,6 +27,12 @@ public class CamelRoutesEndpointProperties {
      */
     private boolean readOnly = true;
 
+    /**
+     * The number of routes to act on concurrently by the bulk write operations (such as stopping all the routes of a
+     * group).
+     */
+    private int bulkParallelism = 10;
+
     public boolean isReadOnly() {
         return readOnly;
     }
@@ -34,5 +40,13 @@ public class CamelRoutesEndpointProperties {
     public void setReadOnly(boolean readOnly) {
         this.readOnly = readOnly;
     }
+
+    public int getBulkParallelism() {
+        return bulkParallelism;
+    }
+
+    public void setBulkParallelism(int bulkParallelism) {
+        this.bulkParallelism = bulkParallelism;
+    }
     
 }
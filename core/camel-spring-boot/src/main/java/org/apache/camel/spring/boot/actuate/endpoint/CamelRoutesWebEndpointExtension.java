@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExtension;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.lang.Nullable;
+
+/*
+ * Web extension of the {@link CamelRoutesEndpoint}, which reads the routes with paging, filtering and field selection
+ * over the web, and can stream them as JSON. Streaming returns a Resource, so it is only available over the web (and
+ * the JMX operation reads all the routes as before).
+ */
+@EndpointWebExtension(endpoint = CamelRoutesEndpoint.class)
+public class CamelRoutesWebEndpointExtension {
+
+    private final CamelRoutesEndpoint endpoint;
+
+    public CamelRoutesWebEndpointExtension(CamelRoutesEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Reads the routes, see {@link CamelRoutesEndpoint#readRoutes(Integer, Integer, String, String, String, String, Boolean)}.
+     *
+     * @param stream whether to stream the routes as JSON, so the response is not built in memory
+     */
+    @ReadOperation
+    public Object readRoutes(@Nullable Integer offset, @Nullable Integer limit, @Nullable String group,
+                             @Nullable String status, @Nullable String id, @Nullable String fields,
+                             @Nullable Boolean details, @Nullable Boolean stream) {
+        if (Boolean.TRUE.equals(stream)) {
+            return new InputStreamResource(endpoint.streamRoutes(offset, limit, group, status, id, fields, details));
+        }
+        return endpoint.readRoutes(offset, limit, group, status, id, fields, details);
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.spi.StartupStepRecorder;
+import org.apache.camel.spring.boot.MemoryStartupStepRecorder;
+import org.apache.camel.spring.boot.MemoryStartupStepRecorder.RecordedStep;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/*
+ * Spring Boot Management Endpoint to expose the startup steps of Camel recorded by the memory startup recorder
+ * (camel.springboot.startup-recorder=memory), either as a tree of steps (JSON) or as folded stacks (text) which can
+ * be turned into a flame graph.
+ */
+@Endpoint(id = "camelstartup")
+public class CamelStartupEndpoint {
+
+    public static final String FOLDED = "folded";
+
+    private final CamelContext camelContext;
+
+    public CamelStartupEndpoint(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @ReadOperation
+    public StartupEndpointInfo readStartup() {
+        StartupStepRecorder recorder = camelContext.adapt(ExtendedCamelContext.class).getStartupStepRecorder();
+        if (recorder instanceof MemoryStartupStepRecorder) {
+            return new StartupEndpointInfo(recorder, buildTree(((MemoryStartupStepRecorder) recorder).getSteps()));
+        }
+        return new StartupEndpointInfo(recorder, null);
+    }
+
+    @ReadOperation(produces = "text/plain")
+    public String readStartupAs(@Selector String format) {
+        if (!FOLDED.equals(format)) {
+            throw new IllegalArgumentException("Unsupported format " + format);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        StartupStepRecorder recorder = camelContext.adapt(ExtendedCamelContext.class).getStartupStepRecorder();
+        if (recorder instanceof MemoryStartupStepRecorder) {
+            for (StartupStepInfo step : buildTree(((MemoryStartupStepRecorder) recorder).getSteps())) {
+                appendFolded(sb, null, step);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static List<StartupStepInfo> buildTree(List<RecordedStep> steps) {
+        List<StartupStepInfo> roots = new ArrayList<>();
+        Map<Integer, StartupStepInfo> infos = new HashMap<>();
+        // the steps are ordered by id, so a parent is always before its children
+        for (RecordedStep step : steps) {
+            StartupStepInfo info = new StartupStepInfo(step);
+            infos.put(step.getId(), info);
+            StartupStepInfo parent = infos.get(step.getParentId());
+            if (parent != null) {
+                parent.children.add(info);
+            } else {
+                roots.add(info);
+            }
+        }
+        return roots;
+    }
+
+    private static void appendFolded(StringBuilder sb, String stack, StartupStepInfo step) {
+        // semicolon is the frame separator in the folded stack format
+        String frame = (step.getType() + ":" + step.getName()).replace(';', ',');
+        String current = stack != null ? stack + ";" + frame : frame;
+
+        // the value of a stack is the time spent in the step itself (excluding its children)
+        long self = step.getDuration();
+        for (StartupStepInfo child : step.children) {
+            self -= child.getDuration();
+        }
+        sb.append(current).append(' ').append(Math.max(0, self)).append('\n');
+
+        for (StartupStepInfo child : step.children) {
+            appendFolded(sb, current, child);
+        }
+    }
+
+    /*
+     * Container for exposing the startup steps as JSON.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class StartupEndpointInfo {
+
+        private final String recorder;
+        private final boolean enabled;
+        private final List<StartupStepInfo> steps;
+
+        public StartupEndpointInfo(StartupStepRecorder recorder, List<StartupStepInfo> steps) {
+            this.recorder = recorder.getClass().getName();
+            this.enabled = recorder.isEnabled();
+            this.steps = steps;
+        }
+
+        public String getRecorder() {
+            return recorder;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public List<StartupStepInfo> getSteps() {
+            return steps;
+        }
+    }
+
+    /*
+     * Container for exposing a startup step (and its sub steps) as JSON.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonPropertyOrder({"id", "type", "name", "description", "level", "beginTime", "duration", "children"})
+    public static class StartupStepInfo {
+
+        private final int id;
+        private final String type;
+        private final String name;
+        private final String description;
+        private final int level;
+        private final long beginTime;
+        private final long duration;
+        private final List<StartupStepInfo> children = new ArrayList<>();
+
+        public StartupStepInfo(RecordedStep step) {
+            this.id = step.getId();
+            this.type = step.getType();
+            this.name = step.getName();
+            this.description = step.getDescription();
+            this.level = step.getLevel();
+            this.beginTime = step.getBeginTime();
+            this.duration = step.getDuration();
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public long getBeginTime() {
+            return beginTime;
+        }
+
+        public long getDuration() {
+            return duration;
+        }
+
+        public List<StartupStepInfo> getChildren() {
+            return children;
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.spring.boot.SpringTypeConversionStatistics;
+import org.apache.camel.spring.boot.SpringTypeConverter;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/*
+ * Spring Boot Management Endpoint to expose type conversion statistics of Camel and of the Spring type conversion
+ * bridge, listing the most expensive pairs of types converted by the bridge first.
+ */
+@Endpoint(id = "cameltypeconversions")
+public class CamelTypeConversionsEndpoint {
+
+    private static final int DEFAULT_TOP = 10;
+
+    private final CamelContext camelContext;
+    private final SpringTypeConverter springTypeConverter;
+
+    public CamelTypeConversionsEndpoint(CamelContext camelContext, SpringTypeConverter springTypeConverter) {
+        this.camelContext = camelContext;
+        this.springTypeConverter = springTypeConverter;
+    }
+
+    @ReadOperation
+    public TypeConversionsEndpointInfo readTypeConversions(@Nullable Integer top) {
+        int limit = top != null ? top : DEFAULT_TOP;
+
+        List<TypeConversionPairInfo> pairs = null;
+        if (springTypeConverter != null && springTypeConverter.isStatisticsEnabled()) {
+            pairs = springTypeConverter.getStatistics().stream()
+                    .sorted(Comparator.comparingLong(SpringTypeConversionStatistics::getTotalNanos).reversed())
+                    .limit(limit)
+                    .map(TypeConversionPairInfo::new)
+                    .collect(Collectors.toList());
+        }
+
+        return new TypeConversionsEndpointInfo(camelContext.getTypeConverterRegistry().getStatistics(), pairs);
+    }
+
+    /*
+     * Container for exposing the type conversion statistics as JSON.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TypeConversionsEndpointInfo {
+
+        private final boolean camelStatisticsEnabled;
+        private final Long camelAttempts;
+        private final Long camelHits;
+        private final Long camelMisses;
+        private final Long camelFailures;
+        private final List<TypeConversionPairInfo> springFallback;
+
+        public TypeConversionsEndpointInfo(TypeConverterRegistry.Statistics statistics, List<TypeConversionPairInfo> springFallback) {
+            this.camelStatisticsEnabled = statistics.isStatisticsEnabled();
+            if (camelStatisticsEnabled) {
+                this.camelAttempts = statistics.getAttemptCounter();
+                this.camelHits = statistics.getHitCounter();
+                this.camelMisses = statistics.getMissCounter();
+                this.camelFailures = statistics.getFailedCounter();
+            } else {
+                this.camelAttempts = null;
+                this.camelHits = null;
+                this.camelMisses = null;
+                this.camelFailures = null;
+            }
+            this.springFallback = springFallback;
+        }
+
+        public boolean isCamelStatisticsEnabled() {
+            return camelStatisticsEnabled;
+        }
+
+        public Long getCamelAttempts() {
+            return camelAttempts;
+        }
+
+        public Long getCamelHits() {
+            return camelHits;
+        }
+
+        public Long getCamelMisses() {
+            return camelMisses;
+        }
+
+        public Long getCamelFailures() {
+            return camelFailures;
+        }
+
+        public List<TypeConversionPairInfo> getSpringFallback() {
+            return springFallback;
+        }
+    }
+
+    /*
+     * Container for exposing the statistics of a pair of types converted by the Spring type conversion bridge.
+     */
+    @JsonPropertyOrder({"source", "target", "attempts", "hits", "misses", "failures", "totalNanos"})
+    public static class TypeConversionPairInfo {
+
+        private final String source;
+        private final String target;
+        private final long attempts;
+        private final long hits;
+        private final long misses;
+        private final long failures;
+        private final long totalNanos;
+
+        public TypeConversionPairInfo(SpringTypeConversionStatistics statistics) {
+            this.source = statistics.getSourceType().getName();
+            this.target = statistics.getTargetType().getName();
+            this.attempts = statistics.getAttempts();
+            this.hits = statistics.getHits();
+            this.misses = statistics.getMisses();
+            this.failures = statistics.getFailures();
+            this.totalNanos = statistics.getTotalNanos();
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+    }
+
+}
@@ -51,7 +51,7 @@ public class CamelHealthCheckAutoConfiguration {
 
         @Bean(name = "camelHealth")
         public HealthIndicator camelHealthCheckIndicator(ApplicationContext applicationContext,
-                                                         CamelContext camelContext, CamelHealthCheckConfigurationProperties config) {
+                                                         CamelContext camelContext, CamelHealthCheckConfigurationProperties config) throws Exception {
             if (config != null && config.getEnabled() != null && !config.getEnabled()) {
                 // health check is disabled
                 return null;
@@ -124,6 +124,16 @@ public class CamelHealthCheckAutoConfiguration {
                 }
             }
 
+            if (config.isAsyncEnabled()) {
+                // invoke the health checks in the background and serve the probes from their last results
+                CamelHealthCheckEngine engine = new CamelHealthCheckEngine(camelContext, hcr, config.getAsyncInterval(),
+                        config.getAsyncTimeout(), config.getAsyncPoolSize(), config.getAsyncIntervals());
+                camelContext.addService(engine);
+                HealthCheck.State initialState = config.getInitialState() != null
+                        ? camelContext.getTypeConverter().convertTo(HealthCheck.State.class, config.getInitialState()) : null;
+                return new CamelHealthCheckIndicator(applicationContext, camelContext, engine, initialState);
+            }
+
             return new CamelHealthCheckIndicator(applicationContext, camelContext);
         }
     }
@@ -16,6 +16,9 @@
  */
 package org.apache.camel.spring.boot.actuate.health;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.camel.spi.Metadata;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -88,6 +91,35 @@ public class CamelHealthCheckConfigurationProperties {
     @Metadata(enums = "up,down,unknown", defaultValue = "down")
     private String initialState = "down";
 
+    /**
+     * Whether to invoke the health checks asynchronously in the background (each on its own schedule and with a
+     * timeout), and serve the health probes from the last results of the health checks, which makes the probes fast
+     * and independent of how long time the health checks take.
+     */
+    private boolean asyncEnabled;
+
+    /**
+     * The interval in millis between invoking a health check when running asynchronously.
+     */
+    private long asyncInterval = 10000;
+
+    /**
+     * The interval in millis between invoking specific health checks (keyed by health check id) when running
+     * asynchronously, such as consumer:myRoute=30000.
+     */
+    private Map<String, Long> asyncIntervals = new HashMap<>();
+
+    /**
+     * The timeout in millis of invoking a health check when running asynchronously. A health check which does not
+     * complete in time is reported as DOWN.
+     */
+    private long asyncTimeout = 5000;
+
+    /**
+     * The number of threads for invoking the health checks when running asynchronously.
+     */
+    private int asyncPoolSize = 2;
+
     public Boolean getEnabled() {
         return enabled;
     }
@@ -143,7 +175,44 @@ public class CamelHealthCheckConfigurationProperties {
     public void setInitialState(String initialState) {
         this.initialState = initialState;
     }
-}
 
+    public boolean isAsyncEnabled() {
+        return asyncEnabled;
+    }
 
+    public void setAsyncEnabled(boolean asyncEnabled) {
+        this.asyncEnabled = asyncEnabled;
+    }
+
+    public long getAsyncInterval() {
+        return asyncInterval;
+    }
+
+    public void setAsyncInterval(long asyncInterval) {
+        this.asyncInterval = asyncInterval;
+    }
+
+    public Map<String, Long> getAsyncIntervals() {
+        return asyncIntervals;
+    }
+
+    public void setAsyncIntervals(Map<String, Long> asyncIntervals) {
+        this.asyncIntervals = asyncIntervals;
+    }
 
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    public void setAsyncTimeout(long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    public int getAsyncPoolSize() {
+        return asyncPoolSize;
+    }
+
+    public void setAsyncPoolSize(int asyncPoolSize) {
+        this.asyncPoolSize = asyncPoolSize;
+    }
+}
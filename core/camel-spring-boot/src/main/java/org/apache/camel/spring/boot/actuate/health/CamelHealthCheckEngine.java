@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.health;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.health.HealthCheck;
+import org.apache.camel.health.HealthCheckRegistry;
+import org.apache.camel.health.HealthCheckResultBuilder;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the Camel health checks in the background, each on its own schedule and with a timeout, and keeps the last
+ * result of each health check, so health probes can be served from the cached results without invoking the health
+ * checks.
+ * <p/>
+ * A health check which does not complete within the timeout is interrupted and reported as DOWN. As the health check
+ * may ignore the interrupt, the thread pool is grown by a thread for as long as the health check keeps running (and
+ * the health check is not invoked again meanwhile), so such health checks cannot use up the thread pool.
+ */
+public class CamelHealthCheckEngine extends ServiceSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CamelHealthCheckEngine.class);
+
+    private final CamelContext camelContext;
+    private final HealthCheckRegistry registry;
+    private final long interval;
+    private final long timeout;
+    private final int poolSize;
+    private final Map<String, Long> intervals;
+    private final Map<String, CheckState> states = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService workers;
+    private volatile boolean ticked;
+
+    /**
+     * @param camelContext the camel context
+     * @param registry     the health check registry
+     * @param interval     the default interval in millis between invoking a health check
+     * @param timeout      the timeout in millis of invoking a health check, after which the health check is DOWN
+     * @param poolSize     the number of threads invoking the health checks
+     * @param intervals    the intervals in millis of specific health checks (keyed by health check id)
+     */
+    public CamelHealthCheckEngine(CamelContext camelContext, HealthCheckRegistry registry, long interval, long timeout,
+                                  int poolSize, Map<String, Long> intervals) {
+        this.camelContext = camelContext;
+        this.registry = registry;
+        this.interval = interval;
+        this.timeout = timeout;
+        this.poolSize = poolSize;
+        this.intervals = intervals;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * The interval in millis between invoking the given health check.
+     */
+    public long getInterval(String id) {
+        Long answer = intervals != null ? intervals.get(id) : null;
+        return answer != null ? answer : interval;
+    }
+
+    /**
+     * The cached results of the health checks, where the result is <tt>null</tt> if the health check has not been
+     * invoked yet.
+     */
+    public Collection<CachedResult> getResults() {
+        List<CachedResult> answer = new ArrayList<>(states.size());
+        for (CheckState state : states.values()) {
+            answer.add(state.cached);
+        }
+        return answer;
+    }
+
+    /**
+     * Whether the engine is started and has scheduled the health checks, so the cached results are complete (though
+     * the result of a health check is <tt>null</tt> until it has been invoked).
+     */
+    public boolean isReady() {
+        return isStarted() && ticked;
+    }
+
+    /**
+     * Whether the cached result is stale, which is when the health check has not completed within its interval and
+     * timeout (such as when all the threads are busy invoking other health checks).
+     */
+    public boolean isStale(CachedResult cached, long now) {
+        return cached.getResult() != null && now - cached.getTimestamp() > getInterval(cached.getId()) + timeout;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        long tick = Math.max(100, Math.min(1000, interval));
+        scheduler = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "CamelHealthCheckScheduler");
+        workers = camelContext.getExecutorServiceManager().newFixedThreadPool(this, "CamelHealthCheck", poolSize);
+        scheduler.scheduleWithFixedDelay(this::tick, 0, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (scheduler != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(scheduler);
+            scheduler = null;
+        }
+        if (workers != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(workers);
+            workers = null;
+        }
+        states.clear();
+        ticked = false;
+    }
+
+    protected void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            Set<String> ids = new HashSet<>();
+            registry.stream().filter(check -> !registry.isExcluded(check)).forEach(check -> {
+                ids.add(check.getId());
+                CheckState state = states.computeIfAbsent(check.getId(), k -> new CheckState(check.getId()));
+                state.schedule(check, now);
+            });
+            // remove the health checks which are no longer present (such as removed routes)
+            states.keySet().retainAll(ids);
+            ticked = true;
+        } catch (Exception e) {
+            LOG.warn("Error scheduling health checks due to " + e.getMessage() + ". This exception is ignored.", e);
+        }
+    }
+
+    private static void resize(ExecutorService executor, int delta) {
+        if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            synchronized (pool) {
+                int size = pool.getCorePoolSize() + delta;
+                // the core pool size cannot be above the max pool size
+                if (delta > 0) {
+                    pool.setMaximumPoolSize(size);
+                    pool.setCorePoolSize(size);
+                } else {
+                    pool.setCorePoolSize(size);
+                    pool.setMaximumPoolSize(size);
+                }
+            }
+        }
+    }
+
+    private final class CheckState {
+
+        private final String id;
+        private volatile CachedResult cached;
+        private Future<?> future;
+        private boolean running;
+        // the thread pool grown while the timed out health check keeps running
+        private ExecutorService abandonedIn;
+        private long startedAt;
+        private long nextRun;
+
+        private CheckState(String id) {
+            this.id = id;
+            this.cached = new CachedResult(id, null, 0, 0, false);
+        }
+
+        private synchronized void schedule(HealthCheck check, long now) {
+            if (future != null) {
+                if (future.isDone()) {
+                    future = null;
+                } else if (now - startedAt > timeout) {
+                    future.cancel(true);
+                    future = null;
+                    if (running) {
+                        // the health check may ignore the interrupt, so add a thread until it returns
+                        abandonedIn = workers;
+                        resize(abandonedIn, 1);
+                    }
+                    HealthCheck.Result result = HealthCheckResultBuilder.on(check).down()
+                            .message("Health check did not complete within " + timeout + " millis").build();
+                    cached = new CachedResult(id, result, now, now - startedAt, true);
+                }
+            }
+            if (future == null && abandonedIn == null && now >= nextRun) {
+                final long started = now;
+                startedAt = started;
+                nextRun = now + getInterval(id);
+                future = workers.submit(() -> invoke(check, started));
+            }
+        }
+
+        private void invoke(HealthCheck check, long started) {
+            synchronized (this) {
+                if (startedAt != started || future == null) {
+                    // timed out while waiting for a thread
+                    return;
+                }
+                running = true;
+            }
+            HealthCheck.Result result;
+            try {
+                result = check.call();
+            } catch (Exception e) {
+                result = HealthCheckResultBuilder.on(check).down().error(e).build();
+            }
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                running = false;
+                if (abandonedIn != null) {
+                    // the health check has timed out meanwhile, so its result is ignored
+                    resize(abandonedIn, -1);
+                    abandonedIn = null;
+                } else if (startedAt == started && future != null) {
+                    cached = new CachedResult(id, result, now, now - started, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * The last result of a health check.
+     */
+    public static final class CachedResult {
+
+        private final String id;
+        private final HealthCheck.Result result;
+        private final long timestamp;
+        private final long duration;
+        private final boolean timedOut;
+
+        CachedResult(String id, HealthCheck.Result result, long timestamp, long duration, boolean timedOut) {
+            this.id = id;
+            this.result = result;
+            this.timestamp = timestamp;
+            this.duration = duration;
+            this.timedOut = timedOut;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * The result, or <tt>null</tt> if the health check has not been invoked yet.
+         */
+        public HealthCheck.Result getResult() {
+            return result;
+        }
+
+        /**
+         * When the result was cached.
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * How long time in millis the health check took.
+         */
+        public long getDuration() {
+            return duration;
+        }
+
+        /**
+         * Whether the health check timed out.
+         */
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+    }
+}
@@ -16,7 +16,9 @@
  */
 package org.apache.camel.spring.boot.actuate.health;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.camel.CamelContext;
@@ -26,6 +28,7 @@ import org.apache.camel.impl.health.AbstractHealthCheck;
 import org.springframework.boot.actuate.health.AbstractHealthIndicator;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.context.ApplicationContext;
 
 /**
@@ -35,10 +38,23 @@ public class CamelHealthCheckIndicator extends AbstractHealthIndicator {
 
     private final ApplicationContext applicationContext;
     private final CamelContext camelContext;
+    private final CamelHealthCheckEngine engine;
+    private final HealthCheck.State initialState;
 
     public CamelHealthCheckIndicator(ApplicationContext applicationContext, CamelContext camelContext) {
+        this(applicationContext, camelContext, null, null);
+    }
+
+    /**
+     * Creates the indicator which reports the cached results of the given health check engine (if not null) instead
+     * of invoking the health checks.
+     */
+    public CamelHealthCheckIndicator(ApplicationContext applicationContext, CamelContext camelContext,
+                                     CamelHealthCheckEngine engine, HealthCheck.State initialState) {
         this.applicationContext = applicationContext;
         this.camelContext = camelContext;
+        this.engine = engine;
+        this.initialState = initialState;
     }
 
     @Override
@@ -46,21 +62,72 @@ public class CamelHealthCheckIndicator extends AbstractHealthIndicator {
         builder.withDetail("name", "camel-health-check");
         builder.up();
 
+        if (engine != null) {
+            doCachedHealthCheck(builder);
+            return;
+        }
+
         Collection<HealthCheck.Result> results = HealthCheckHelper.invoke(camelContext);
 
         for (HealthCheck.Result result : results) {
-            Map<String, Object> details = result.getDetails();
-            boolean enabled = true;
+            addResult(builder, result);
+        }
+    }
+
+    private void doCachedHealthCheck(Health.Builder builder) {
+        HealthCheck.State notInvokedState = initialState != null ? initialState : HealthCheck.State.DOWN;
+        if (!engine.isReady()) {
+            // the health checks have not been scheduled yet (or not anymore)
+            setState(builder, notInvokedState);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long oldest = 0;
+        List<String> stale = new ArrayList<>();
+
+        for (CamelHealthCheckEngine.CachedResult cached : engine.getResults()) {
+            if (cached.getResult() == null) {
+                // not invoked yet
+                builder.withDetail(cached.getId(), notInvokedState.name());
+                setState(builder, notInvokedState);
+                continue;
+            }
 
-            if (details.containsKey(AbstractHealthCheck.CHECK_ENABLED)) {
-                enabled = (boolean) details.get(AbstractHealthCheck.CHECK_ENABLED);
+            addResult(builder, cached.getResult());
+            oldest = Math.max(oldest, now - cached.getTimestamp());
+            if (engine.isStale(cached, now)) {
+                stale.add(cached.getId());
             }
+        }
+
+        // the age in millis of the oldest cached result
+        builder.withDetail("cacheAge", oldest);
+        if (!stale.isEmpty()) {
+            builder.withDetail("staleChecks", stale);
+        }
+    }
+
+    private static void setState(Health.Builder builder, HealthCheck.State state) {
+        if (state == HealthCheck.State.DOWN) {
+            builder.down();
+        } else if (state == HealthCheck.State.UNKNOWN && !Status.DOWN.equals(builder.build().getStatus())) {
+            builder.unknown();
+        }
+    }
+
+    private static void addResult(Health.Builder builder, HealthCheck.Result result) {
+        Map<String, Object> details = result.getDetails();
+        boolean enabled = true;
+
+        if (details.containsKey(AbstractHealthCheck.CHECK_ENABLED)) {
+            enabled = (boolean) details.get(AbstractHealthCheck.CHECK_ENABLED);
+        }
 
-            if (enabled) {
-                builder.withDetail(result.getCheck().getId(), result.getState().name());
-                if (result.getState() == HealthCheck.State.DOWN) {
-                    builder.down();
-                }
+        if (enabled) {
+            builder.withDetail(result.getCheck().getId(), result.getState().name());
+            if (result.getState() == HealthCheck.State.DOWN) {
+                builder.down();
             }
         }
     }
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.spring.boot.SpringPropertiesParser;
+import org.apache.camel.spring.boot.SpringTypeConverter;
+import org.apache.camel.spring.boot.statistics.RouteStatisticsCollector;
+import org.apache.camel.spring.boot.threadpool.CamelThreadPoolFactory;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Auto configuration binding Camel Spring Boot statistics to Micrometer.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(CamelAutoConfiguration.class)
+@AutoConfigureAfter(CamelAutoConfiguration.class)
+public class CamelMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(SpringTypeConverter.class)
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "camel.springboot", name = "type-conversion-statistics-enabled")
+    public SpringTypeConverterMetrics springTypeConverterMetrics(SpringTypeConverter typeConverter) {
+        return new SpringTypeConverterMetrics(typeConverter);
+    }
+
+    @Bean
+    @ConditionalOnBean(SpringPropertiesParser.class)
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "camel.springboot", name = "properties-cache-enabled")
+    public SpringPropertiesParserMetrics springPropertiesParserMetrics(SpringPropertiesParser parser) {
+        return new SpringPropertiesParserMetrics(parser);
+    }
+
+    @Bean
+    @ConditionalOnBean(RouteStatisticsCollector.class)
+    @ConditionalOnMissingBean
+    public RouteStatisticsMetrics routeStatisticsMetrics(RouteStatisticsCollector collector) {
+        return new RouteStatisticsMetrics(collector);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "camel.threadpool", name = "metrics-enabled")
+    public ThreadPoolMetrics camelThreadPoolMetrics(CamelContext camelContext) {
+        ThreadPoolMetrics metrics = new ThreadPoolMetrics();
+        camelContext.addLifecycleStrategy(metrics);
+        // instrument the thread pools of the thread pool profiles, unless a custom thread pool factory is in use
+        CamelThreadPoolFactory factory = CamelThreadPoolFactory.install(camelContext);
+        if (factory != null) {
+            factory.setInstrumented(true);
+        }
+        return metrics;
+    }
+
+}
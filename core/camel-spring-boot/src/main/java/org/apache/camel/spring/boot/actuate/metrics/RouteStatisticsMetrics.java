@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.camel.spring.boot.statistics.ProcessingStatistics;
+import org.apache.camel.spring.boot.statistics.RouteStatistics;
+import org.apache.camel.spring.boot.statistics.RouteStatisticsCollector;
+
+/*
+ * Binds the route and processor statistics collected without JMX ({@link RouteStatisticsCollector}) to Micrometer.
+ * Each route gets its own meters tagged by route, and each processor its own meters tagged by route and processor. The
+ * meters of a route and its processors are removed when the route is removed, so a route added again with the same id
+ * gets new meters bound to its new statistics.
+ */
+public class RouteStatisticsMetrics implements MeterBinder {
+
+    public static final String ROUTE_METRIC_PREFIX = "camel.route.statistics";
+    public static final String PROCESSOR_METRIC_PREFIX = "camel.processor.statistics";
+
+    private static final double[] PERCENTILES = { 50, 90, 99 };
+
+    private final RouteStatisticsCollector collector;
+    private final Map<ProcessingStatistics, List<Meter>> meters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public RouteStatisticsMetrics(RouteStatisticsCollector collector) {
+        this.collector = collector;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        // listen for new and removed routes and processors before binding the existing (meters are only registered once)
+        collector.addStatisticsListener(this::onCreated);
+        collector.addRemovalListener(this::onRemoved);
+        for (RouteStatistics route : collector.getRouteStatistics()) {
+            onCreated(route);
+            route.getProcessorStatistics().forEach(this::onCreated);
+        }
+    }
+
+    private synchronized void onCreated(ProcessingStatistics statistics) {
+        if (!meters.containsKey(statistics)) {
+            meters.put(statistics, bindTo(registry, statistics));
+        }
+    }
+
+    private synchronized void onRemoved(RouteStatistics route) {
+        // only the meters of this route and its processors
+        removeMeters(route);
+        route.getProcessorStatistics().forEach(this::removeMeters);
+    }
+
+    private void removeMeters(ProcessingStatistics statistics) {
+        List<Meter> bound = meters.remove(statistics);
+        if (bound != null) {
+            bound.forEach(registry::remove);
+        }
+    }
+
+    private static List<Meter> bindTo(MeterRegistry registry, ProcessingStatistics statistics) {
+        String prefix;
+        Tags tags;
+        if (statistics instanceof RouteStatistics) {
+            prefix = ROUTE_METRIC_PREFIX;
+            tags = Tags.of("routeId", statistics.getRouteId());
+        } else {
+            prefix = PROCESSOR_METRIC_PREFIX;
+            tags = Tags.of("routeId", statistics.getRouteId(), "processorId", statistics.getId());
+        }
+
+        List<Meter> meters = new ArrayList<>();
+        meters.add(FunctionTimer.builder(prefix, statistics,
+                ProcessingStatistics::getExchangesTotal, s -> s.getLatency().getTotal(), TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("Exchanges processed")
+                .register(registry));
+        meters.add(FunctionCounter.builder(prefix + ".failed", statistics, ProcessingStatistics::getExchangesFailed)
+                .tags(tags)
+                .description("Exchanges failed")
+                .register(registry));
+        meters.add(Gauge.builder(prefix + ".inflight", statistics, ProcessingStatistics::getExchangesInflight)
+                .tags(tags)
+                .description("Exchanges currently being processed")
+                .register(registry));
+        meters.add(Gauge.builder(prefix + ".max", statistics, s -> s.getLatency().getMax() / (double) TimeUnit.SECONDS.toNanos(1))
+                .tags(tags)
+                .baseUnit("seconds")
+                .description("Maximum processing time")
+                .register(registry));
+        for (double percentile : PERCENTILES) {
+            meters.add(Gauge.builder(prefix + ".percentile", statistics, s -> s.getLatency().getValueAtPercentile(percentile, TimeUnit.SECONDS))
+                    .tags(tags.and("phi", String.valueOf(percentile / 100)))
+                    .baseUnit("seconds")
+                    .description("Processing time at percentile")
+                    .register(registry));
+        }
+        return meters;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.camel.spring.boot.SpringPropertiesParser;
+
+/*
+ * Binds the cache of the property placeholders resolved by the {@link SpringPropertiesParser} to Micrometer.
+ */
+public class SpringPropertiesParserMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "camel.properties.cache";
+
+    private final SpringPropertiesParser parser;
+
+    public SpringPropertiesParserMetrics(SpringPropertiesParser parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".hits", parser, SpringPropertiesParser::getCacheHits)
+                .description("Property placeholders resolved from the cache")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".misses", parser, SpringPropertiesParser::getCacheMisses)
+                .description("Property placeholders resolved from the Spring environment")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", parser, SpringPropertiesParser::getCacheEvictions)
+                .description("Times the cache has been cleared")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", parser, SpringPropertiesParser::getCacheSize)
+                .description("Property placeholders in the cache")
+                .register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.camel.spring.boot.SpringTypeConversionStatistics;
+import org.apache.camel.spring.boot.SpringTypeConverter;
+
+/*
+ * Binds the statistics of the Spring type conversion bridge ({@link SpringTypeConverter}) to Micrometer.
+ * Each pair of source and target type gets its own meters, tagged by source and target type.
+ */
+public class SpringTypeConverterMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "camel.spring.type.conversion";
+
+    private final SpringTypeConverter typeConverter;
+
+    public SpringTypeConverterMetrics(SpringTypeConverter typeConverter) {
+        this.typeConverter = typeConverter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // listen for new pairs before binding the existing (meters are only registered once)
+        typeConverter.addStatisticsListener(statistics -> bindTo(registry, statistics));
+        typeConverter.getStatistics().forEach(statistics -> bindTo(registry, statistics));
+    }
+
+    private static void bindTo(MeterRegistry registry, SpringTypeConversionStatistics statistics) {
+        Tags tags = Tags.of("source", statistics.getSourceType().getName(), "target", statistics.getTargetType().getName());
+
+        FunctionTimer.builder(METRIC_PREFIX, statistics,
+                SpringTypeConversionStatistics::getAttempts, SpringTypeConversionStatistics::getTotalNanos, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("Conversions attempted by the Spring type conversion bridge")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".hits", statistics, SpringTypeConversionStatistics::getHits)
+                .tags(tags)
+                .description("Conversions which returned a value")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".misses", statistics, SpringTypeConversionStatistics::getMisses)
+                .tags(tags)
+                .description("Conversions which could not convert the value")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".failures", statistics, SpringTypeConversionStatistics::getFailures)
+                .tags(tags)
+                .description("Conversions which failed with an exception")
+                .register(registry);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.camel.CamelContext;
+import org.apache.camel.spring.boot.threadpool.AdaptiveThreadPoolExecutor;
+import org.apache.camel.spring.boot.threadpool.InstrumentedThreadPoolExecutor;
+import org.apache.camel.support.LifecycleStrategySupport;
+
+/*
+ * Binds the thread pools created by the Camel {@link org.apache.camel.spi.ExecutorServiceManager} to Micrometer,
+ * tagged by thread pool id, thread pool profile and route, and a sequence number (instance) as several thread pools can
+ * have the same id. The thread pools are bound when created and their meters are removed when shutdown. The saturation of a thread pool (such as the thread pool of a bulkhead) is the ratio of the running and
+ * queued tasks to its capacity, so 1 means new tasks are rejected. The instrumented thread pools also get the rejected tasks, and the wait and run time of the tasks.
+ * The adaptive thread pools also report their core pool size and the number of times they have grown and shrunk.
+ */
+public class ThreadPoolMetrics extends LifecycleStrategySupport implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "camel.threadpool";
+
+    private static final String NONE = "none";
+
+    private final Map<ThreadPoolExecutor, BoundThreadPool> threadPools = new ConcurrentHashMap<>();
+    private final AtomicLong instances = new AtomicLong();
+    private volatile MeterRegistry registry;
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        threadPools.forEach((threadPool, bound) -> bound.meters.addAll(bindTo(registry, threadPool, bound.tags)));
+    }
+
+    @Override
+    public synchronized void onThreadPoolAdd(CamelContext camelContext, ThreadPoolExecutor threadPool, String id,
+                                             String sourceId, String routeId, String threadPoolProfileId) {
+        Tags tags = Tags.of("name", id != null ? id : NONE,
+                "profile", threadPoolProfileId != null ? threadPoolProfileId : NONE,
+                "routeId", routeId != null ? routeId : NONE,
+                "instance", String.valueOf(instances.incrementAndGet()));
+        BoundThreadPool bound = new BoundThreadPool(tags);
+        threadPools.put(threadPool, bound);
+        if (registry != null) {
+            bound.meters.addAll(bindTo(registry, threadPool, tags));
+        }
+    }
+
+    @Override
+    public synchronized void onThreadPoolRemove(CamelContext camelContext, ThreadPoolExecutor threadPool) {
+        BoundThreadPool bound = threadPools.remove(threadPool);
+        if (bound != null && registry != null) {
+            // only the meters of this thread pool
+            bound.meters.forEach(registry::remove);
+        }
+    }
+
+    private static List<Meter> bindTo(MeterRegistry registry, ThreadPoolExecutor threadPool, Tags tags) {
+        List<Meter> meters = new ArrayList<>();
+        meters.add(Gauge.builder(METRIC_PREFIX + ".active", threadPool, ThreadPoolExecutor::getActiveCount)
+                .tags(tags)
+                .description("Threads actively executing tasks")
+                .register(registry));
+        meters.add(Gauge.builder(METRIC_PREFIX + ".pool.size", threadPool, ThreadPoolExecutor::getPoolSize)
+                .tags(tags)
+                .description("Threads in the pool")
+                .register(registry));
+        meters.add(Gauge.builder(METRIC_PREFIX + ".queued", threadPool, tp -> tp.getQueue().size())
+                .tags(tags)
+                .description("Tasks waiting in the queue")
+                .register(registry));
+        meters.add(Gauge.builder(METRIC_PREFIX + ".queue.remaining", threadPool, tp -> tp.getQueue().remainingCapacity())
+                .tags(tags)
+                .description("Remaining capacity of the queue")
+                .register(registry));
+        meters.add(Gauge.builder(METRIC_PREFIX + ".saturation", threadPool, ThreadPoolMetrics::saturation)
+                .tags(tags)
+                .description("Ratio of the running and queued tasks to the max pool size and queue capacity")
+                .register(registry));
+        meters.add(FunctionCounter.builder(METRIC_PREFIX + ".completed", threadPool, ThreadPoolExecutor::getCompletedTaskCount)
+                .tags(tags)
+                .description("Tasks completed")
+                .register(registry));
+
+        if (threadPool instanceof InstrumentedThreadPoolExecutor) {
+            InstrumentedThreadPoolExecutor instrumented = (InstrumentedThreadPoolExecutor) threadPool;
+            meters.add(FunctionCounter.builder(METRIC_PREFIX + ".rejected", instrumented, InstrumentedThreadPoolExecutor::getRejectedTaskCount)
+                    .tags(tags)
+                    .description("Tasks rejected")
+                    .register(registry));
+            meters.add(FunctionTimer.builder(METRIC_PREFIX + ".wait", instrumented,
+                    tp -> tp.getWaitTime().getCount(), tp -> tp.getWaitTime().getTotal(), TimeUnit.NANOSECONDS)
+                    .tags(tags)
+                    .description("Time the tasks waited in the queue")
+                    .register(registry));
+            meters.add(FunctionTimer.builder(METRIC_PREFIX + ".run", instrumented,
+                    tp -> tp.getRunTime().getCount(), tp -> tp.getRunTime().getTotal(), TimeUnit.NANOSECONDS)
+                    .tags(tags)
+                    .description("Time the tasks were running")
+                    .register(registry));
+        }
+
+        if (threadPool instanceof AdaptiveThreadPoolExecutor) {
+            AdaptiveThreadPoolExecutor adaptive = (AdaptiveThreadPoolExecutor) threadPool;
+            meters.add(Gauge.builder(METRIC_PREFIX + ".core.size", adaptive, ThreadPoolExecutor::getCorePoolSize)
+                    .tags(tags)
+                    .description("Core pool size chosen by the adaptive thread pool")
+                    .register(registry));
+            meters.add(FunctionCounter.builder(METRIC_PREFIX + ".adaptive.grown", adaptive, AdaptiveThreadPoolExecutor::getGrowCount)
+                    .tags(tags)
+                    .description("Times the adaptive thread pool has grown")
+                    .register(registry));
+            meters.add(FunctionCounter.builder(METRIC_PREFIX + ".adaptive.shrunk", adaptive, AdaptiveThreadPoolExecutor::getShrinkCount)
+                    .tags(tags)
+                    .description("Times the adaptive thread pool has shrunk")
+                    .register(registry));
+        }
+        return meters;
+    }
+
+    static double saturation(ThreadPoolExecutor threadPool) {
+        int queued = threadPool.getQueue().size();
+        long capacity = (long) threadPool.getMaximumPoolSize() + queued + threadPool.getQueue().remainingCapacity();
+        return capacity > 0 ? (double) (threadPool.getActiveCount() + queued) / capacity : 0;
+    }
+
+    private static final class BoundThreadPool {
+        private final Tags tags;
+        private final List<Meter> meters = new ArrayList<>();
+
+        private BoundThreadPool(Tags tags) {
+            this.tags = tags;
+        }
+    }
+}
@@ -16,10 +16,10 @@
  */
 package org.apache.camel.spring.boot.routetemplate;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.apache.camel.CamelContext;
-import org.apache.camel.main.PropertiesRouteTemplateParametersSource;
 import org.apache.camel.spi.RouteTemplateParameterSource;
 import org.apache.camel.spring.boot.CamelAutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -35,12 +35,12 @@ import org.springframework.context.annotation.Configuration;
 public class CamelRouteTemplateAutoConfiguration {
 
     @Bean
-    public RouteTemplateParameterSource routeTemplate(CamelContext camelContext, CamelRouteTemplateConfigurationProperties rt) {
+    public RouteTemplateInstances routeTemplate(CamelRouteTemplateConfigurationProperties rt) throws Exception {
+        RouteTemplateInstances instances = new RouteTemplateInstances();
         if (rt.getConfig() == null) {
-            return null;
+            return instances;
         }
 
-        PropertiesRouteTemplateParametersSource source = new PropertiesRouteTemplateParametersSource();
         int counter = 0;
         for (Map<String, String> e : rt.getConfig()) {
             String routeId = e.remove("routeId");
@@ -52,13 +52,18 @@ public class CamelRouteTemplateAutoConfiguration {
                 // use counter as route id since none was specified
                 counter++;
             }
-            for (Map.Entry<String, String> entry : e.entrySet()) {
-                source.addParameter(routeId, entry.getKey(), entry.getValue());
-            }
+            // the routes are created from the templates before camel is started
+            instances.addInstance(routeId, new LinkedHashMap<String, Object>(e));
         }
 
-        camelContext.getRegistry().bind("CamelSpringBootRouteTemplateParametersSource", RouteTemplateParameterSource.class, source);
+        return instances;
+    }
 
+    @Bean
+    public RouteTemplateParameterSource routeTemplateParameterSource(CamelContext camelContext, RouteTemplateInstances instances) {
+        // the routes are created by the route template instances, but keep the parameters source for compatibility
+        RouteTemplateParameterSource source = instances.asParameterSource();
+        camelContext.getRegistry().bind("CamelSpringBootRouteTemplateParametersSource", RouteTemplateParameterSource.class, source);
         return source;
     }
 
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.routetemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.model.ModelCamelContext;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.spi.RouteTemplateParameterSource;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+
+/**
+ * The routes created from route templates (camel.routetemplate.config).
+ * <p/>
+ * The routes are created from their templates before {@link CamelContext} is started, and routes can be added and
+ * removed at runtime, without affecting the other routes created from the templates. The time taken and (when
+ * supported by the JVM) the memory allocated to create each route is kept and reported.
+ * <p/>
+ * The routes are created when {@link CamelContextConfiguration#beforeApplicationStart(CamelContext)} is invoked (see
+ * {@link #ORDER}), so the other {@link CamelContextConfiguration}s (with the default order) see the routes created
+ * from route templates too, as they are invoked afterwards (the routes used to be created when {@link CamelContext}
+ * was started).
+ */
+public class RouteTemplateInstances implements CamelContextConfiguration, Ordered {
+
+    /**
+     * The order of creating the routes, before the bulkheads bind the routes to their thread pools.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private static final Logger LOG = LoggerFactory.getLogger(RouteTemplateInstances.class);
+
+    private final Map<String, RouteTemplateInstance> instances = new LinkedHashMap<>();
+    private volatile CamelContext camelContext;
+
+    /**
+     * Adds a route to be created from a route template. The parameters must include the id of the template
+     * (templateId). If {@link CamelContext} has already been started then the route is created (and started) now.
+     *
+     * @param routeId    the id of the route
+     * @param parameters the parameters of the route template
+     */
+    public synchronized void addInstance(String routeId, Map<String, Object> parameters) throws Exception {
+        Map<String, Object> map = new LinkedHashMap<>(parameters);
+        Object templateId = map.remove(RouteTemplateParameterSource.TEMPLATE_ID);
+        if (templateId == null) {
+            throw new IllegalArgumentException("Route template " + RouteTemplateParameterSource.TEMPLATE_ID
+                                               + " parameter is required for route: " + routeId);
+        }
+        if (instances.containsKey(routeId)) {
+            throw new IllegalArgumentException("Route " + routeId + " from route template already exists");
+        }
+
+        RouteTemplateInstance instance = new RouteTemplateInstance(routeId, templateId.toString(), map);
+        if (camelContext != null) {
+            createRoute(camelContext, instance);
+        }
+        instances.put(routeId, instance);
+    }
+
+    /**
+     * Removes (stops) a route which was created from a route template.
+     *
+     * @param  routeId the id of the route
+     * @return         <tt>true</tt> if the route was removed
+     */
+    public synchronized boolean removeInstance(String routeId) throws Exception {
+        RouteTemplateInstance instance = instances.remove(routeId);
+        if (instance == null) {
+            return false;
+        }
+        if (camelContext != null && instance.isCreated()) {
+            camelContext.getRouteController().stopRoute(routeId);
+            camelContext.removeRoute(routeId);
+            ModelCamelContext mcc = camelContext.adapt(ModelCamelContext.class);
+            RouteDefinition definition = mcc.getRouteDefinition(routeId);
+            if (definition != null) {
+                mcc.removeRouteDefinition(definition);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The routes as a {@link RouteTemplateParameterSource} (as bound in the registry before the routes were created by
+     * this), which lists the routes not created yet, so {@link CamelContext} does not create the routes again.
+     */
+    public RouteTemplateParameterSource asParameterSource() {
+        return new RouteTemplateParameterSource() {
+            @Override
+            public Map<String, Object> parameters(String routeId) {
+                RouteTemplateInstance instance;
+                synchronized (RouteTemplateInstances.this) {
+                    instance = instances.get(routeId);
+                }
+                if (instance == null) {
+                    return null;
+                }
+                Map<String, Object> answer = new LinkedHashMap<>(instance.getParameters());
+                answer.put(RouteTemplateParameterSource.TEMPLATE_ID, instance.getTemplateId());
+                return answer;
+            }
+
+            @Override
+            public Set<String> routeIds() {
+                Set<String> answer = new LinkedHashSet<>();
+                synchronized (RouteTemplateInstances.this) {
+                    instances.values().stream().filter(i -> !i.isCreated()).forEach(i -> answer.add(i.getRouteId()));
+                }
+                return answer;
+            }
+        };
+    }
+
+    /**
+     * The routes created (or to be created) from route templates, keyed by route id.
+     */
+    public synchronized Map<String, RouteTemplateInstance> getInstances() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(instances));
+    }
+
+    @Override
+    public synchronized void beforeApplicationStart(CamelContext camelContext) {
+        if (instances.isEmpty()) {
+            this.camelContext = camelContext;
+            return;
+        }
+
+        StopWatch watch = new StopWatch();
+        long allocated = 0;
+        for (RouteTemplateInstance instance : instances.values()) {
+            try {
+                createRoute(camelContext, instance);
+            } catch (Exception e) {
+                throw new IllegalStateException("Error creating route " + instance.getRouteId() + " from route template "
+                                                + instance.getTemplateId() + " due to " + e.getMessage(), e);
+            }
+            allocated += Math.max(0, instance.getAllocatedBytes());
+        }
+        this.camelContext = camelContext;
+
+        int size = instances.size();
+        if (allocated > 0) {
+            LOG.info("Created {} routes from route templates in {} (average {} ms and {} KB per route)", size,
+                    TimeUtils.printDuration(watch.taken()), watch.taken() / size, allocated / size / 1024);
+        } else {
+            LOG.info("Created {} routes from route templates in {} (average {} ms per route)", size,
+                    TimeUtils.printDuration(watch.taken()), watch.taken() / size);
+        }
+    }
+
+    @Override
+    public void afterApplicationStart(CamelContext camelContext) {
+        // noop
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private static void createRoute(CamelContext camelContext, RouteTemplateInstance instance) throws Exception {
+        long before = allocatedBytes();
+        StopWatch watch = new StopWatch();
+        camelContext.addRouteFromTemplate(instance.getRouteId(), instance.getTemplateId(), instance.getParameters());
+        long taken = watch.taken();
+        long after = allocatedBytes();
+        instance.created(taken, before >= 0 && after >= 0 ? after - before : -1);
+        LOG.debug("Created route {} from route template {} in {} ms", instance.getRouteId(), instance.getTemplateId(), taken);
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A route created from a route template.
+     */
+    public static final class RouteTemplateInstance {
+
+        private final String routeId;
+        private final String templateId;
+        private final Map<String, Object> parameters;
+        private volatile boolean created;
+        private volatile long creationTime;
+        private volatile long allocatedBytes = -1;
+
+        RouteTemplateInstance(String routeId, String templateId, Map<String, Object> parameters) {
+            this.routeId = routeId;
+            this.templateId = templateId;
+            this.parameters = parameters;
+        }
+
+        void created(long creationTime, long allocatedBytes) {
+            this.created = true;
+            this.creationTime = creationTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public String getTemplateId() {
+            return templateId;
+        }
+
+        public Map<String, Object> getParameters() {
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        /**
+         * Whether the route has been created.
+         */
+        public boolean isCreated() {
+            return created;
+        }
+
+        /**
+         * The time taken in millis to create the route.
+         */
+        public long getCreationTime() {
+            return creationTime;
+        }
+
+        /**
+         * The memory in bytes allocated when creating the route, or -1 if not supported by the JVM.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Route;
+import org.apache.camel.spi.RoutePolicy;
+import org.apache.camel.spi.RoutePolicyFactory;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.RoutePolicySupport;
+
+/**
+ * Keeps track of a sample of the inflight exchanges, with the route and node they are at, the time elapsed and the
+ * thread which started routing them, so stuck exchanges can be found while under load.
+ * <p/>
+ * One in every sampling rate exchanges (chosen at random) is tracked when it begins its first route, in a fixed number
+ * of slots which are allocated up front, so tracking an exchange does not allocate (other than an entry in a map keyed
+ * by exchange id, which marks the exchange while it is routed, instead of an exchange property which would be copied to
+ * the exchanges copied from it and be visible to the application). When all the slots are in use, then the exchange is
+ * not tracked. This must be added to the {@link CamelContext} before the routes are created.
+ */
+public class InflightExchangeSampler implements RoutePolicyFactory {
+
+    private final int samplingRate;
+    private final Slot[] slots;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    // exchange id -> the slot of a tracked exchange, or else the first route of the exchange
+    private final Map<String, Object> marks = new ConcurrentHashMap<>();
+
+    /**
+     * @param samplingRate one in every sampling rate exchanges is tracked (1 tracks all the exchanges)
+     * @param capacity     the maximum number of exchanges tracked at the same time
+     */
+    public InflightExchangeSampler(int samplingRate, int capacity) {
+        if (samplingRate < 1) {
+            throw new IllegalArgumentException("Sampling rate must be 1 or higher");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be 1 or higher");
+        }
+        this.samplingRate = samplingRate;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Number of exchanges which have been tracked.
+     */
+    public long getSampledCount() {
+        return sampled.sum();
+    }
+
+    /**
+     * Number of exchanges which have not been tracked, as all the slots were in use.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * A snapshot of the tracked inflight exchanges, sorted by the time elapsed (longest first).
+     *
+     * @param limit the maximum number of exchanges (the slowest), or 0 for all of them
+     */
+    public List<SampledInflightExchange> browse(int limit) {
+        long now = System.currentTimeMillis();
+        List<SampledInflightExchange> answer = new ArrayList<>();
+        for (Slot slot : slots) {
+            SampledInflightExchange snapshot = slot.snapshot(now);
+            if (snapshot != null) {
+                answer.add(snapshot);
+            }
+        }
+        answer.sort(Comparator.comparingLong(SampledInflightExchange::getElapsed).reversed());
+        return limit > 0 && answer.size() > limit ? new ArrayList<>(answer.subList(0, limit)) : answer;
+    }
+
+    @Override
+    public RoutePolicy createRoutePolicy(CamelContext camelContext, String routeId, NamedNode route) {
+        return new SamplingRoutePolicy();
+    }
+
+    private void begin(Route route, Exchange exchange) {
+        // exchanges are tracked from their first route only, so every exchange is marked on its first route, with its
+        // slot when it is tracked or else with the route (so it is not sampled again on the next routes)
+        String exchangeId = exchange.getExchangeId();
+        if (marks.containsKey(exchangeId)) {
+            return;
+        }
+        if (samplingRate > 1 && ThreadLocalRandom.current().nextInt(samplingRate) != 0) {
+            marks.put(exchangeId, route);
+            return;
+        }
+        int start = Math.floorMod(nextSlot.getAndIncrement(), slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[(start + i) % slots.length];
+            if (slot.acquire(route, exchange)) {
+                marks.put(exchangeId, slot);
+                sampled.increment();
+                return;
+            }
+        }
+        marks.put(exchangeId, route);
+        dropped.increment();
+    }
+
+    private void done(Route route, Exchange exchange) {
+        String exchangeId = exchange.getExchangeId();
+        Object slot = marks.get(exchangeId);
+        if (slot == route || (slot instanceof Slot && ((Slot) slot).release(route, exchange))) {
+            marks.remove(exchangeId, slot);
+        }
+    }
+
+    /**
+     * Number of exchanges which are routed (tracked or not) since they began their first route.
+     */
+    int getMarkedCount() {
+        return marks.size();
+    }
+
+    private final class SamplingRoutePolicy extends RoutePolicySupport {
+
+        @Override
+        public void onExchangeBegin(Route route, Exchange exchange) {
+            begin(route, exchange);
+        }
+
+        @Override
+        public void onExchangeDone(Route route, Exchange exchange) {
+            done(route, exchange);
+        }
+    }
+
+    private static final class Slot {
+
+        private final AtomicInteger inUse = new AtomicInteger();
+        private volatile Exchange exchange;
+        private volatile Route route;
+        private volatile Thread thread;
+        private volatile long startTime;
+
+        boolean acquire(Route route, Exchange exchange) {
+            if (inUse.get() != 0 || !inUse.compareAndSet(0, 1)) {
+                return false;
+            }
+            this.route = route;
+            this.thread = Thread.currentThread();
+            this.startTime = System.currentTimeMillis();
+            // set last as it marks the slot as ready to be read
+            this.exchange = exchange;
+            return true;
+        }
+
+        boolean release(Route route, Exchange exchange) {
+            if (this.exchange != exchange || this.route != route) {
+                return false;
+            }
+            this.exchange = null;
+            this.route = null;
+            this.thread = null;
+            inUse.set(0);
+            return true;
+        }
+
+        SampledInflightExchange snapshot(long now) {
+            Exchange current = exchange;
+            Route from = route;
+            Thread startedBy = thread;
+            long started = startTime;
+            if (current == null || from == null || startedBy == null) {
+                return null;
+            }
+            String atRouteId = null;
+            UnitOfWork uow = current.getUnitOfWork();
+            if (uow != null && uow.getRoute() != null) {
+                atRouteId = uow.getRoute().getRouteId();
+            }
+            String nodeId = current.adapt(ExtendedExchange.class).getHistoryNodeId();
+            return new SampledInflightExchange(current.getExchangeId(), from.getRouteId(), atRouteId, nodeId,
+                    Math.max(0, now - started), startedBy.getName(), startedBy.getState());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the exchanges processed by a route or a processor, recorded by the {@link RouteStatisticsCollector}.
+ */
+public class ProcessingStatistics {
+
+    private final String routeId;
+    private final String id;
+    private final LongAdder exchangesFailed = new LongAdder();
+    private final LongAdder exchangesInflight = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public ProcessingStatistics(String routeId, String id) {
+        this.routeId = routeId;
+        this.id = id;
+    }
+
+    void begin() {
+        exchangesInflight.increment();
+    }
+
+    void done(long nanos, boolean failed) {
+        exchangesInflight.decrement();
+        if (failed) {
+            exchangesFailed.increment();
+        }
+        latency.record(nanos);
+    }
+
+    /**
+     * The id of the route (of the processor).
+     */
+    public String getRouteId() {
+        return routeId;
+    }
+
+    /**
+     * The id of the route or processor.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Number of exchanges completed (including failed).
+     */
+    public long getExchangesTotal() {
+        return latency.getCount();
+    }
+
+    /**
+     * Number of exchanges failed.
+     */
+    public long getExchangesFailed() {
+        return exchangesFailed.sum();
+    }
+
+    /**
+     * Number of exchanges currently being processed.
+     */
+    public long getExchangesInflight() {
+        return exchangesInflight.sum();
+    }
+
+    /**
+     * The processing time of the exchanges.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.statistics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Statistics of the exchanges processed by a route, and by each of its processors.
+ */
+public class RouteStatistics extends ProcessingStatistics {
+
+    private final ConcurrentMap<String, ProcessingStatistics> processors = new ConcurrentHashMap<>();
+
+    public RouteStatistics(String routeId) {
+        super(routeId, routeId);
+    }
+
+    ProcessingStatistics getOrCreateProcessorStatistics(String processorId, Consumer<ProcessingStatistics> onCreated) {
+        ProcessingStatistics answer = processors.get(processorId);
+        if (answer == null) {
+            ProcessingStatistics created = new ProcessingStatistics(getId(), processorId);
+            answer = processors.putIfAbsent(processorId, created);
+            if (answer == null) {
+                answer = created;
+                onCreated.accept(created);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * The statistics of a processor of the route.
+     */
+    public ProcessingStatistics getProcessorStatistics(String processorId) {
+        return processors.get(processorId);
+    }
+
+    /**
+     * The statistics of the processors of the route.
+     */
+    public Collection<ProcessingStatistics> getProcessorStatistics() {
+        return Collections.unmodifiableCollection(processors.values());
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.statistics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.spi.RoutePolicy;
+import org.apache.camel.spi.RoutePolicyFactory;
+import org.apache.camel.support.RoutePolicySupport;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+
+/**
+ * Collects statistics of the exchanges processed by the routes and their processors, without JMX.
+ * <p/>
+ * The statistics are recorded using striped counters and {@link LatencyHistogram}s, using a {@link RoutePolicy} for
+ * the routes and an {@link InterceptStrategy} for the processors, so this must be added to the
+ * {@link CamelContext} before the routes are created.
+ */
+public class RouteStatisticsCollector implements RoutePolicyFactory, InterceptStrategy {
+
+    private static final String START_PROPERTY_PREFIX = "CamelRouteStatisticsStart-";
+
+    private final Map<String, RouteStatistics> routes = new ConcurrentHashMap<>();
+    private final List<Consumer<ProcessingStatistics>> statisticsListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<RouteStatistics>> removalListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The statistics of the given route, or <tt>null</tt> if the route is unknown.
+     */
+    public RouteStatistics getRouteStatistics(String routeId) {
+        return routes.get(routeId);
+    }
+
+    /**
+     * The statistics of all the routes.
+     */
+    public Collection<RouteStatistics> getRouteStatistics() {
+        return Collections.unmodifiableCollection(routes.values());
+    }
+
+    /**
+     * Adds a listener which is called for every new route or processor which statistics is recorded for.
+     */
+    public void addStatisticsListener(Consumer<ProcessingStatistics> listener) {
+        statisticsListeners.add(listener);
+    }
+
+    /**
+     * Adds a listener which is called for every route removed, which statistics is no longer recorded (including the
+     * statistics of its processors).
+     */
+    public void addRemovalListener(Consumer<RouteStatistics> listener) {
+        removalListeners.add(listener);
+    }
+
+    @Override
+    public RoutePolicy createRoutePolicy(CamelContext camelContext, String routeId, NamedNode route) {
+        return new StatisticsRoutePolicy(getOrCreateRouteStatistics(routeId));
+    }
+
+    @Override
+    public Processor wrapProcessorInInterceptors(CamelContext context, NamedNode definition, Processor target, Processor nextTarget) throws Exception {
+        String routeId = getRouteId(definition);
+        if (routeId == null) {
+            return target;
+        }
+        String processorId = definition.getId() != null ? definition.getId() : definition.getShortName();
+        ProcessingStatistics statistics = getOrCreateRouteStatistics(routeId).getOrCreateProcessorStatistics(processorId, this::onCreated);
+        return new StatisticsProcessor(target, statistics);
+    }
+
+    private RouteStatistics getOrCreateRouteStatistics(String routeId) {
+        RouteStatistics answer = routes.get(routeId);
+        if (answer == null) {
+            RouteStatistics created = new RouteStatistics(routeId);
+            answer = routes.putIfAbsent(routeId, created);
+            if (answer == null) {
+                answer = created;
+                onCreated(created);
+            }
+        }
+        return answer;
+    }
+
+    private void onCreated(ProcessingStatistics statistics) {
+        statisticsListeners.forEach(l -> l.accept(statistics));
+    }
+
+    private static String getRouteId(NamedNode definition) {
+        NamedNode node = definition;
+        while (node.getParent() != null) {
+            node = node.getParent();
+        }
+        return node != definition ? node.getId() : null;
+    }
+
+    private final class StatisticsRoutePolicy extends RoutePolicySupport {
+
+        private final RouteStatistics statistics;
+        private final String startProperty;
+
+        private StatisticsRoutePolicy(RouteStatistics statistics) {
+            this.statistics = statistics;
+            // a property per route as the exchange may be routed by several routes at the same time (such as direct)
+            this.startProperty = START_PROPERTY_PREFIX + statistics.getRouteId();
+        }
+
+        @Override
+        public void onExchangeBegin(Route route, Exchange exchange) {
+            statistics.begin();
+            exchange.setProperty(startProperty, System.nanoTime());
+        }
+
+        @Override
+        public void onExchangeDone(Route route, Exchange exchange) {
+            Object start = exchange.removeProperty(startProperty);
+            if (start instanceof Long) {
+                statistics.done(System.nanoTime() - (Long) start, exchange.isFailed());
+            }
+        }
+
+        @Override
+        public void onRemove(Route route) {
+            if (routes.remove(route.getId(), statistics)) {
+                removalListeners.forEach(l -> l.accept(statistics));
+            }
+        }
+    }
+
+    private static final class StatisticsProcessor extends DelegateAsyncProcessor {
+
+        private final ProcessingStatistics statistics;
+
+        private StatisticsProcessor(Processor processor, ProcessingStatistics statistics) {
+            super(processor);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public boolean process(Exchange exchange, AsyncCallback callback) {
+            long start = System.nanoTime();
+            statistics.begin();
+            return processor.process(exchange, doneSync -> {
+                statistics.done(System.nanoTime() - start, exchange.getException() != null);
+                callback.done(doneSync);
+            });
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics[" + processor + "]";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.statistics;
+
+/**
+ * A snapshot of an inflight exchange tracked by the {@link InflightExchangeSampler}.
+ */
+public final class SampledInflightExchange {
+
+    private final String exchangeId;
+    private final String fromRouteId;
+    private final String atRouteId;
+    private final String nodeId;
+    private final long elapsed;
+    private final String threadName;
+    private final Thread.State threadState;
+
+    SampledInflightExchange(String exchangeId, String fromRouteId, String atRouteId, String nodeId, long elapsed,
+                            String threadName, Thread.State threadState) {
+        this.exchangeId = exchangeId;
+        this.fromRouteId = fromRouteId;
+        this.atRouteId = atRouteId;
+        this.nodeId = nodeId;
+        this.elapsed = elapsed;
+        this.threadName = threadName;
+        this.threadState = threadState;
+    }
+
+    public String getExchangeId() {
+        return exchangeId;
+    }
+
+    /**
+     * The route which the exchange began.
+     */
+    public String getFromRouteId() {
+        return fromRouteId;
+    }
+
+    /**
+     * The route the exchange is currently at.
+     */
+    public String getAtRouteId() {
+        return atRouteId;
+    }
+
+    /**
+     * The node the exchange is currently at (or last was at), when Camel keeps track of the node history of the
+     * exchanges (such as when message history is enabled).
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Time elapsed in millis since the exchange began.
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * The name of the thread which began routing the exchange.
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * The current state of the thread which began routing the exchange.
+     */
+    public Thread.State getThreadState() {
+        return threadState;
+    }
+
+    @Override
+    public String toString() {
+        return exchangeId + "@" + atRouteId + "/" + nodeId + " (" + elapsed + " ms)";
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A thread pool which resizes its core pool size, between the initial core pool size and the maximum pool size, on
+ * a control loop using the observed wait time of the tasks in the queue, the run time of the tasks and the CPU load
+ * of the process.
+ * <p/>
+ * The pool grows when the tasks wait longer than the target wait time (unless the CPU load is above the max CPU
+ * load), and shrinks when the tasks wait less than half the target wait time. The number of threads needed is
+ * estimated from the throughput and run time of the tasks (Little's law).
+ */
+public class AdaptiveThreadPoolExecutor extends InstrumentedThreadPoolExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveThreadPoolExecutor.class);
+
+    // extra threads on top of the estimated threads needed
+    private static final double HEADROOM = 1.25;
+
+    private final String id;
+    private final int minPoolSize;
+    private final long targetWaitNanos;
+    private final double maxCpuLoad;
+    private final LongAdder grown = new LongAdder();
+    private final LongAdder shrunk = new LongAdder();
+    private volatile ScheduledFuture<?> task;
+    private volatile Decision lastDecision = Decision.HOLD;
+
+    private long lastTick = System.nanoTime();
+    private long lastWaitCount;
+    private long lastWaitTotal;
+    private long lastRunCount;
+    private long lastRunTotal;
+
+    /**
+     * @param id              the id of the thread pool profile
+     * @param minPoolSize     the minimum (and initial) core pool size
+     * @param maxPoolSize     the maximum core and maximum pool size
+     * @param keepAliveTime   the keep alive time of idle threads
+     * @param unit            the time unit of the keep alive time
+     * @param workQueue       the work queue
+     * @param targetWaitTime  the target time the tasks wait in the queue (millis)
+     * @param maxCpuLoad      the CPU load of the process (0 to 1) above which the pool does not grow
+     */
+    public AdaptiveThreadPoolExecutor(String id, int minPoolSize, int maxPoolSize, long keepAliveTime, TimeUnit unit,
+                                      BlockingQueue<Runnable> workQueue, long targetWaitTime, double maxCpuLoad) {
+        super(minPoolSize, maxPoolSize, keepAliveTime, unit, workQueue);
+        this.id = id;
+        this.minPoolSize = minPoolSize;
+        this.targetWaitNanos = TimeUnit.MILLISECONDS.toNanos(targetWaitTime);
+        this.maxCpuLoad = maxCpuLoad;
+    }
+
+    /**
+     * Creates an adaptive copy of the given thread pool, which must not have been used, as the copy takes over its
+     * work queue.
+     */
+    public static AdaptiveThreadPoolExecutor copyOf(String id, ThreadPoolExecutor executor, long targetWaitTime, double maxCpuLoad) {
+        return copySettings(executor, new AdaptiveThreadPoolExecutor(id, executor.getCorePoolSize(), executor.getMaximumPoolSize(),
+                executor.getKeepAliveTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS, executor.getQueue(), targetWaitTime, maxCpuLoad));
+    }
+
+    /**
+     * Starts the control loop which adjusts the pool size at the given interval (millis), on the given controller.
+     */
+    public void startControlLoop(ScheduledExecutorService controller, long interval) {
+        task = controller.scheduleWithFixedDelay(this::adjust, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void terminated() {
+        super.terminated();
+        ScheduledFuture<?> current = task;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+
+    void adjust() {
+        try {
+            adjust(getProcessCpuLoad());
+        } catch (Exception e) {
+            LOG.warn("Error adjusting adaptive thread pool: " + id + " due to: " + e.getMessage() + ". This exception is ignored.", e);
+        }
+    }
+
+    /**
+     * Adjusts the core pool size from the tasks since the last adjustment.
+     *
+     * @param  cpuLoad the CPU load of the process (0 to 1), or a negative value if not known
+     * @return         the decision
+     */
+    synchronized Decision adjust(double cpuLoad) {
+        long now = System.nanoTime();
+        long waitCount = getWaitTime().getCount();
+        long waitTotal = getWaitTime().getTotal();
+        long runCount = getRunTime().getCount();
+        long runTotal = getRunTime().getTotal();
+
+        long waited = waitCount - lastWaitCount;
+        long runs = runCount - lastRunCount;
+        double meanWait = waited > 0 ? (double) (waitTotal - lastWaitTotal) / waited : 0;
+        double meanRun = runs > 0 ? (double) (runTotal - lastRunTotal) / runs : 0;
+        double elapsed = Math.max(1, now - lastTick);
+
+        lastTick = now;
+        lastWaitCount = waitCount;
+        lastWaitTotal = waitTotal;
+        lastRunCount = runCount;
+        lastRunTotal = runTotal;
+
+        int core = getCorePoolSize();
+        // the threads busy on average to keep up with the throughput (Little's law)
+        int needed = (int) Math.ceil(runs / elapsed * meanRun * HEADROOM);
+        // tasks which are still waiting in the queue have not been recorded yet
+        boolean waiting = meanWait > targetWaitNanos || (waited == 0 && !getQueue().isEmpty());
+
+        int target = core;
+        if (waiting) {
+            if (cpuLoad < 0 || cpuLoad < maxCpuLoad) {
+                target = Math.max(core + 1, needed);
+            }
+        } else if (meanWait <= targetWaitNanos / 2.0) {
+            target = Math.min(core, Math.max(needed, core - Math.max(1, core / 4)));
+        }
+        target = Math.max(minPoolSize, Math.min(getMaximumPoolSize(), target));
+
+        Decision decision = Decision.HOLD;
+        if (target > core) {
+            decision = Decision.GROW;
+            grown.increment();
+        } else if (target < core) {
+            decision = Decision.SHRINK;
+            shrunk.increment();
+        }
+        if (decision != Decision.HOLD) {
+            setCorePoolSize(target);
+            LOG.debug("Adaptive thread pool: {} {} core pool size {} -> {} (mean wait: {} ms, mean run: {} ms, cpu load: {})",
+                    id, decision, core, target, meanWait / 1e6, meanRun / 1e6, cpuLoad);
+        }
+        lastDecision = decision;
+        return decision;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    /**
+     * Number of times the pool has grown.
+     */
+    public long getGrowCount() {
+        return grown.sum();
+    }
+
+    /**
+     * Number of times the pool has shrunk.
+     */
+    public long getShrinkCount() {
+        return shrunk.sum();
+    }
+
+    /**
+     * The decision of the last adjustment.
+     */
+    public Decision getLastDecision() {
+        return lastDecision;
+    }
+
+    private static double getProcessCpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuLoad();
+        }
+        return -1;
+    }
+
+    /**
+     * The decision of an adjustment of the pool size.
+     */
+    public enum Decision {
+        GROW,
+        SHRINK,
+        HOLD
+    }
+}
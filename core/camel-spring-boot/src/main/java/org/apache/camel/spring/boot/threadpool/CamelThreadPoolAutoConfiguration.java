@@ -20,6 +20,8 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.builder.ThreadPoolProfileBuilder;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -32,6 +34,8 @@ import org.springframework.context.annotation.Configuration;
 @AutoConfigureAfter(CamelAutoConfiguration.class)
 public class CamelThreadPoolAutoConfiguration {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CamelThreadPoolAutoConfiguration.class);
+
     @Bean
     public ThreadPoolProfile threadPool(CamelContext camelContext, CamelThreadPoolConfigurationProperties tp) {
         if (tp.isEmpty()) {
@@ -56,7 +60,17 @@ public class CamelThreadPoolAutoConfiguration {
                     .maxQueueSize(v.getMaxQueueSize())
                     .allowCoreThreadTimeOut(v.getAllowCoreThreadTimeOut())
                     .rejectedPolicy(v.getRejectedPolicy()).build();
-            if (!tpp.isEmpty()) {
+            if (v.getKind() == ThreadPoolKind.VIRTUAL || v.getKind() == ThreadPoolKind.ADAPTIVE) {
+                CamelThreadPoolFactory factory = CamelThreadPoolFactory.install(camelContext);
+                if (factory == null) {
+                    LOG.warn("Cannot use {} thread pool profile: {} as a custom thread pool factory is in use", v.getKind(), k);
+                } else if (v.getKind() == ThreadPoolKind.VIRTUAL) {
+                    factory.addVirtualProfile(k, v.getMaxConcurrency());
+                } else {
+                    factory.addAdaptiveProfile(k, v.getTargetWaitTime(), v.getMaxCpuLoad(), v.getAdjustInterval());
+                }
+                camelContext.getExecutorServiceManager().registerThreadPoolProfile(tpp);
+            } else if (!tpp.isEmpty()) {
                 camelContext.getExecutorServiceManager().registerThreadPoolProfile(tpp);
             }
         });
@@ -70,4 +84,9 @@ public class CamelThreadPoolAutoConfiguration {
         return dp;
     }
 
+    @Bean
+    public RouteBulkheads routeBulkheads(CamelThreadPoolConfigurationProperties tp) {
+        return new RouteBulkheads(tp.getBulkhead());
+    }
+
 }
@@ -17,6 +17,7 @@
 package org.apache.camel.spring.boot.threadpool;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -68,6 +69,21 @@ public class CamelThreadPoolConfigurationProperties {
      */
     private Map<String, ThreadPoolProfileConfigurationProperties> config = new HashMap<>();
 
+    /**
+     * Whether to bind the thread pools created by Camel to Micrometer (when Micrometer is on the classpath).
+     * The thread pools created from thread pool profiles are then also instrumented to record the time the tasks
+     * wait and run, and the number of rejected tasks.
+     */
+    private boolean metricsEnabled;
+
+    /**
+     * Adds a bulkhead which binds the routes of a route group (or which route id matches a pattern) to a dedicated
+     * thread pool. The parallel EIPs of these routes which have no thread pool configured then use the thread pool
+     * of the bulkhead, instead of creating thread pools from the default profile. A route is bound to the first
+     * bulkhead it matches.
+     */
+    private Map<String, BulkheadConfigurationProperties> bulkhead = new LinkedHashMap<>();
+
     public Integer getPoolSize() {
         return poolSize;
     }
@@ -132,6 +148,22 @@ public class CamelThreadPoolConfigurationProperties {
         this.config = config;
     }
 
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public Map<String, BulkheadConfigurationProperties> getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(Map<String, BulkheadConfigurationProperties> bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
     public boolean isEmpty() {
         return poolSize == null && maxPoolSize == null && keepAliveTime == null && timeUnit == null
                 && maxQueueSize == null && allowCoreThreadTimeOut == null && rejectedPolicy == null
@@ -183,6 +215,37 @@ public class CamelThreadPoolConfigurationProperties {
          */
         private ThreadPoolRejectedPolicy rejectedPolicy;
 
+        /**
+         * Sets the kind of thread pool. A virtual thread pool starts a new virtual thread per task (requires Java 21
+         * or newer, otherwise a platform thread pool is used), which suits tasks that block on I/O such as HTTP or
+         * JDBC calls. The pool size and max pool size do not apply to virtual thread pools, and the max queue size and
+         * rejected policy apply to the tasks waiting for the max concurrency limit.
+         */
+        private ThreadPoolKind kind = ThreadPoolKind.PLATFORM;
+
+        /**
+         * Sets the maximum number of tasks running concurrently in a virtual thread pool (the other tasks wait in
+         * their virtual thread, up to the max queue size). Use 0 for no limit.
+         */
+        private int maxConcurrency;
+
+        /**
+         * Sets the target time (millis) the tasks wait in the queue of an adaptive thread pool. The core pool size
+         * grows (up to the max pool size) when the tasks wait longer, and shrinks (down to the pool size) when the
+         * tasks wait less than half of it.
+         */
+        private long targetWaitTime = 100;
+
+        /**
+         * Sets the CPU load of the process (0 to 1) above which an adaptive thread pool does not grow.
+         */
+        private double maxCpuLoad = 0.8;
+
+        /**
+         * Sets the interval (millis) at which an adaptive thread pool adjusts its core pool size.
+         */
+        private long adjustInterval = 5000;
+
         public String getId() {
             return id;
         }
@@ -247,7 +310,91 @@ public class CamelThreadPoolConfigurationProperties {
             this.rejectedPolicy = rejectedPolicy;
         }
 
+        public ThreadPoolKind getKind() {
+            return kind;
+        }
+
+        public void setKind(ThreadPoolKind kind) {
+            this.kind = kind;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public long getTargetWaitTime() {
+            return targetWaitTime;
+        }
+
+        public void setTargetWaitTime(long targetWaitTime) {
+            this.targetWaitTime = targetWaitTime;
+        }
+
+        public double getMaxCpuLoad() {
+            return maxCpuLoad;
+        }
+
+        public void setMaxCpuLoad(double maxCpuLoad) {
+            this.maxCpuLoad = maxCpuLoad;
+        }
+
+        public long getAdjustInterval() {
+            return adjustInterval;
+        }
+
+        public void setAdjustInterval(long adjustInterval) {
+            this.adjustInterval = adjustInterval;
+        }
+
     }
-}
 
+    @ConfigurationProperties(prefix = "camel.threadpool.bulkhead")
+    public static class BulkheadConfigurationProperties {
+
+        /**
+         * Sets the route group of the routes bound to this bulkhead
+         */
+        private String routeGroup;
+
+        /**
+         * Sets the pattern of the route ids of the routes bound to this bulkhead. The pattern can be an exact id,
+         * a wildcard (such as order*) or a regular expression.
+         */
+        private String routeIdPattern;
+
+        /**
+         * Sets the id of the thread pool profile (camel.threadpool.config) of the thread pool of this bulkhead, which
+         * decides its pool size, queue size and rejected policy. Defaults to the name of the bulkhead.
+         */
+        private String threadPoolProfile;
+
+        public String getRouteGroup() {
+            return routeGroup;
+        }
+
+        public void setRouteGroup(String routeGroup) {
+            this.routeGroup = routeGroup;
+        }
+
+        public String getRouteIdPattern() {
+            return routeIdPattern;
+        }
+
+        public void setRouteIdPattern(String routeIdPattern) {
+            this.routeIdPattern = routeIdPattern;
+        }
+
+        public String getThreadPoolProfile() {
+            return threadPoolProfile;
+        }
 
+        public void setThreadPoolProfile(String threadPoolProfile) {
+            this.threadPoolProfile = threadPoolProfile;
+        }
+
+    }
+}
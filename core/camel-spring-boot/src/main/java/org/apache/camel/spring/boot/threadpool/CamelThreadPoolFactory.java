@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.spi.ExecutorServiceManager;
+import org.apache.camel.spi.ThreadPoolFactory;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.DefaultThreadPoolFactory;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The thread pool factory of Camel Spring Boot, which creates the thread pools of the thread pool profiles
+ * depending on the kind of the profile (see {@link ThreadPoolKind}), and optionally as
+ * {@link InstrumentedThreadPoolExecutor}s so the time the tasks wait and run, and the rejected tasks, can be bound
+ * to metrics.
+ */
+public class CamelThreadPoolFactory extends DefaultThreadPoolFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CamelThreadPoolFactory.class);
+
+    private final Map<String, Integer> virtualProfiles = new ConcurrentHashMap<>();
+    private final Map<String, AdaptiveSettings> adaptiveProfiles = new ConcurrentHashMap<>();
+    private volatile boolean instrumented;
+    private ScheduledExecutorService controller;
+
+    /**
+     * Gets the {@link CamelThreadPoolFactory} of the given {@link CamelContext}, installing it if Camel uses its
+     * default thread pool factory.
+     *
+     * @return the factory, or <tt>null</tt> if a custom thread pool factory is in use
+     */
+    public static synchronized CamelThreadPoolFactory install(CamelContext camelContext) {
+        ExecutorServiceManager manager = camelContext.getExecutorServiceManager();
+        ThreadPoolFactory current = manager.getThreadPoolFactory();
+        if (current instanceof CamelThreadPoolFactory) {
+            return (CamelThreadPoolFactory) current;
+        }
+        if (current != null && current.getClass() != DefaultThreadPoolFactory.class) {
+            LOG.debug("Custom thread pool factory {} in use", current);
+            return null;
+        }
+        CamelThreadPoolFactory answer = new CamelThreadPoolFactory();
+        CamelContextAware.trySetCamelContext(answer, camelContext);
+        manager.setThreadPoolFactory(answer);
+        return answer;
+    }
+
+    public boolean isInstrumented() {
+        return instrumented;
+    }
+
+    /**
+     * Whether to create the thread pools as {@link InstrumentedThreadPoolExecutor}s.
+     */
+    public void setInstrumented(boolean instrumented) {
+        this.instrumented = instrumented;
+    }
+
+    /**
+     * Creates the thread pools of the given profile with a virtual thread per task.
+     *
+     * @param profileId      the id of the thread pool profile
+     * @param maxConcurrency the maximum number of tasks running concurrently, or 0 for no limit
+     */
+    public void addVirtualProfile(String profileId, int maxConcurrency) {
+        virtualProfiles.put(profileId, maxConcurrency);
+    }
+
+    public boolean isVirtualProfile(String profileId) {
+        return profileId != null && virtualProfiles.containsKey(profileId);
+    }
+
+    /**
+     * Creates the thread pools of the given profile as {@link AdaptiveThreadPoolExecutor}s, which resize between the
+     * pool size and max pool size of the profile.
+     *
+     * @param profileId      the id of the thread pool profile
+     * @param targetWaitTime the target time the tasks wait in the queue (millis)
+     * @param maxCpuLoad     the CPU load of the process (0 to 1) above which the pool does not grow
+     * @param interval       the interval of the adjustments (millis)
+     */
+    public void addAdaptiveProfile(String profileId, long targetWaitTime, double maxCpuLoad, long interval) {
+        adaptiveProfiles.put(profileId, new AdaptiveSettings(targetWaitTime, maxCpuLoad, interval));
+    }
+
+    public boolean isAdaptiveProfile(String profileId) {
+        return profileId != null && adaptiveProfiles.containsKey(profileId);
+    }
+
+    @Override
+    public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        Integer maxConcurrency = profile.getId() != null ? virtualProfiles.get(profile.getId()) : null;
+        if (maxConcurrency != null) {
+            if (VirtualThreads.isSupported()) {
+                ThreadFactory virtual = VirtualThreads.newThreadFactory("Camel (virtual) " + profile.getId() + " #");
+                int maxQueueSize = profile.getMaxQueueSize() != null ? profile.getMaxQueueSize() : -1;
+                return new VirtualThreadExecutorService(profile.getId(), VirtualThreads.newThreadPerTaskExecutor(virtual),
+                        maxConcurrency, maxQueueSize, profile.getRejectedPolicy());
+            }
+            LOG.warn("Virtual threads are not supported by Java {}, using a thread pool for thread pool profile: {}",
+                    System.getProperty("java.version"), profile.getId());
+        }
+
+        ExecutorService answer = super.newThreadPool(profile, factory);
+        AdaptiveSettings adaptive = profile.getId() != null ? adaptiveProfiles.get(profile.getId()) : null;
+        if (adaptive != null && answer instanceof ThreadPoolExecutor && !(answer instanceof ScheduledExecutorService)) {
+            ThreadPoolExecutor executor = (ThreadPoolExecutor) answer;
+            AdaptiveThreadPoolExecutor adaptiveExecutor = AdaptiveThreadPoolExecutor.copyOf(profile.getId(), executor,
+                    adaptive.targetWaitTime, adaptive.maxCpuLoad);
+            executor.shutdown();
+            adaptiveExecutor.startControlLoop(getController(), adaptive.interval);
+            return adaptiveExecutor;
+        }
+        if (instrumented && answer instanceof ThreadPoolExecutor && !(answer instanceof ScheduledExecutorService)
+                && !(answer instanceof InstrumentedThreadPoolExecutor)) {
+            // the thread pool has not been used, so take over its (validated) settings and work queue
+            ThreadPoolExecutor executor = (ThreadPoolExecutor) answer;
+            answer = InstrumentedThreadPoolExecutor.copyOf(executor);
+            executor.shutdown();
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the scheduler of the control loops of the adaptive thread pools, which is created from the
+     * {@link ExecutorServiceManager} of the {@link CamelContext}, so it is shut down when the context is stopped (and
+     * created again if the context is started again).
+     */
+    private synchronized ScheduledExecutorService getController() {
+        if (controller == null || controller.isShutdown()) {
+            CamelContext camelContext = ObjectHelper.notNull(getCamelContext(), "CamelContext");
+            controller = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "AdaptiveThreadPoolController");
+        }
+        return controller;
+    }
+
+    private static final class AdaptiveSettings {
+
+        private final long targetWaitTime;
+        private final double maxCpuLoad;
+        private final long interval;
+
+        private AdaptiveSettings(long targetWaitTime, double maxCpuLoad, long interval) {
+            this.targetWaitTime = targetWaitTime;
+            this.maxCpuLoad = maxCpuLoad;
+            this.interval = interval;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.spring.boot.statistics.LatencyHistogram;
+import org.apache.camel.util.concurrent.Rejectable;
+import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
+
+/**
+ * A {@link RejectableThreadPoolExecutor} which records the time the tasks wait in the queue, the time the tasks
+ * run, and the number of rejected tasks.
+ */
+public class InstrumentedThreadPoolExecutor extends RejectableThreadPoolExecutor {
+
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+
+    public InstrumentedThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                          BlockingQueue<Runnable> workQueue) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue);
+    }
+
+    /**
+     * Creates an instrumented copy of the given thread pool, which must not have been used, as the copy takes over
+     * its work queue.
+     */
+    public static InstrumentedThreadPoolExecutor copyOf(ThreadPoolExecutor executor) {
+        return copySettings(executor, new InstrumentedThreadPoolExecutor(executor.getCorePoolSize(),
+                executor.getMaximumPoolSize(), executor.getKeepAliveTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS,
+                executor.getQueue()));
+    }
+
+    /**
+     * Copies the thread factory, core thread timeout and rejected execution handler of a thread pool.
+     */
+    protected static <T extends ThreadPoolExecutor> T copySettings(ThreadPoolExecutor from, T to) {
+        to.setThreadFactory(from.getThreadFactory());
+        to.allowCoreThreadTimeOut(from.allowsCoreThreadTimeOut());
+        to.setRejectedExecutionHandler(from.getRejectedExecutionHandler());
+        return to;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(command instanceof Rejectable ? new RejectableTimedTask(command) : new TimedTask(command));
+    }
+
+    @Override
+    public void setRejectedExecutionHandler(RejectedExecutionHandler handler) {
+        if (handler instanceof CountingRejectedExecutionHandler) {
+            super.setRejectedExecutionHandler(handler);
+        } else {
+            super.setRejectedExecutionHandler(new CountingRejectedExecutionHandler(handler));
+        }
+    }
+
+    /**
+     * Number of tasks rejected.
+     */
+    public long getRejectedTaskCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * The time the tasks have waited in the queue before running.
+     */
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    /**
+     * The time the tasks have been running.
+     */
+    public LatencyHistogram getRunTime() {
+        return runTime;
+    }
+
+    private class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long submitted = System.nanoTime();
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            waitTime.record(start - submitted);
+            try {
+                task.run();
+            } finally {
+                runTime.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
+    private final class RejectableTimedTask extends TimedTask implements Rejectable {
+
+        private final Rejectable rejectable;
+
+        RejectableTimedTask(Runnable task) {
+            super(task);
+            this.rejectable = (Rejectable) task;
+        }
+
+        @Override
+        public void reject() {
+            rejectable.reject();
+        }
+    }
+
+    private final class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler delegate;
+
+        CountingRejectedExecutionHandler(RejectedExecutionHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejected.increment();
+            if (delegate != null) {
+                delegate.rejectedExecution(r, executor);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.model.ExecutorServiceAwareDefinition;
+import org.apache.camel.model.Model;
+import org.apache.camel.model.MulticastDefinition;
+import org.apache.camel.model.ProcessorDefinitionHelper;
+import org.apache.camel.model.RecipientListDefinition;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.SplitDefinition;
+import org.apache.camel.model.ThreadsDefinition;
+import org.apache.camel.model.WireTapDefinition;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.apache.camel.spring.boot.threadpool.CamelThreadPoolConfigurationProperties.BulkheadConfigurationProperties;
+import org.apache.camel.support.CamelContextHelper;
+import org.apache.camel.support.PatternHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+
+/**
+ * The bulkheads (camel.threadpool.bulkhead) which bind route groups, or routes which id matches a pattern, to a
+ * dedicated thread pool.
+ * <p/>
+ * Before {@link CamelContext} is started, the parallel EIPs (threads, wire tap, and multicast, split and recipient
+ * list with parallel processing) of the routes bound to a bulkhead, which have no thread pool configured, are set to
+ * use the thread pool of the bulkhead. The thread pool is created once per bulkhead from its thread pool profile, and
+ * bound in the registry as <tt>bulkhead-</tt> + name of the bulkhead, so one route group cannot starve the thread
+ * pools of the other routes. The thread pool is created by the {@link org.apache.camel.spi.ExecutorServiceManager},
+ * so it is shutdown with {@link CamelContext} and its metrics are tagged with the name of the bulkhead.
+ * <p/>
+ * The bulkheads are the last {@link CamelContextConfiguration} invoked, so the routes created from route templates
+ * are bound to the bulkheads too.
+ */
+public class RouteBulkheads implements CamelContextConfiguration, Ordered {
+
+    public static final String BULKHEAD_PREFIX = "bulkhead-";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RouteBulkheads.class);
+
+    private final Map<String, BulkheadConfigurationProperties> bulkheads;
+    private final Map<String, List<String>> routes = new LinkedHashMap<>();
+
+    public RouteBulkheads(Map<String, BulkheadConfigurationProperties> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public void beforeApplicationStart(CamelContext camelContext) {
+        if (bulkheads.isEmpty()) {
+            return;
+        }
+
+        Model model = camelContext.getExtension(Model.class);
+        Set<RouteDefinition> bound = new HashSet<>();
+        bulkheads.forEach((name, bulkhead) -> {
+            if (bulkhead.getRouteGroup() == null && bulkhead.getRouteIdPattern() == null) {
+                LOG.warn("Ignoring bulkhead: {} as it has neither a route group nor a route id pattern", name);
+                return;
+            }
+            String ref = BULKHEAD_PREFIX + name;
+            List<String> routeIds = new ArrayList<>();
+            int eips = 0;
+            for (RouteDefinition route : model.getRouteDefinitions()) {
+                if (bound.contains(route) || !matches(route, bulkhead)) {
+                    continue;
+                }
+                bound.add(route);
+                routeIds.add(route.getRouteId());
+                for (ExecutorServiceAwareDefinition<?> eip : findParallelEips(camelContext, route)) {
+                    if (eips == 0) {
+                        createThreadPool(camelContext, name, ref, bulkhead);
+                    }
+                    eip.executorServiceRef(ref);
+                    eips++;
+                }
+            }
+            routes.put(name, Collections.unmodifiableList(routeIds));
+            LOG.info("Bulkhead: {} bound to {} routes with {} parallel EIPs", name, routeIds.size(), eips);
+        });
+    }
+
+    @Override
+    public void afterApplicationStart(CamelContext camelContext) {
+        // noop
+    }
+
+    @Override
+    public int getOrder() {
+        // after the routes have been created from route templates
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * The ids of the routes bound to each bulkhead.
+     */
+    public Map<String, List<String>> getRoutes() {
+        return Collections.unmodifiableMap(routes);
+    }
+
+    private static boolean matches(RouteDefinition route, BulkheadConfigurationProperties bulkhead) {
+        if (bulkhead.getRouteGroup() != null && bulkhead.getRouteGroup().equals(route.getGroup())) {
+            return true;
+        }
+        String routeId = route.getRouteId();
+        return bulkhead.getRouteIdPattern() != null && routeId != null
+                && PatternHelper.matchPattern(routeId, bulkhead.getRouteIdPattern());
+    }
+
+    private static List<ExecutorServiceAwareDefinition<?>> findParallelEips(CamelContext camelContext, RouteDefinition route) {
+        List<ExecutorServiceAwareDefinition<?>> answer = new ArrayList<>();
+        for (ExecutorServiceAwareDefinition<?> eip
+                : ProcessorDefinitionHelper.filterTypeInOutputs(route.getOutputs(), ExecutorServiceAwareDefinition.class)) {
+            // keep the thread pools configured in the routes
+            if (eip.getExecutorServiceBean() != null || eip.getExecutorServiceRef() != null
+                    || eip instanceof ThreadsDefinition && hasThreadPoolOptions((ThreadsDefinition) eip)) {
+                continue;
+            }
+            // a thread pool turns on parallel processing, so only bind the EIPs which are parallel already
+            if (eip instanceof ThreadsDefinition || eip instanceof WireTapDefinition
+                    || eip instanceof MulticastDefinition && isParallel(camelContext, ((MulticastDefinition) eip).getParallelProcessing())
+                    || eip instanceof SplitDefinition && isParallel(camelContext, ((SplitDefinition) eip).getParallelProcessing())
+                    || eip instanceof RecipientListDefinition && isParallel(camelContext, ((RecipientListDefinition<?>) eip).getParallelProcessing())) {
+                answer.add(eip);
+            }
+        }
+        return answer;
+    }
+
+    private static boolean hasThreadPoolOptions(ThreadsDefinition threads) {
+        // these options create a thread pool, and cannot be used with a thread pool reference
+        return threads.getPoolSize() != null || threads.getMaxPoolSize() != null || threads.getKeepAliveTime() != null
+                || threads.getTimeUnit() != null || threads.getMaxQueueSize() != null || threads.getRejectedPolicy() != null
+                || threads.getAllowCoreThreadTimeOut() != null || threads.getThreadName() != null;
+    }
+
+    private static boolean isParallel(CamelContext camelContext, String parallelProcessing) {
+        if (parallelProcessing == null) {
+            return false;
+        }
+        Boolean parallel = CamelContextHelper.parseBoolean(camelContext, parallelProcessing);
+        return parallel != null && parallel;
+    }
+
+    private static void createThreadPool(CamelContext camelContext, String name, String ref, BulkheadConfigurationProperties bulkhead) {
+        String profileId = bulkhead.getThreadPoolProfile() != null ? bulkhead.getThreadPoolProfile() : name;
+        if (camelContext.getExecutorServiceManager().getThreadPoolProfile(profileId) == null) {
+            throw new IllegalArgumentException("Thread pool profile: " + profileId + " of bulkhead: " + name + " not found");
+        }
+        ExecutorService executorService = camelContext.getExecutorServiceManager().newThreadPool(ref, "Bulkhead " + name, profileId);
+        camelContext.getRegistry().bind(ref, ExecutorService.class, executorService);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+/**
+ * The kinds of thread pool profiles.
+ */
+public enum ThreadPoolKind {
+
+    /**
+     * A thread pool of platform threads, sized by pool size, max pool size and max queue size.
+     */
+    PLATFORM,
+
+    /**
+     * A new virtual thread per task (requires Java 21 or newer), optionally limited by max concurrency.
+     */
+    VIRTUAL,
+
+    /**
+     * A thread pool of platform threads, which resizes its core pool size between the pool size and max pool size
+     * on a control loop, using the wait time and run time of the tasks and the CPU load.
+     */
+    ADAPTIVE
+
+}
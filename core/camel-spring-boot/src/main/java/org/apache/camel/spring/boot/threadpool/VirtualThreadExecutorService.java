@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Rejectable;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+
+/**
+ * An executor which runs each task in a new virtual thread, optionally limiting the number of tasks running
+ * concurrently. The tasks beyond the limit wait in their (virtual) thread, so the submitting thread is not blocked.
+ * <p/>
+ * The number of waiting tasks is bounded by the max queue size, and the tasks beyond it (or which are interrupted
+ * while waiting) are rejected by the rejected policy (where {@link Rejectable} tasks such as Camel exchanges are
+ * rejected rather than failing the caller).
+ */
+public class VirtualThreadExecutorService extends AbstractExecutorService {
+
+    private final String id;
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int maxQueueSize;
+    private final ThreadPoolRejectedPolicy rejectedPolicy;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * @param id             the id of the thread pool profile
+     * @param delegate       the virtual thread per task executor
+     * @param maxConcurrency the maximum number of tasks running concurrently, or 0 (or less) for no limit
+     */
+    public VirtualThreadExecutorService(String id, ExecutorService delegate, int maxConcurrency) {
+        this(id, delegate, maxConcurrency, -1, ThreadPoolRejectedPolicy.CallerRuns);
+    }
+
+    /**
+     * @param id             the id of the thread pool profile
+     * @param delegate       the virtual thread per task executor
+     * @param maxConcurrency the maximum number of tasks running concurrently, or 0 (or less) for no limit
+     * @param maxQueueSize   the maximum number of tasks waiting for the max concurrency limit, or -1 for no limit
+     * @param rejectedPolicy the policy for the tasks rejected as too many tasks are waiting
+     */
+    public VirtualThreadExecutorService(String id, ExecutorService delegate, int maxConcurrency, int maxQueueSize,
+                                        ThreadPoolRejectedPolicy rejectedPolicy) {
+        this.id = id;
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize;
+        this.rejectedPolicy = rejectedPolicy != null ? rejectedPolicy : ThreadPoolRejectedPolicy.CallerRuns;
+        this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (permits == null) {
+            delegate.execute(command);
+            return;
+        }
+
+        // the tasks running or waiting for the max concurrency limit
+        int count = pending.incrementAndGet();
+        if (maxQueueSize >= 0 && count > maxConcurrency + maxQueueSize) {
+            pending.decrementAndGet();
+            if (rejectedPolicy == ThreadPoolRejectedPolicy.CallerRuns) {
+                if (!isShutdown()) {
+                    command.run();
+                }
+            } else {
+                reject(command);
+            }
+            return;
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    pending.decrementAndGet();
+                    Thread.currentThread().interrupt();
+                    if (command instanceof Rejectable) {
+                        // such as when shutdown while waiting, so the exchange is not left hanging
+                        ((Rejectable) command).reject();
+                    }
+                    return;
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void reject(Runnable command) {
+        if (command instanceof Rejectable) {
+            ((Rejectable) command).reject();
+        } else {
+            throw new RejectedExecutionException("Task " + command + " rejected from " + this);
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public ThreadPoolRejectedPolicy getRejectedPolicy() {
+        return rejectedPolicy;
+    }
+
+    /**
+     * Number of tasks running (limited by max concurrency), or -1 if there is no limit.
+     */
+    public int getActiveCount() {
+        return permits != null ? maxConcurrency - permits.availablePermits() : -1;
+    }
+
+    /**
+     * Number of tasks waiting for the max concurrency limit, or -1 if there is no limit.
+     */
+    public int getQueueSize() {
+        return permits != null ? permits.getQueueLength() : -1;
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadExecutorService[" + id + ", maxConcurrency=" + maxConcurrency + ", maxQueueSize=" + maxQueueSize + "]";
+    }
+}
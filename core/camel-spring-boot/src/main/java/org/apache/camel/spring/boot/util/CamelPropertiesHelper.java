@@ -16,12 +16,20 @@
  */
 package org.apache.camel.spring.boot.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Component;
 import org.apache.camel.PropertyBindingException;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.spi.PropertyConfigurer;
 import org.apache.camel.support.IntrospectionSupport;
 import org.apache.camel.support.PropertyBindingSupport;
@@ -33,20 +41,51 @@ import org.apache.camel.util.ObjectHelper;
  */
 public final class CamelPropertiesHelper {
 
+    // source class -> target class -> binding plan
+    private static volatile ClassValue<Map<Class<?>, BindingPlan>> bindingPlans = newBindingPlans();
+
     private CamelPropertiesHelper() {
     }
 
-    @SuppressWarnings({"unchecked", "deprecation"})
+    /**
+     * Copies the non null properties of the source (such as a generated component configuration) to the target.
+     * <p/>
+     * The getters of the source class are resolved once per pair of source and target class, and when the target is a
+     * {@link Component}, then plain values are set using its generated {@link PropertyConfigurer}. Values that are
+     * references (#bean:) or property placeholders are set the same way as {@link #setCamelProperties}.
+     */
+    @SuppressWarnings("unchecked")
     public static void copyProperties(CamelContext camelContext, Object source, Object target) {
         ObjectHelper.notNull(camelContext, "camel context");
         ObjectHelper.notNull(source, "source");
         ObjectHelper.notNull(target, "target");
 
-        CamelPropertiesHelper.setCamelProperties(
-            camelContext,
-            target,
-            source instanceof Map ? (Map)source : IntrospectionSupport.getNonNullProperties(source),
-            false);
+        if (source instanceof Map) {
+            CamelPropertiesHelper.setCamelProperties(camelContext, target, (Map) source, false);
+        } else {
+            getBindingPlan(source.getClass(), target.getClass()).apply(camelContext, source, target);
+        }
+    }
+
+    static BindingPlan getBindingPlan(Class<?> sourceClass, Class<?> targetClass) {
+        return bindingPlans.get(sourceClass).computeIfAbsent(targetClass, k -> new BindingPlan(sourceClass));
+    }
+
+    /**
+     * Clears the binding plans resolved by {@link #copyProperties}, such as when the source or target classes have
+     * been reloaded or changed.
+     */
+    public static void clearBindingPlans() {
+        bindingPlans = newBindingPlans();
+    }
+
+    private static ClassValue<Map<Class<?>, BindingPlan>> newBindingPlans() {
+        return new ClassValue<Map<Class<?>, BindingPlan>>() {
+            @Override
+            protected Map<Class<?>, BindingPlan> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
     }
 
     /**
@@ -97,24 +136,7 @@ public final class CamelPropertiesHelper {
             String name = entry.getKey();
             Object value = entry.getValue();
             String stringValue = value != null ? value.toString() : null;
-            boolean hit = false;
-            try {
-                hit = PropertyBindingSupport.build()
-                        .withConfigurer(configurer)
-                        .withIgnoreCase(true)
-                        .bind(context, target, name, value);
-            } catch (PropertyBindingException e) {
-                // no we could not and this would be thrown if we attempted to set a value on a property which we cannot do type conversion as
-                // then maybe the value refers to a spring bean in the registry so try this
-                if (stringValue != null) {
-                    if (stringValue.startsWith("#")) {
-                        stringValue = stringValue.substring(1);
-                    }
-                    // use #bean: to lookup
-                    stringValue = "#bean:" + stringValue;
-                    hit = PropertyBindingSupport.build().withIgnoreCase(true).bind(context, target, name, stringValue);
-                }
-            }
+            boolean hit = bindProperty(context, target, configurer, name, value);
 
             if (hit) {
                 // must remove as its a valid option and we could configure it
@@ -130,4 +152,161 @@ public final class CamelPropertiesHelper {
         return rc;
     }
 
+    private static boolean bindProperty(CamelContext context, Object target, PropertyConfigurer configurer, String name, Object value) {
+        String stringValue = value != null ? value.toString() : null;
+        boolean hit = false;
+        try {
+            hit = PropertyBindingSupport.build()
+                    .withConfigurer(configurer)
+                    .withIgnoreCase(true)
+                    .bind(context, target, name, value);
+        } catch (PropertyBindingException e) {
+            // no we could not and this would be thrown if we attempted to set a value on a property which we cannot do type conversion as
+            // then maybe the value refers to a spring bean in the registry so try this
+            if (stringValue != null) {
+                if (stringValue.startsWith("#")) {
+                    stringValue = stringValue.substring(1);
+                }
+                // use #bean: to lookup
+                stringValue = "#bean:" + stringValue;
+                hit = PropertyBindingSupport.build().withIgnoreCase(true).bind(context, target, name, stringValue);
+            }
+        }
+        return hit;
+    }
+
+    /**
+     * Whether the value can be set as-is, eg it is not a bean reference or property placeholder that must be resolved
+     * by {@link PropertyBindingSupport}.
+     */
+    private static boolean isPlainValue(Object value) {
+        if (value instanceof String) {
+            String str = (String) value;
+            return !str.startsWith("#") && !str.contains("{{");
+        }
+        return true;
+    }
+
+    /**
+     * The getters of a source class resolved once, to copy its properties to a target class.
+     */
+    static final class BindingPlan {
+
+        private final List<PropertyBinding> bindings = new ArrayList<>();
+
+        BindingPlan(Class<?> sourceClass) {
+            Method[] methods = sourceClass.getMethods();
+            for (Method method : methods) {
+                if (method.getDeclaringClass() == Object.class || !IntrospectionSupport.isGetter(method)) {
+                    continue;
+                }
+                String name = IntrospectionSupport.getGetterShorthandName(method);
+                // only properties which can be configured (has a setter as well)
+                if (hasSetter(methods, name, method.getReturnType())) {
+                    bindings.add(new PropertyBinding(name, getterHandle(sourceClass, method)));
+                }
+            }
+        }
+
+        List<PropertyBinding> getBindings() {
+            return bindings;
+        }
+
+        void apply(CamelContext context, Object source, Object target) {
+            PropertyConfigurer configurer = null;
+            if (target instanceof Component) {
+                // the component needs to be initialized to have the configurer ready
+                ServiceHelper.initService(target);
+                configurer = ((Component) target).getComponentPropertyConfigurer();
+            }
+
+            for (PropertyBinding binding : bindings) {
+                if (binding.unknown) {
+                    continue;
+                }
+                Object value = binding.getValue(source);
+                if (value == null) {
+                    continue;
+                }
+
+                boolean plain = isPlainValue(value);
+                boolean hit = false;
+                if (configurer != null && plain) {
+                    try {
+                        hit = configurer.configure(context, target, binding.name, value, true);
+                    } catch (RuntimeException e) {
+                        // let property binding support deal with it (such as looking up the value as a bean)
+                    }
+                }
+                if (!hit) {
+                    hit = bindProperty(context, target, configurer, binding.name, value);
+                    if (!hit && plain) {
+                        // the target has no such property so skip it from now on
+                        binding.unknown = true;
+                    }
+                }
+            }
+        }
+
+        private static boolean hasSetter(Method[] methods, String name, Class<?> type) {
+            String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            Class<?> valueType = ObjectHelper.convertPrimitiveTypeToWrapperType(type);
+            for (Method method : methods) {
+                if (method.getParameterCount() == 1 && method.getName().equals(setter)) {
+                    // the setter may take a super type, or the primitive or boxed type of the getter
+                    Class<?> parameterType = ObjectHelper.convertPrimitiveTypeToWrapperType(method.getParameterTypes()[0]);
+                    if (parameterType.isAssignableFrom(valueType)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static MethodHandle getterHandle(Class<?> sourceClass, Method method) {
+            MethodHandle handle;
+            try {
+                // looked up on the source class, as the getter may be declared by a super class which is not public
+                handle = MethodHandles.publicLookup().findVirtual(sourceClass, method.getName(), MethodType.methodType(method.getReturnType()));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                try {
+                    method.setAccessible(true);
+                    handle = MethodHandles.lookup().unreflect(method);
+                } catch (RuntimeException | IllegalAccessException e2) {
+                    throw new IllegalArgumentException("Cannot access the getter " + method + " of " + sourceClass.getName(), e2);
+                }
+            }
+            // the same type for all the getters, so they can be invoked exactly
+            return handle.asType(MethodType.methodType(Object.class, Object.class));
+        }
+    }
+
+    static final class PropertyBinding {
+
+        private final String name;
+        private final MethodHandle getter;
+        private volatile boolean unknown;
+
+        PropertyBinding(String name, MethodHandle getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        boolean isUnknown() {
+            return unknown;
+        }
+
+        Object getValue(Object source) {
+            try {
+                return (Object) getter.invokeExact(source);
+            } catch (Throwable e) {
+                throw RuntimeCamelException.wrapRuntimeException(e);
+            }
+        }
+    }
+
 }
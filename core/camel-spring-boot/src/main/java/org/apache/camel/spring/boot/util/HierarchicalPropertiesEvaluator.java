@@ -16,15 +16,48 @@
  */
 package org.apache.camel.spring.boot.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
+import org.springframework.boot.env.RandomValuePropertySource;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
 
+/**
+ * Evaluates the "enabled" flag of a hierarchy of properties, such as camel.component.enabled and
+ * camel.component.xxx.enabled for the auto configuration of a component.
+ * <p/>
+ * While the auto configurations are evaluated (until {@link #stopMemoizing(Environment)} is called when the application
+ * context has been refreshed) the evaluation is memoized per {@link Environment}: the names of all the "enabled"
+ * properties are collected in one pass over its property sources, so the (many) properties which are not set are
+ * answered without binding, and the value of the properties which are set is only bound once. The memoized values are
+ * discarded when the property sources of the environment are changed (added, removed or replaced), and are not kept
+ * when a property source cannot be iterated. Afterwards the properties are bound on every evaluation, so changed
+ * properties are seen.
+ */
 public final class HierarchicalPropertiesEvaluator {
 
+    private static final String ENABLED = "enabled";
+    private static final Map<Environment, EnabledProperties> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+    // the environments of the application contexts which have been refreshed
+    private static final Map<Environment, Boolean> STOPPED = Collections.synchronizedMap(new WeakHashMap<>());
+
     private HierarchicalPropertiesEvaluator() {
     }
 
@@ -83,9 +116,124 @@ public final class HierarchicalPropertiesEvaluator {
         return answer;
     }
 
+    /**
+     * Clears the memoized values, which is needed if the properties of a property source of an environment are changed
+     * in place.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * Stops memoizing the evaluation for the given environment, such as when the application context has been
+     * refreshed (and the auto configurations have been evaluated), or when properties have changed.
+     */
+    public static void stopMemoizing(Environment environment) {
+        STOPPED.put(environment, Boolean.TRUE);
+        CACHE.remove(environment);
+    }
+
     private static boolean isEnabled(Environment environment, String prefix, boolean defaultValue) {
-        String property = prefix.endsWith(".") ? prefix + "enabled" : prefix + ".enabled";
-        Binder binder = Binder.get(environment);
-        return binder.bind(property, Bindable.of(Boolean.class)).orElse(defaultValue);
+        String property = prefix.endsWith(".") ? prefix + ENABLED : prefix + "." + ENABLED;
+        EnabledProperties enabled = getEnabledProperties(environment);
+        if (enabled == null) {
+            return Binder.get(environment).bind(property, Bindable.of(Boolean.class)).orElse(defaultValue);
+        }
+        return enabled.getValue(property).orElse(defaultValue);
+    }
+
+    /**
+     * The memoized "enabled" properties of the environment, or <tt>null</tt> if not memoized.
+     */
+    static EnabledProperties getEnabledProperties(Environment environment) {
+        if (STOPPED.containsKey(environment)) {
+            return null;
+        }
+        EnabledProperties answer = CACHE.get(environment);
+        if (answer == null || !answer.isCurrent(environment)) {
+            answer = new EnabledProperties(environment);
+            CACHE.put(environment, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * The "enabled" properties of an environment.
+     */
+    static final class EnabledProperties {
+
+        private final List<PropertySource<?>> sources;
+        private final Binder binder;
+        // the names of the enabled properties which are set, or null if not all the property sources can be iterated
+        private final Set<ConfigurationPropertyName> names;
+        private final Map<String, Optional<Boolean>> values = new ConcurrentHashMap<>();
+
+        EnabledProperties(Environment environment) {
+            this.sources = getPropertySources(environment);
+            this.binder = Binder.get(environment);
+
+            Set<ConfigurationPropertyName> found = new HashSet<>();
+            for (ConfigurationPropertySource source : ConfigurationPropertySources.get(environment)) {
+                if (source instanceof IterableConfigurationPropertySource) {
+                    for (ConfigurationPropertyName name : (IterableConfigurationPropertySource) source) {
+                        if (name.getNumberOfElements() > 0 && ENABLED.equals(name.getLastElement(ConfigurationPropertyName.Form.UNIFORM))) {
+                            found.add(name);
+                        }
+                    }
+                } else if (!isEmpty(source.getUnderlyingSource())) {
+                    // the properties of this source are not known, so every property must be bound
+                    found = null;
+                    break;
+                }
+            }
+            this.names = found;
+        }
+
+        Optional<Boolean> getValue(String property) {
+            if (names == null) {
+                // a property source cannot be iterated, so its properties may be changed without being seen
+                return bind(property);
+            }
+            Optional<Boolean> answer = values.get(property);
+            if (answer == null) {
+                answer = values.computeIfAbsent(property, this::bind);
+            }
+            return answer;
+        }
+
+        boolean isCurrent(Environment environment) {
+            if (!(environment instanceof ConfigurableEnvironment)) {
+                return true;
+            }
+            int i = 0;
+            for (PropertySource<?> source : ((ConfigurableEnvironment) environment).getPropertySources()) {
+                if (i >= sources.size() || sources.get(i) != source) {
+                    return false;
+                }
+                i++;
+            }
+            return i == sources.size();
+        }
+
+        private Optional<Boolean> bind(String property) {
+            if (names != null && ConfigurationPropertyName.isValid(property) && !names.contains(ConfigurationPropertyName.of(property))) {
+                return Optional.empty();
+            }
+            Boolean value = binder.bind(property, Bindable.of(Boolean.class)).orElse(null);
+            return Optional.ofNullable(value);
+        }
+
+        private static boolean isEmpty(Object source) {
+            // random values and stubs (such as the servlet context before it is available) have no enabled properties
+            return source instanceof RandomValuePropertySource || source instanceof PropertySource.StubPropertySource;
+        }
+
+        private static List<PropertySource<?>> getPropertySources(Environment environment) {
+            List<PropertySource<?>> answer = new ArrayList<>();
+            if (environment instanceof ConfigurableEnvironment) {
+                ((ConfigurableEnvironment) environment).getPropertySources().forEach(answer::add);
+            }
+            return answer;
+        }
     }
 }
@@ -17,6 +17,7 @@
 package org.apache.camel.spring.boot.vault;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 @ConfigurationProperties(prefix = "camel.vault.aws")
 public class AwsVaultConfigurationProperties {
@@ -41,6 +42,12 @@ public class AwsVaultConfigurationProperties {
      */
     private boolean defaultCredentialsProvider;
 
+    /**
+     * The cache of the secrets looked up from the vault
+     */
+    @NestedConfigurationProperty
+    private final VaultCacheConfigurationProperties cache = new VaultCacheConfigurationProperties();
+
     public String getAccessKey() {
         return accessKey;
     }
@@ -72,4 +79,8 @@ public class AwsVaultConfigurationProperties {
     public void setDefaultCredentialsProvider(boolean defaultCredentialsProvider) {
         this.defaultCredentialsProvider = defaultCredentialsProvider;
     }
+
+    public VaultCacheConfigurationProperties getCache() {
+        return cache;
+    }
 }
@@ -16,10 +16,12 @@
  */
 package org.apache.camel.spring.boot.vault;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.spring.boot.CamelAutoConfiguration;
 import org.apache.camel.vault.AzureVaultConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -40,4 +42,10 @@ public class AzureVaultAutoConfiguration {
         return answer;
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "camel.vault.azure.cache", name = "enabled", havingValue = "true")
+    public VaultSecretsCache azureVaultSecretsCache(CamelContext camelContext, AzureVaultConfigurationProperties config) {
+        return VaultSecretsCache.install(camelContext, "azure", config.getCache());
+    }
+
 }
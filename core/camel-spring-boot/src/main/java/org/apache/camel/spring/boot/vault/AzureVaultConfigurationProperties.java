@@ -17,6 +17,7 @@
 package org.apache.camel.spring.boot.vault;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 @ConfigurationProperties(prefix = "camel.vault.azure")
 public class AzureVaultConfigurationProperties {
@@ -41,6 +42,12 @@ public class AzureVaultConfigurationProperties {
      */
     private String tenantId;
 
+    /**
+     * The cache of the secrets looked up from the vault
+     */
+    @NestedConfigurationProperty
+    private final VaultCacheConfigurationProperties cache = new VaultCacheConfigurationProperties();
+
     public String getVaultName() {
         return vaultName;
     }
@@ -72,4 +79,8 @@ public class AzureVaultConfigurationProperties {
     public void setTenantId(String tenantId) {
         this.tenantId = tenantId;
     }
+
+    public VaultCacheConfigurationProperties getCache() {
+        return cache;
+    }
 }
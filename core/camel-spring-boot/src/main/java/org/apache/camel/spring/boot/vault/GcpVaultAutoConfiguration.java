@@ -16,11 +16,13 @@
  */
 package org.apache.camel.spring.boot.vault;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.spring.boot.CamelAutoConfiguration;
 import org.apache.camel.vault.AwsVaultConfiguration;
 import org.apache.camel.vault.GcpVaultConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -40,4 +42,10 @@ public class GcpVaultAutoConfiguration {
         return answer;
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "camel.vault.gcp.cache", name = "enabled", havingValue = "true")
+    public VaultSecretsCache gcpVaultSecretsCache(CamelContext camelContext, GcpVaultConfigurationProperties config) {
+        return VaultSecretsCache.install(camelContext, "gcp", config.getCache());
+    }
+
 }
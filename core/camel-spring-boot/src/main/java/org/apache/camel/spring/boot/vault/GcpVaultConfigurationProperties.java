@@ -18,6 +18,7 @@ package org.apache.camel.spring.boot.vault;
 
 import org.apache.camel.spi.Metadata;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 @ConfigurationProperties(prefix = "camel.vault.gcp")
 public class GcpVaultConfigurationProperties {
@@ -37,6 +38,12 @@ public class GcpVaultConfigurationProperties {
      */
     private boolean useDefaultInstance;
 
+    /**
+     * The cache of the secrets looked up from the vault
+     */
+    @NestedConfigurationProperty
+    private final VaultCacheConfigurationProperties cache = new VaultCacheConfigurationProperties();
+
     public String getServiceAccountKey() {
         return serviceAccountKey;
     }
@@ -60,4 +67,8 @@ public class GcpVaultConfigurationProperties {
     public void setUseDefaultInstance(boolean useDefaultInstance) {
         this.useDefaultInstance = useDefaultInstance;
     }
+
+    public VaultCacheConfigurationProperties getCache() {
+        return cache;
+    }
 }
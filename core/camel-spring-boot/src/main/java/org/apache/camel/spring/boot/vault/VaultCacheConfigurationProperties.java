@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.vault;
+
+/**
+ * The cache of the secrets looked up from a vault (such as by <tt>{{aws:name}}</tt> property placeholders).
+ */
+public class VaultCacheConfigurationProperties {
+
+    /**
+     * Whether to cache the secrets looked up from the vault.
+     */
+    private boolean enabled;
+
+    /**
+     * The time in millis a secret is cached, after which it is looked up from the vault again.
+     */
+    private long timeToLive = 300000;
+
+    /**
+     * The time in millis before a cached secret expires, from which a lookup of the secret refreshes it from the vault
+     * in the background (while the cached secret is returned). Use 0 to not refresh the secrets ahead of their expiry.
+     */
+    private long refreshAhead = 60000;
+
+    /**
+     * The fraction (between 0 and 1) of the time to live, up to which the expiry of each secret is randomly brought
+     * forward, so secrets which are cached together are not refreshed from the vault all at once.
+     */
+    private double jitter = 0.1;
+
+    /**
+     * The maximum number of secrets in the cache.
+     */
+    private int maximumSize = 1000;
+
+    /**
+     * Whether to return the expired secret when the vault cannot be reached (or fails) to refresh it.
+     */
+    private boolean staleIfError = true;
+
+    /**
+     * Whether to look up the secrets referenced by property placeholders (in the Spring Boot configuration, the route
+     * resources and the routes) concurrently at startup, before the routes are started.
+     */
+    private boolean prefetch;
+
+    /**
+     * The number of secrets looked up concurrently at startup.
+     */
+    private int prefetchParallelism = 10;
+
+    /**
+     * The time in millis to wait for the secrets looked up at startup, after which the remaining secrets are looked up
+     * when they are used.
+     */
+    private long prefetchTimeout = 30000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public long getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    public void setRefreshAhead(long refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public boolean isStaleIfError() {
+        return staleIfError;
+    }
+
+    public void setStaleIfError(boolean staleIfError) {
+        this.staleIfError = staleIfError;
+    }
+
+    public boolean isPrefetch() {
+        return prefetch;
+    }
+
+    public void setPrefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    public int getPrefetchParallelism() {
+        return prefetchParallelism;
+    }
+
+    public void setPrefetchParallelism(int prefetchParallelism) {
+        this.prefetchParallelism = prefetchParallelism;
+    }
+
+    public long getPrefetchTimeout() {
+        return prefetchTimeout;
+    }
+
+    public void setPrefetchTimeout(long prefetchTimeout) {
+        this.prefetchTimeout = prefetchTimeout;
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.vault;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.component.properties.PropertiesComponent;
+import org.apache.camel.spi.PropertiesFunction;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link PropertiesFunction} which caches the secrets looked up by the properties function of a vault (such as
+ * <tt>aws</tt>, <tt>gcp</tt> or <tt>azure</tt>), so property placeholders do not look up the secret from the vault
+ * every time they are resolved.
+ * <p/>
+ * The secrets are cached for their time to live, which is brought forward by a random jitter, so secrets cached
+ * together do not expire together. A lookup of a secret which is about to expire returns the cached secret, and
+ * refreshes it from the vault in the background. When the vault fails to return a secret which has expired, then the
+ * expired secret is returned (if stale if error is enabled) and the vault is tried again after a tenth of the time to
+ * live. Concurrent lookups of a secret which is not cached look it up from the vault only once.
+ */
+public class VaultSecretsCache extends ServiceSupport implements PropertiesFunction, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VaultSecretsCache.class);
+
+    private final String name;
+    private final PropertiesFunction delegate;
+    private final long timeToLive;
+    private final long refreshAhead;
+    private final double jitter;
+    private final int maximumSize;
+    private final boolean staleIfError;
+    private final boolean prefetch;
+    private final int prefetchParallelism;
+    private final long prefetchTimeout;
+    private final Map<String, CachedSecret> secrets = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> loading = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder remoteLookups = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private LongSupplier clock = System::currentTimeMillis;
+    private CamelContext camelContext;
+    private volatile ExecutorService refresher;
+
+    /**
+     * @param delegate the properties function of the vault
+     * @param config   the configuration of the cache
+     */
+    public VaultSecretsCache(PropertiesFunction delegate, VaultCacheConfigurationProperties config) {
+        this.name = delegate.getName();
+        this.delegate = delegate;
+        this.timeToLive = config.getTimeToLive();
+        this.refreshAhead = Math.max(0, Math.min(config.getRefreshAhead(), config.getTimeToLive()));
+        this.jitter = Math.max(0, Math.min(1, config.getJitter()));
+        this.maximumSize = config.getMaximumSize();
+        this.staleIfError = config.isStaleIfError();
+        this.prefetch = config.isPrefetch();
+        this.prefetchParallelism = Math.max(1, config.getPrefetchParallelism());
+        this.prefetchTimeout = config.getPrefetchTimeout();
+    }
+
+    /**
+     * Caches the secrets of the given properties function of the camel context, by replacing the function with the
+     * cache.
+     *
+     * @return the cache, or <tt>null</tt> if there is no properties function with the given name (such as when the
+     *         vault component is not on the classpath)
+     */
+    public static VaultSecretsCache install(CamelContext camelContext, String name, VaultCacheConfigurationProperties config) {
+        if (!(camelContext.getPropertiesComponent() instanceof PropertiesComponent)) {
+            LOG.debug("Cannot cache secrets of properties function: {} as the properties component is not supported", name);
+            return null;
+        }
+        PropertiesComponent pc = (PropertiesComponent) camelContext.getPropertiesComponent();
+        PropertiesFunction function;
+        try {
+            function = pc.getPropertiesFunction(name);
+        } catch (RuntimeException e) {
+            LOG.debug("Cannot resolve properties function: {} due to: {}", name, e.getMessage());
+            function = null;
+        }
+        if (function == null) {
+            LOG.debug("Properties function: {} not found, secrets of the vault are not cached", name);
+            return null;
+        }
+        if (function instanceof VaultSecretsCache) {
+            return (VaultSecretsCache) function;
+        }
+
+        VaultSecretsCache answer = new VaultSecretsCache(function, config);
+        answer.setCamelContext(camelContext);
+        pc.addPropertiesFunction(answer);
+        // the cache is started (and stopped) with the camel context
+        camelContext.addService(answer, true, false);
+        LOG.debug("Caching secrets of properties function: {} for {} millis", name, answer.timeToLive);
+        return answer;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public PropertiesFunction getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String apply(String remainder) {
+        long now = clock.getAsLong();
+        CachedSecret cached = secrets.get(remainder);
+        if (cached != null && now < cached.expiresAt) {
+            hits.increment();
+            if (refreshAhead > 0 && now >= cached.refreshAt) {
+                refreshAhead(remainder, cached);
+            }
+            return cached.value;
+        }
+
+        misses.increment();
+        try {
+            return load(remainder);
+        } catch (RuntimeException e) {
+            errors.increment();
+            if (staleIfError && cached != null) {
+                staleHits.increment();
+                LOG.warn("Cannot look up secret: {}:{} due to: {}. The expired secret is used.", name, remainder, e.getMessage());
+                // try the vault again later
+                secrets.replace(remainder, cached, cached.retryAt(now + Math.max(1, timeToLive / 10)));
+                return cached.value;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Whether to look up the secrets referenced by the application at startup, see {@link VaultSecretsPrefetcher}.
+     */
+    public boolean isPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * The time in millis to wait for the secrets to be prefetched.
+     */
+    public long getPrefetchTimeout() {
+        return prefetchTimeout;
+    }
+
+    /**
+     * Looks up the given secrets which are not cached concurrently, and waits until they are cached (or the prefetch
+     * timeout). The secrets which cannot be looked up are ignored, so they are looked up again when used.
+     *
+     * @return the number of secrets looked up
+     */
+    public int prefetch(Collection<String> remainders) {
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (String remainder : remainders) {
+            if (!isCached(remainder)) {
+                tasks.add(() -> apply(remainder));
+            }
+        }
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        int threads = Math.min(prefetchParallelism, tasks.size());
+        ExecutorService executor = camelContext.getExecutorServiceManager().newFixedThreadPool(this, "VaultSecretsPrefetch[" + name + "]", threads);
+        int answer = 0;
+        try {
+            for (Future<String> future : executor.invokeAll(tasks, prefetchTimeout, TimeUnit.MILLISECONDS)) {
+                if (!future.isCancelled()) {
+                    try {
+                        future.get();
+                        answer++;
+                    } catch (ExecutionException e) {
+                        LOG.debug("Cannot prefetch secret of vault: {} due to: {}", name, e.getCause().getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            camelContext.getExecutorServiceManager().shutdownNow(executor);
+        }
+
+        if (answer < tasks.size()) {
+            LOG.warn("Prefetched {} of {} secrets of vault: {} in {} millis. The remaining secrets are looked up when used.",
+                    answer, tasks.size(), name, System.currentTimeMillis() - start);
+        } else {
+            LOG.info("Prefetched {} secrets of vault: {} in {} millis", answer, name, System.currentTimeMillis() - start);
+        }
+        return answer;
+    }
+
+    /**
+     * Caches the given secrets, as looked up from the vault (such as by a bulk lookup).
+     */
+    public void put(String remainder, String value) {
+        store(remainder, value, clock.getAsLong());
+    }
+
+    /**
+     * Whether the given secret is cached (and has not expired).
+     */
+    public boolean isCached(String remainder) {
+        CachedSecret cached = secrets.get(remainder);
+        return cached != null && clock.getAsLong() < cached.expiresAt;
+    }
+
+    /**
+     * Removes all the secrets from the cache.
+     */
+    public void clear() {
+        secrets.clear();
+    }
+
+    /**
+     * Number of secrets in the cache.
+     */
+    public int size() {
+        return secrets.size();
+    }
+
+    /**
+     * Number of lookups returned from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups of secrets which were not cached (or had expired).
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of lookups from the vault, including the refreshes in the background.
+     */
+    public long getRemoteLookups() {
+        return remoteLookups.sum();
+    }
+
+    /**
+     * Number of lookups from the vault which failed.
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Number of lookups which returned an expired secret, as the vault failed.
+     */
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    void setRefresher(ExecutorService refresher) {
+        this.refresher = refresher;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startService(delegate);
+        if (refreshAhead > 0 && refresher == null && camelContext != null) {
+            refresher = camelContext.getExecutorServiceManager().newSingleThreadExecutor(this, "VaultSecretsRefresh[" + name + "]");
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (refresher != null && camelContext != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(refresher);
+        }
+        refresher = null;
+        secrets.clear();
+        ServiceHelper.stopService(delegate);
+    }
+
+    private String load(String remainder) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = loading.putIfAbsent(remainder, future);
+        if (existing != null) {
+            // the secret is already being looked up
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw RuntimeCamelException.wrapRuntimeException(e.getCause());
+            }
+        }
+
+        try {
+            String value = lookup(remainder);
+            store(remainder, value, clock.getAsLong());
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(remainder, future);
+        }
+    }
+
+    private void refreshAhead(String remainder, CachedSecret cached) {
+        ExecutorService executor = refresher;
+        if (executor == null || !cached.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    store(remainder, lookup(remainder), clock.getAsLong());
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    LOG.debug("Cannot refresh secret: {}:{} due to: {}. The secret is looked up again when expired.", name, remainder, e.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            // the executor has been shutdown, or is busy
+            cached.refreshing.set(false);
+        }
+    }
+
+    private String lookup(String remainder) {
+        remoteLookups.increment();
+        return delegate.apply(remainder);
+    }
+
+    private void store(String remainder, String value, long now) {
+        long ttl = timeToLive;
+        if (jitter > 0) {
+            ttl -= (long) (ThreadLocalRandom.current().nextDouble() * jitter * timeToLive);
+        }
+        secrets.put(remainder, new CachedSecret(value, now + ttl, now + ttl - refreshAhead));
+        if (secrets.size() > maximumSize) {
+            evict(remainder);
+        }
+    }
+
+    private void evict(String keep) {
+        // evict the secret which expires first
+        String eldest = null;
+        long expiresAt = Long.MAX_VALUE;
+        for (Iterator<Map.Entry<String, CachedSecret>> it = secrets.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, CachedSecret> entry = it.next();
+            if (!entry.getKey().equals(keep) && entry.getValue().expiresAt < expiresAt) {
+                eldest = entry.getKey();
+                expiresAt = entry.getValue().expiresAt;
+            }
+        }
+        if (eldest != null) {
+            secrets.remove(eldest);
+        }
+    }
+
+    private static final class CachedSecret {
+        private final String value;
+        private final long expiresAt;
+        private final long refreshAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CachedSecret(String value, long expiresAt, long refreshAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+
+        private CachedSecret retryAt(long time) {
+            // no refresh ahead of a stale secret
+            return new CachedSecret(value, time, time);
+        }
+    }
+}
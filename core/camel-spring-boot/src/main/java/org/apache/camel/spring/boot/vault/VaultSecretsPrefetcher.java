@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.vault;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.model.Model;
+import org.apache.camel.model.ProcessorDefinitionHelper;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.SendDefinition;
+import org.apache.camel.model.ToDynamicDefinition;
+import org.apache.camel.spi.Resource;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * Looks up the vault secrets referenced by the application at startup, so the secrets are looked up concurrently
+ * (instead of one after another as the routes are started) and are cached when the routes are started.
+ * <p/>
+ * The secrets are collected from the property placeholders (such as <tt>{{aws:name}}</tt>) in the values of the Spring
+ * Boot configuration (such as component properties), in the route resources (such as XML and YAML routes) and in the
+ * endpoint uris of the routes which have been added. Placeholders which refer to other placeholders are not collected.
+ * The secrets of several vaults are looked up concurrently, within the longest prefetch timeout of the vaults.
+ */
+public class VaultSecretsPrefetcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VaultSecretsPrefetcher.class);
+
+    private final Map<String, VaultSecretsCache> caches = new LinkedHashMap<>();
+    private final Pattern pattern;
+
+    public VaultSecretsPrefetcher(Collection<VaultSecretsCache> caches) {
+        for (VaultSecretsCache cache : caches) {
+            this.caches.put(cache.getName(), cache);
+        }
+        String names = this.caches.keySet().stream().map(Pattern::quote).collect(Collectors.joining("|"));
+        this.pattern = Pattern.compile("\\{\\{(" + names + "):([^{}]+)}}");
+    }
+
+    /**
+     * Looks up the secrets referenced by the Spring Boot configuration, the route resources matching the given
+     * patterns, and the routes which have been added.
+     *
+     * @return the number of secrets looked up
+     */
+    public int prefetch(CamelContext camelContext, Environment environment, String routesIncludePattern) {
+        Map<String, Set<String>> secrets = new LinkedHashMap<>();
+        collectFromEnvironment(environment, secrets);
+        collectFromResources(camelContext, routesIncludePattern, secrets);
+        collectFromRoutes(camelContext, secrets);
+        return prefetch(camelContext, secrets);
+    }
+
+    /**
+     * Looks up the secrets referenced by the routes which have been added.
+     *
+     * @return the number of secrets looked up
+     */
+    public int prefetch(CamelContext camelContext) {
+        Map<String, Set<String>> secrets = new LinkedHashMap<>();
+        collectFromRoutes(camelContext, secrets);
+        return prefetch(camelContext, secrets);
+    }
+
+    private int prefetch(CamelContext camelContext, Map<String, Set<String>> secrets) {
+        if (secrets.size() == 1) {
+            Map.Entry<String, Set<String>> entry = secrets.entrySet().iterator().next();
+            return caches.get(entry.getKey()).prefetch(entry.getValue());
+        }
+
+        // each vault waits for its own secrets within its prefetch timeout, so the longest timeout bounds all of them
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        long timeout = 0;
+        for (Map.Entry<String, Set<String>> entry : secrets.entrySet()) {
+            VaultSecretsCache cache = caches.get(entry.getKey());
+            tasks.add(() -> cache.prefetch(entry.getValue()));
+            timeout = Math.max(timeout, cache.getPrefetchTimeout());
+        }
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        ExecutorService executor = camelContext.getExecutorServiceManager().newFixedThreadPool(this, "VaultSecretsPrefetch", tasks.size());
+        int answer = 0;
+        try {
+            for (Future<Integer> future : executor.invokeAll(tasks, timeout, TimeUnit.MILLISECONDS)) {
+                if (future.isCancelled()) {
+                    LOG.warn("Timeout prefetching the secrets of a vault. The remaining secrets are looked up when used.");
+                    continue;
+                }
+                try {
+                    answer += future.get();
+                } catch (ExecutionException e) {
+                    LOG.debug("Cannot prefetch secrets due to: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            camelContext.getExecutorServiceManager().shutdownNow(executor);
+        }
+        return answer;
+    }
+
+    void collectFromEnvironment(Environment environment, Map<String, Set<String>> secrets) {
+        if (!(environment instanceof ConfigurableEnvironment)) {
+            return;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (PropertySource<?> source : ((ConfigurableEnvironment) environment).getPropertySources()) {
+            if (source instanceof EnumerablePropertySource) {
+                names.addAll(Arrays.asList(((EnumerablePropertySource<?>) source).getPropertyNames()));
+            }
+        }
+        // only the values in use, not the values overridden by other property sources
+        for (String name : names) {
+            try {
+                collect(environment.getProperty(name), secrets);
+            } catch (RuntimeException e) {
+                LOG.debug("Cannot collect vault secrets from property: {} due to: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    void collectFromResources(CamelContext camelContext, String routesIncludePattern, Map<String, Set<String>> secrets) {
+        if (ObjectHelper.isEmpty(routesIncludePattern)) {
+            return;
+        }
+        ExtendedCamelContext ecc = camelContext.adapt(ExtendedCamelContext.class);
+        for (String location : routesIncludePattern.split(",")) {
+            try {
+                for (Resource resource : ecc.getPackageScanResourceResolver().findResources(location.trim())) {
+                    try (InputStream is = resource.getInputStream()) {
+                        if (is != null) {
+                            collect(IOHelper.loadText(is), secrets);
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                LOG.debug("Cannot collect vault secrets from resources: {} due to: {}", location, e.getMessage());
+            }
+        }
+    }
+
+    void collectFromRoutes(CamelContext camelContext, Map<String, Set<String>> secrets) {
+        Model model = camelContext.getExtension(Model.class);
+        if (model == null) {
+            return;
+        }
+        for (RouteDefinition route : model.getRouteDefinitions()) {
+            if (route.getInput() != null) {
+                collect(route.getInput().getEndpointUri(), secrets);
+            }
+            for (SendDefinition<?> send : ProcessorDefinitionHelper.filterTypeInOutputs(route.getOutputs(), SendDefinition.class)) {
+                collect(send.getEndpointUri(), secrets);
+            }
+            for (ToDynamicDefinition to : ProcessorDefinitionHelper.filterTypeInOutputs(route.getOutputs(), ToDynamicDefinition.class)) {
+                collect(to.getUri(), secrets);
+            }
+        }
+    }
+
+    void collect(String text, Map<String, Set<String>> secrets) {
+        if (text == null || !text.contains("{{")) {
+            return;
+        }
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            secrets.computeIfAbsent(matcher.group(1), k -> new LinkedHashSet<>()).add(matcher.group(2));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FatJarPackageScanClassResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testScanWithoutIndex() throws Exception {
+        byte[] nested = jar("org/foo/Foo.class");
+        File fatJar = fatJar(null, nested, jar("org/bar/Bar.class"));
+
+        List<String> entries = scan(fatJar);
+
+        Assertions.assertTrue(entries.contains("org/app/App.class"));
+        Assertions.assertTrue(entries.contains("org/foo/Foo.class"));
+        Assertions.assertTrue(entries.contains("org/bar/Bar.class"));
+    }
+
+    @Test
+    public void testScanWithIndex() throws Exception {
+        byte[] foo = jar("org/foo/Foo.class");
+        byte[] bar = jar("org/bar/Bar.class");
+        // the index lists a class which is not in the nested jar, to know the index is in use
+        String index = FatJarPackageScanIndex.INDEX_HEADER + "\t" + FatJarPackageScanIndex.INDEX_VERSION + "\n"
+                       + "J\tfoo.jar\t" + jarInfo(foo) + "\n"
+                       + "P\torg/foo\tFoo\tIndexedOnly\n"
+                       + "J\tbar.jar\t" + jarInfo(bar) + "\n"
+                       + "P\torg/bar\tBar\n";
+        File fatJar = fatJar(index, foo, bar);
+
+        List<String> entries = scan(fatJar);
+
+        Assertions.assertTrue(entries.contains("org/app/App.class"));
+        Assertions.assertTrue(entries.contains("org/foo/Foo.class"));
+        Assertions.assertTrue(entries.contains("org/foo/IndexedOnly.class"));
+        Assertions.assertTrue(entries.contains("org/bar/Bar.class"));
+    }
+
+    @Test
+    public void testScanWithStaleIndex() throws Exception {
+        byte[] foo = jar("org/foo/Foo.class");
+        byte[] bar = jar("org/bar/Bar.class", "org/bar/NewBar.class");
+        byte[] oldBar = jar("org/bar/Bar.class", "org/bar/OldBar.class");
+        // bar.jar has changed since the index was generated (same size but not the same content), so it must be inspected
+        Assertions.assertEquals(oldBar.length, bar.length);
+        String index = FatJarPackageScanIndex.INDEX_HEADER + "\t" + FatJarPackageScanIndex.INDEX_VERSION + "\n"
+                       + "J\tfoo.jar\t" + jarInfo(foo) + "\n"
+                       + "P\torg/foo\tFoo\tIndexedOnly\n"
+                       + "J\tbar.jar\t" + jarInfo(oldBar) + "\n"
+                       + "P\torg/bar\tBar\tIndexedOnlyBar\n";
+        File fatJar = fatJar(index, foo, bar);
+
+        List<String> entries = scan(fatJar);
+
+        Assertions.assertTrue(entries.contains("org/foo/IndexedOnly.class"));
+        Assertions.assertTrue(entries.contains("org/bar/Bar.class"));
+        Assertions.assertTrue(entries.contains("org/bar/NewBar.class"));
+        Assertions.assertFalse(entries.contains("org/bar/IndexedOnlyBar.class"));
+    }
+
+    @Test
+    public void testScanWithUnsupportedIndex() throws Exception {
+        File fatJar = fatJar(FatJarPackageScanIndex.INDEX_HEADER + "\t999\n", jar("org/foo/Foo.class"), jar("org/bar/Bar.class"));
+
+        List<String> entries = scan(fatJar);
+
+        Assertions.assertTrue(entries.contains("org/foo/Foo.class"));
+        Assertions.assertTrue(entries.contains("org/bar/Bar.class"));
+    }
+
+    @Test
+    public void testScanWithIndexWithoutResources() throws Exception {
+        // the first version of the index has no resource lines, so the nested jars must be inspected
+        byte[] foo = jar("org/foo/Foo.class", "camel/foo-routes.xml");
+        String index = FatJarPackageScanIndex.INDEX_HEADER + "\t1\n"
+                       + "J\tfoo.jar\t" + foo.length + "\n"
+                       + "P\torg/foo\tFoo\tIndexedOnly\n";
+        File fatJar = fatJar(index, foo, jar("org/bar/Bar.class"));
+
+        FatJarPackageScanResourceResolver resolver = new FatJarPackageScanResourceResolver(new FatJarPackageScanCache());
+        List<String> resources = resolver.doLoadImplementationsInJar("camel/", new FileInputStream(fatJar), fatJar.getAbsolutePath());
+        Assertions.assertEquals(List.of("camel/foo-routes.xml"), resources);
+        Assertions.assertFalse(scan(fatJar).contains("org/foo/IndexedOnly.class"));
+    }
+
+    @Test
+    public void testSharedScanCache() throws Exception {
+        String index = FatJarPackageScanIndex.INDEX_HEADER + "\t" + FatJarPackageScanIndex.INDEX_VERSION + "\n"
+                       + "J\tfoo.jar\t" + jarInfo(jar("org/foo/Foo.class")) + "\n"
+                       + "P\torg/foo\tFoo\n"
+                       + "R\tcamel\tfoo-routes.xml\n";
+        File fatJar = fatJar(index, jar("org/foo/Foo.class"), jar("org/bar/Bar.class", "camel/bar-routes.xml", "camelot/king.txt"));
+
+        FatJarPackageScanCache cache = new FatJarPackageScanCache();
+        FatJarPackageScanClassResolver classResolver = new FatJarPackageScanClassResolver(cache);
+        FatJarPackageScanResourceResolver resourceResolver = new FatJarPackageScanResourceResolver(cache);
+
+        List<String> classes = classResolver.doLoadJarClassEntries(new FileInputStream(fatJar), fatJar.getAbsolutePath());
+        Assertions.assertTrue(classes.contains("org/foo/Foo.class"));
+        Assertions.assertTrue(classes.contains("org/bar/Bar.class"));
+        Assertions.assertEquals(1, cache.size());
+
+        List<String> resources = resourceResolver.doLoadImplementationsInJar("camel/", new FileInputStream(fatJar), fatJar.getAbsolutePath());
+        Assertions.assertEquals(2, resources.size());
+        Assertions.assertTrue(resources.contains("camel/foo-routes.xml"));
+        Assertions.assertTrue(resources.contains("camel/bar-routes.xml"));
+        Assertions.assertEquals(1, cache.size());
+
+        // same prefix semantic as when scanning the jar
+        resources = resourceResolver.doLoadImplementationsInJar("camel", new FileInputStream(fatJar), fatJar.getAbsolutePath());
+        Assertions.assertEquals(3, resources.size());
+        Assertions.assertTrue(resources.contains("camelot/king.txt"));
+
+        cache.onCamelContextFullyStarted(null, false);
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testParallelScan() throws Exception {
+        File fatJar = fatJar(null, jar("org/foo/Foo.class", "org/foo/Foo2.class"), jar("org/bar/Bar.class", "camel/bar-routes.xml"));
+
+        List<String> sequential = scan(fatJar);
+
+        FatJarPackageScanCache cache = new FatJarPackageScanCache(4);
+        FatJarPackageScanClassResolver resolver = new FatJarPackageScanClassResolver(cache);
+        List<String> parallel = resolver.doLoadJarClassEntries(new FileInputStream(fatJar), fatJar.getAbsolutePath());
+
+        // same entries in the same order
+        Assertions.assertEquals(sequential, parallel);
+        Assertions.assertEquals(List.of("camel/bar-routes.xml"), cache.getJarEntries(fatJar.getAbsolutePath()).getResourceEntries("camel/"));
+    }
+
+    private List<String> scan(File fatJar) throws IOException {
+        FatJarPackageScanClassResolver resolver = new FatJarPackageScanClassResolver();
+        return resolver.doLoadJarClassEntries(new FileInputStream(fatJar), fatJar.getAbsolutePath());
+    }
+
+    private File fatJar(String index, byte[] foo, byte[] bar) throws IOException {
+        File file = tempDir.resolve("app.jar").toFile();
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file))) {
+            add(zos, "BOOT-INF/classes/org/app/App.class", new byte[] { 1 });
+            if (index != null) {
+                add(zos, "BOOT-INF/classes/" + FatJarPackageScanIndex.INDEX_LOCATION, index.getBytes(StandardCharsets.UTF_8));
+            }
+            add(zos, "BOOT-INF/lib/foo.jar", foo);
+            add(zos, "BOOT-INF/lib/bar.jar", bar);
+        }
+        return file;
+    }
+
+    private static byte[] jar(String... classes) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(bos)) {
+            for (String name : classes) {
+                add(zos, name, new byte[] { 1 });
+            }
+        }
+        return bos.toByteArray();
+    }
+
+    private static String jarInfo(byte[] jar) {
+        CRC32 crc = new CRC32();
+        crc.update(jar);
+        return jar.length + "\t" + Long.toHexString(crc.getValue());
+    }
+
+    private static void add(ZipOutputStream zos, String name, byte[] data) throws IOException {
+        zos.putNextEntry(new ZipEntry(name));
+        zos.write(data);
+        zos.closeEntry();
+    }
+
+}
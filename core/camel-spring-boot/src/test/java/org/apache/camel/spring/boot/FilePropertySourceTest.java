@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.GenericApplicationContext;
+
+public class FilePropertySourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testReload() throws Exception {
+        write("a.properties", "foo=1\n");
+        write("b.properties", "bar=2\nbaz=3\n");
+
+        try (GenericApplicationContext applicationContext = new GenericApplicationContext()) {
+            applicationContext.refresh();
+            FilePropertySource source = new FilePropertySource("test", applicationContext, location());
+            Assertions.assertEquals("1", source.getProperty("foo"));
+            Assertions.assertEquals("2", source.getProperty("bar"));
+
+            // nothing changed
+            Assertions.assertTrue(source.reload().isEmpty());
+
+            write("b.properties", "bar=22\nbaz=3\n");
+            write("c.properties", "qux=4\n");
+            Assertions.assertEquals(Set.of("bar", "qux"), source.reload());
+            Assertions.assertEquals("22", source.getProperty("bar"));
+            Assertions.assertEquals("3", source.getProperty("baz"));
+            Assertions.assertEquals("4", source.getProperty("qux"));
+
+            Files.delete(tempDir.resolve("c.properties"));
+            Assertions.assertEquals(Set.of("qux"), source.reload());
+            Assertions.assertNull(source.getProperty("qux"));
+        }
+    }
+
+    @Test
+    public void testReloadReadFailure() throws Exception {
+        write("a.properties", "foo=1\n");
+        write("b.properties", "bar=2\n");
+
+        try (GenericApplicationContext applicationContext = new GenericApplicationContext()) {
+            applicationContext.refresh();
+            FilePropertySource source = new FilePropertySource("test", applicationContext, location());
+
+            // the file cannot be read (a directory with the same name)
+            Files.delete(tempDir.resolve("b.properties"));
+            Files.createDirectory(tempDir.resolve("b.properties"));
+            write("a.properties", "foo=11\n");
+            Assertions.assertEquals(Set.of("foo"), source.reload());
+            Assertions.assertEquals("11", source.getProperty("foo"));
+            Assertions.assertEquals("2", source.getProperty("bar"));
+        }
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        write("a.properties", "foo=1\n");
+
+        BlockingQueue<CamelPropertiesChangedEvent> events = new LinkedBlockingQueue<>();
+        try (GenericApplicationContext applicationContext = new GenericApplicationContext()) {
+            applicationContext.addApplicationListener(event -> {
+                if (event instanceof CamelPropertiesChangedEvent) {
+                    events.add((CamelPropertiesChangedEvent) event);
+                }
+            });
+            applicationContext.refresh();
+
+            try (FilePropertySource source = new FilePropertySource("test", applicationContext, location())) {
+                source.startWatching();
+
+                write("a.properties", "foo=11\n");
+                // the watch service may poll for changes (such as on macOS)
+                CamelPropertiesChangedEvent event = events.poll(30, TimeUnit.SECONDS);
+                Assertions.assertNotNull(event);
+                Assertions.assertEquals(Set.of("foo"), event.getKeys());
+                Assertions.assertEquals("11", source.getProperty("foo"));
+            }
+        }
+    }
+
+    private String location() {
+        return "file:" + tempDir.toAbsolutePath() + "/*.properties";
+    }
+
+    private void write(String name, String content) throws Exception {
+        Files.write(tempDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.direct.DirectComponent;
+import org.apache.camel.spi.BeanRepository;
+import org.apache.camel.spi.ComponentCustomizer;
+import org.apache.camel.spring.boot.util.ConditionalOnHierarchicalProperties;
+import org.apache.camel.support.DefaultRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+
+@DirtiesContext
+@CamelSpringBootTest
+@SpringBootTest(
+    classes = {
+        CamelAutoConfiguration.class,
+        LazyComponentsTest.DirectStarterConfiguration.class,
+        LazyComponentsTest.SedaStarterConfiguration.class,
+        LazyComponentsTest.TestRoute.class
+    },
+    properties = {
+        "camel.springboot.lazy-components=true"
+    }
+)
+public class LazyComponentsTest {
+
+    private static final AtomicBoolean DIRECT_STARTER_CREATED = new AtomicBoolean();
+    private static final AtomicBoolean SEDA_STARTER_CREATED = new AtomicBoolean();
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Test
+    public void testLazyComponents() {
+        DirectComponent direct = camelContext.getComponent("direct", DirectComponent.class);
+        Assertions.assertTrue(DIRECT_STARTER_CREATED.get());
+        Assertions.assertEquals(1234, direct.getTimeout());
+
+        // seda is not used by any route so its starter is not created
+        Assertions.assertFalse(SEDA_STARTER_CREATED.get());
+
+        LazyComponentsBeanRepository repository = null;
+        for (BeanRepository rep : ((DefaultRegistry) camelContext.getRegistry()).getRepositories()) {
+            if (rep instanceof LazyComponentsBeanRepository) {
+                repository = (LazyComponentsBeanRepository) rep;
+            }
+        }
+        Assertions.assertNotNull(repository);
+        Assertions.assertTrue(repository.getUsedComponents().contains("direct"));
+        Assertions.assertTrue(repository.getUnusedComponents().contains("seda"));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnHierarchicalProperties({"camel.component", "camel.component.direct"})
+    public static class DirectStarterConfiguration {
+
+        public DirectStarterConfiguration() {
+            DIRECT_STARTER_CREATED.set(true);
+        }
+
+        @Bean
+        public ComponentCustomizer configureDirectComponent() {
+            return new ComponentCustomizer() {
+                @Override
+                public void configure(String name, Component target) {
+                    ((DirectComponent) target).setTimeout(1234);
+                }
+
+                @Override
+                public boolean isEnabled(String name, Component target) {
+                    return target instanceof DirectComponent;
+                }
+            };
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnHierarchicalProperties({"camel.component", "camel.component.seda"})
+    public static class SedaStarterConfiguration {
+
+        public SedaStarterConfiguration() {
+            SEDA_STARTER_CREATED.set(true);
+        }
+
+        @Bean
+        public ComponentCustomizer configureSedaComponent() {
+            return new ComponentCustomizer() {
+                @Override
+                public void configure(String name, Component target) {
+                    // noop
+                }
+            };
+        }
+    }
+
+    @Configuration
+    public static class TestRoute {
+
+        @Bean
+        public RouteBuilder routeBuilder() {
+            return new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:start").to("log:lazy");
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.ShutdownRoute;
+import org.apache.camel.StatefulService;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.DefaultShutdownStrategy;
+import org.apache.camel.spi.RouteStartupOrder;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+
+@DirtiesContext
+@CamelSpringBootTest
+@SpringBootTest(
+    classes = {
+        CamelAutoConfiguration.class,
+        ParallelShutdownStrategyTest.TestConfiguration.class
+    },
+    properties = {
+        "camel.springboot.shutdown-routes-parallelism = 4",
+        "camel.springboot.shutdown-timeout = 20"
+    }
+)
+public class ParallelShutdownStrategyTest {
+
+    @Autowired
+    private CamelContext context;
+
+    @Autowired
+    private ProducerTemplate template;
+
+    @Test
+    public void testParallelShutdown() throws Exception {
+        Assertions.assertTrue(context.getShutdownStrategy() instanceof ParallelShutdownStrategy);
+        ParallelShutdownStrategy strategy = (ParallelShutdownStrategy) context.getShutdownStrategy();
+        Assertions.assertEquals(4, strategy.getParallelism());
+        Assertions.assertEquals(20, strategy.getTimeout());
+
+        List<RouteStartupOrder> routes = context.adapt(ExtendedCamelContext.class).getRouteStartupOrder();
+        List<Set<String>> waves = strategy.planWaves(context, routes).stream()
+                .map(wave -> wave.stream().map(r -> r.getRoute().getRouteId()).collect(Collectors.toSet()))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(Arrays.asList(
+                new HashSet<>(Arrays.asList("front", "solo-1", "solo-2")),
+                new HashSet<>(Arrays.asList("middle")),
+                new HashSet<>(Arrays.asList("back")),
+                new HashSet<>(Arrays.asList("deferred"))), waves);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("direct:front", "Hello " + i);
+        }
+        context.stop();
+
+        // the inflight exchanges are completed before the routes they send to are shutdown
+        Assertions.assertEquals(5, context.getEndpoint("mock:back", MockEndpoint.class).getReceivedCounter());
+        Assertions.assertFalse(strategy.hasTimeoutOccurred());
+    }
+
+    @Test
+    public void testShutdownNowOnTimeout() throws Exception {
+        CamelContext context = createSlowCamelContext();
+        List<DefaultShutdownStrategy> created = new CopyOnWriteArrayList<>();
+        ParallelShutdownStrategy strategy = createStrategy(context, created);
+        try {
+            List<RouteStartupOrder> routes = context.adapt(ExtendedCamelContext.class).getRouteStartupOrder();
+            StopWatch watch = new StopWatch();
+            Assertions.assertTrue(strategy.doShutdown(context, routes, 1, TimeUnit.SECONDS, false, false, false));
+
+            // the slow route is forced to shutdown on timeout, and the next wave is forced to shutdown too
+            Assertions.assertTrue(watch.taken() < 4000);
+            Assertions.assertTrue(strategy.hasTimeoutOccurred());
+            Assertions.assertTrue(((StatefulService) context.getRoute("slow").getConsumer()).isStopped());
+            Assertions.assertTrue(((StatefulService) context.getRoute("after").getConsumer()).isStopped());
+            // the strategies of the routes are shutdown
+            Assertions.assertEquals(2, created.size());
+            created.forEach(s -> Assertions.assertTrue(s.isShutdown()));
+        } finally {
+            context.stop();
+        }
+    }
+
+    @Test
+    public void testAbortAfterTimeout() throws Exception {
+        CamelContext context = createSlowCamelContext();
+        List<DefaultShutdownStrategy> created = new CopyOnWriteArrayList<>();
+        ParallelShutdownStrategy strategy = createStrategy(context, created);
+        try {
+            List<RouteStartupOrder> routes = context.adapt(ExtendedCamelContext.class).getRouteStartupOrder();
+            Assertions.assertFalse(strategy.doShutdown(context, routes, 1, TimeUnit.SECONDS, false, true, false));
+
+            // the routes of the next wave are left alone
+            Assertions.assertTrue(strategy.hasTimeoutOccurred());
+            Assertions.assertTrue(((StatefulService) context.getRoute("after").getConsumer()).isStarted());
+            Assertions.assertEquals(1, created.size());
+            Assertions.assertTrue(created.get(0).isShutdown());
+        } finally {
+            context.stop();
+        }
+    }
+
+    private static CamelContext createSlowCamelContext() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:slow").routeId("slow")
+                    .delay(5000)
+                    .to("seda:after");
+                from("seda:after").routeId("after")
+                    .to("mock:after");
+            }
+        });
+        context.start();
+
+        context.createProducerTemplate().sendBody("seda:slow", "Hello");
+        StopWatch watch = new StopWatch();
+        while (context.getInflightRepository().size() == 0 && watch.taken() < 5000) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1, context.getInflightRepository().size());
+        return context;
+    }
+
+    private static ParallelShutdownStrategy createStrategy(CamelContext context, List<DefaultShutdownStrategy> created) {
+        ParallelShutdownStrategy strategy = new ParallelShutdownStrategy(context, 2) {
+            @Override
+            protected DefaultShutdownStrategy createRouteShutdownStrategy(CamelContext context) {
+                DefaultShutdownStrategy answer = super.createRouteShutdownStrategy(context);
+                created.add(answer);
+                return answer;
+            }
+        };
+        strategy.setTimeout(1);
+        context.setShutdownStrategy(strategy);
+        return strategy;
+    }
+
+    // *************************************
+    // Config
+    // *************************************
+
+    @Configuration
+    public static class TestConfiguration {
+        @Bean
+        public RouteBuilder routeBuilder() {
+            return new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:front").routeId("front")
+                        .to("seda:middle");
+                    from("seda:middle").routeId("middle")
+                        .delay(100)
+                        .to("direct:back");
+                    from("direct:back").routeId("back")
+                        .to("mock:back");
+                    from("seda:solo1").routeId("solo-1")
+                        .to("mock:solo");
+                    from("seda:solo2").routeId("solo-2")
+                        .to("mock:solo");
+                    from("seda:deferred").routeId("deferred").shutdownRoute(ShutdownRoute.Defer)
+                        .to("mock:deferred");
+                }
+            };
+        }
+    }
+}
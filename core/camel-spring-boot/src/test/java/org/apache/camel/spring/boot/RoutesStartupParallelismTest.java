@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.ServiceStatus;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.health.HealthCheck;
+import org.apache.camel.health.HealthCheckRegistry;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spring.boot.routetemplate.CamelRouteTemplateAutoConfiguration;
+import org.apache.camel.support.EventNotifierSupport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+
+@DirtiesContext
+@CamelSpringBootTest
+@SpringBootTest(
+    classes = {
+        CamelAutoConfiguration.class,
+        CamelRouteTemplateAutoConfiguration.class,
+        RoutesStartupParallelismTest.TestRoutes.class
+    },
+    properties = {
+        "camel.springboot.routes-startup-parallelism=4",
+        "camel.routetemplate.config[0].templateId=myTemplate",
+        "camel.routetemplate.config[0].routeId=templated",
+        "camel.routetemplate.config[0].name=templated"
+    }
+)
+public class RoutesStartupParallelismTest {
+
+    // the ids of the routes in the order they were started, and the state of the routes startup health check then
+    private static final List<String> STARTED = new CopyOnWriteArrayList<>();
+    private static final List<HealthCheck.State> STATES = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Autowired
+    private ProducerTemplate template;
+
+    @Test
+    public void testParallelStartup() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(ServiceStatus.Started, camelContext.getRouteController().getRouteStatus("route" + i));
+        }
+        Assertions.assertEquals(ServiceStatus.Started, camelContext.getRouteController().getRouteStatus("first"));
+        Assertions.assertEquals(ServiceStatus.Stopped, camelContext.getRouteController().getRouteStatus("manual"));
+        // including the routes created from route templates
+        Assertions.assertEquals(ServiceStatus.Started, camelContext.getRouteController().getRouteStatus("templated"));
+
+        MockEndpoint mock = camelContext.getEndpoint("mock:result", MockEndpoint.class);
+        mock.expectedMessageCount(1);
+        template.sendBody("direct:route5", "Hello");
+        mock.assertIsSatisfied();
+    }
+
+    @Test
+    public void testStartupOrder() throws Exception {
+        // the routes are started in groups by their startup order, and the routes without startup order last
+        Assertions.assertEquals("first", STARTED.get(0));
+        Assertions.assertEquals("second", STARTED.get(1));
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(STARTED.indexOf("route" + i) > 1);
+        }
+        Assertions.assertTrue(STARTED.indexOf("templated") > 1);
+        Assertions.assertFalse(STARTED.contains("manual"));
+    }
+
+    @Test
+    public void testNotReadyWhileStarting() throws Exception {
+        // the application is not ready while the routes are being started
+        Assertions.assertFalse(STATES.isEmpty());
+        Assertions.assertTrue(STATES.stream().allMatch(state -> state == HealthCheck.State.DOWN));
+        // and the health check is removed afterwards
+        HealthCheckRegistry registry = camelContext.getExtension(HealthCheckRegistry.class);
+        Assertions.assertFalse(registry.getCheck("routes-startup").isPresent());
+    }
+
+    @Test
+    public void testAutoStartupRestored() throws Exception {
+        Assertions.assertTrue(camelContext.isAutoStartup());
+
+        // routes added later are started by camel
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:later").routeId("later").to("mock:later");
+            }
+        });
+        Assertions.assertEquals(ServiceStatus.Started, camelContext.getRouteController().getRouteStatus("later"));
+    }
+
+    @Configuration
+    public static class TestRoutes {
+
+        @Bean
+        public RouteBuilder firstRoutes() {
+            return new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:first").routeId("first").startupOrder(1).to("mock:result");
+                    from("direct:second").routeId("second").startupOrder(2).to("mock:result");
+                    from("direct:manual").routeId("manual").autoStartup(false).to("mock:result");
+                }
+            };
+        }
+
+        @Bean
+        public RouteBuilder otherRoutes() {
+            return new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    for (int i = 0; i < 10; i++) {
+                        from("direct:route" + i).routeId("route" + i).to("direct:first");
+                    }
+                    routeTemplate("myTemplate").templateParameter("name")
+                        .from("direct:{{name}}")
+                        .to("mock:result");
+                }
+            };
+        }
+
+        @Bean
+        public CamelContextConfiguration startedRoutes() {
+            return new CamelContextConfiguration() {
+                @Override
+                public void beforeApplicationStart(CamelContext camelContext) {
+                    camelContext.getManagementStrategy().addEventNotifier(new EventNotifierSupport() {
+                        @Override
+                        public void notify(CamelEvent event) throws Exception {
+                            STARTED.add(((CamelEvent.RouteStartedEvent) event).getRoute().getRouteId());
+                            camelContext.getExtension(HealthCheckRegistry.class).getCheck("routes-startup")
+                                .ifPresent(check -> STATES.add(check.call().getState()));
+                        }
+
+                        @Override
+                        public boolean isEnabled(CamelEvent event) {
+                            return event.getType() == CamelEvent.Type.RouteStarted;
+                        }
+                    });
+                }
+
+                @Override
+                public void afterApplicationStart(CamelContext camelContext) {
+                    // noop
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+public class SpringPropertiesParserTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpringPropertiesParserTest.class);
+
+    @Test
+    public void testCache() throws Exception {
+        Map<String, Object> map = new HashMap<>();
+        map.put("foo", "123");
+        StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new MapPropertySource("test", map));
+
+        SpringPropertiesParser parser = new SpringPropertiesParser(env);
+        parser.setCacheEnabled(true);
+
+        Assertions.assertEquals("123", parser.parseProperty("foo", null, null));
+        Assertions.assertEquals("123", parser.parseProperty("foo", null, null));
+        Assertions.assertNull(parser.parseProperty("bar", null, null));
+        Assertions.assertNull(parser.parseProperty("bar", null, null));
+        Assertions.assertEquals(2, parser.getCacheHits());
+        Assertions.assertEquals(2, parser.getCacheMisses());
+        Assertions.assertEquals(2, parser.getCacheSize());
+
+        // the cached values are kept until the properties are changed
+        map.put("foo", "456");
+        map.put("bar", "789");
+        Assertions.assertEquals("123", parser.parseProperty("foo", null, null));
+        parser.onApplicationEvent(new CamelPropertiesChangedEvent(this, Collections.singleton("foo")));
+        Assertions.assertEquals("456", parser.parseProperty("foo", null, null));
+        // the whole cache is cleared even if only some keys have changed
+        Assertions.assertEquals("789", parser.parseProperty("bar", null, null));
+        Assertions.assertEquals(3, parser.getCacheHits());
+        Assertions.assertEquals(2, parser.getCacheSize());
+
+        map.put("foo", "abc");
+        parser.onApplicationEvent(new CamelPropertiesChangedEvent(this, Collections.emptySet()));
+        Assertions.assertEquals("abc", parser.parseProperty("foo", null, null));
+        Assertions.assertEquals(3, parser.getCacheHits());
+    }
+
+    @Test
+    public void testCacheDisabled() throws Exception {
+        Map<String, Object> map = new HashMap<>();
+        map.put("foo", "123");
+        StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new MapPropertySource("test", map));
+
+        SpringPropertiesParser parser = new SpringPropertiesParser(env);
+        Assertions.assertEquals("123", parser.parseProperty("foo", null, null));
+        map.put("foo", "456");
+        Assertions.assertEquals("456", parser.parseProperty("foo", null, null));
+        Assertions.assertEquals(0, parser.getCacheSize());
+    }
+
+    /**
+     * Benchmark of the cost of resolving a property per message, from an environment with 50 property sources.
+     */
+    @Test
+    public void testLookupCost() throws Exception {
+        StandardEnvironment env = new StandardEnvironment();
+        for (int i = 0; i < 50; i++) {
+            env.getPropertySources().addFirst(new MapPropertySource("source" + i, Collections.singletonMap("key" + i, "value" + i)));
+        }
+
+        SpringPropertiesParser uncached = new SpringPropertiesParser(env);
+        SpringPropertiesParser cached = new SpringPropertiesParser(env);
+        cached.setCacheEnabled(true);
+
+        int lookups = 200000;
+        // warm up
+        lookupCost(uncached, lookups);
+        lookupCost(cached, lookups);
+
+        double before = lookupCost(uncached, lookups);
+        double after = lookupCost(cached, lookups);
+        LOG.info("Cost of {} lookups from 50 property sources: {} ns/lookup without cache, {} ns/lookup with cache (hit rate {}%)",
+                lookups, Math.round(before), Math.round(after),
+                Math.round(100.0 * cached.getCacheHits() / (cached.getCacheHits() + cached.getCacheMisses())));
+    }
+
+    private static double lookupCost(SpringPropertiesParser parser, int lookups) {
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            // the first property source is queried last
+            Assertions.assertEquals("value0", parser.parseProperty("key0", null, null));
+        }
+        return (System.nanoTime() - start) / (double) lookups;
+    }
+
+}
@@ -32,6 +32,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.ConverterNotFoundException;
+import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.test.annotation.DirtiesContext;
@@ -71,6 +72,41 @@ public class SpringTypeConverterTest {
         Assertions.assertNull(converter.convertTo(String.class, source));
     }
 
+    @Test
+    public void testConversionDecisionIsCached() {
+        CountingConversionService service = new CountingConversionService();
+        SpringTypeConverter converter = new SpringTypeConverter(Arrays.asList(service));
+
+        Assertions.assertEquals(Integer.valueOf(1), converter.convertTo(Integer.class, "1"));
+        Assertions.assertEquals(Integer.valueOf(2), converter.convertTo(Integer.class, "2"));
+        Assertions.assertEquals(1, service.canConvertCount);
+
+        // not convertible pairs are cached as well
+        Assertions.assertNull(converter.convertTo(Runnable.class, "Name"));
+        Assertions.assertNull(converter.convertTo(Runnable.class, "Name"));
+        Assertions.assertEquals(2, service.canConvertCount);
+
+        // camel types are never converted and do not query the conversion services
+        Assertions.assertNull(converter.convertTo(Person.class, "Name"));
+        Assertions.assertNull(converter.convertTo(Person[].class, Arrays.asList("Name")));
+        Assertions.assertNull(converter.convertTo(Person[][].class, "Name"));
+        Assertions.assertEquals(2, service.canConvertCount);
+
+        converter.clearCache();
+        Assertions.assertEquals(Integer.valueOf(3), converter.convertTo(Integer.class, "3"));
+        Assertions.assertEquals(3, service.canConvertCount);
+    }
+
+    private static class CountingConversionService extends DefaultConversionService {
+        private int canConvertCount;
+
+        @Override
+        public boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+            canConvertCount++;
+            return super.canConvert(sourceType, targetType);
+        }
+    }
+
     public static class Person {
         private String name;
         private int age;
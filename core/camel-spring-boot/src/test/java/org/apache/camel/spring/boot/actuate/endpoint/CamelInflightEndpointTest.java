@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelInflightEndpoint.InflightEndpointInfo;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelInflightEndpoint.InflightExchangeInfo;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+
+/*
+ * Test for the {@link CamelInflightEndpoint} actuator endpoint.
+ */
+@DirtiesContext
+@CamelSpringBootTest
+@EnableAutoConfiguration
+@SpringBootApplication
+@SpringBootTest(
+    classes = {CamelAutoConfiguration.class, CamelInflightEndpointAutoConfiguration.class,
+               CamelInflightEndpointTest.TestConfiguration.class},
+    properties = {"management.endpoints.web.exposure.include=*",
+                  "camel.springboot.inflight-sampling-enabled=true",
+                  "camel.springboot.inflight-sampling-rate=1",
+                  "camel.springboot.inflight-sampling-capacity=2"}
+)
+public class CamelInflightEndpointTest {
+
+    private static final CountDownLatch LATCH = new CountDownLatch(1);
+
+    @Autowired
+    CamelInflightEndpoint endpoint;
+
+    @Autowired
+    ProducerTemplate template;
+
+    @Test
+    public void testInflightEndpoint() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("seda:slow", "Hello " + i);
+        }
+        InflightEndpointInfo info = awaitInflight(3);
+        Assertions.assertEquals(CamelInflightEndpoint.SOURCE_SAMPLER, info.getSource());
+        Assertions.assertEquals(1, info.getSamplingRate());
+        Assertions.assertEquals(2, info.getCapacity());
+        // only 2 of the exchanges can be tracked at the same time
+        Assertions.assertEquals(2, info.getExchanges().size());
+        Assertions.assertEquals(2, info.getSampled());
+        Assertions.assertEquals(1, info.getDropped());
+
+        InflightExchangeInfo slowest = info.getExchanges().get(0);
+        Assertions.assertEquals("slow", slowest.getFromRouteId());
+        Assertions.assertEquals("slow", slowest.getAtRouteId());
+        Assertions.assertTrue(slowest.getThreadName().contains("seda://slow"), slowest.getThreadName());
+        Assertions.assertTrue(slowest.getElapsed() >= info.getExchanges().get(1).getElapsed());
+
+        Assertions.assertEquals(1, endpoint.readInflight(1).getExchanges().size());
+
+        LATCH.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!endpoint.readInflight(null).getExchanges().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertTrue(endpoint.readInflight(null).getExchanges().isEmpty());
+    }
+
+    private InflightEndpointInfo awaitInflight(int total) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        InflightEndpointInfo info = endpoint.readInflight(null);
+        while (info.getTotal() < total && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            info = endpoint.readInflight(null);
+        }
+        Assertions.assertEquals(total, info.getTotal());
+        return info;
+    }
+
+    // *************************************
+    // Config
+    // *************************************
+
+    @Configuration
+    public static class TestConfiguration {
+        @Bean
+        public RouteBuilder routeBuilder() {
+            return new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("seda:slow?concurrentConsumers=3").routeId("slow")
+                        .process(e -> LATCH.await(10, TimeUnit.SECONDS)).id("wait");
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ServiceStatus;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint.BulkActionReport;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint.RouteActionStatus;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint.WriteAction;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+
+/*
+ * Test for the bulk write operations of the {@link CamelRoutesEndpoint} actuator endpoint.
+ */
+@DirtiesContext
+@CamelSpringBootTest
+@EnableAutoConfiguration
+@SpringBootApplication
+@SpringBootTest(classes = {CamelAutoConfiguration.class, CamelRoutesEndpointAutoConfiguration.class, ActuatorTestRoute.class,
+                           CamelRoutesEndpointBulkActionTest.TestConfiguration.class},
+                properties = {"management.endpoints.web.exposure.include=*", "management.endpoint.camelroutes.read-only=false"})
+public class CamelRoutesEndpointBulkActionTest {
+
+    @Autowired
+    CamelRoutesEndpoint endpoint;
+
+    @Autowired
+    CamelContext camelContext;
+
+    @Test
+    public void testBulkAction() throws Exception {
+        BulkActionReport report = endpoint.doBulkAction(WriteAction.SUSPEND, null, "bulk", 10L, null, 2);
+        Assertions.assertEquals(3, report.getTotal());
+        Assertions.assertEquals(3, report.getSucceeded());
+        Assertions.assertTrue(report.getRoutes().stream().allMatch(r -> r.getStatus() == RouteActionStatus.SUCCESS));
+        Assertions.assertEquals(ServiceStatus.Suspended, camelContext.getRouteController().getRouteStatus("bulk-1"));
+        Assertions.assertEquals(ServiceStatus.Started, camelContext.getRouteController().getRouteStatus("foo-route"));
+
+        report = endpoint.doBulkAction(WriteAction.RESUME, "bulk-*", null, null, null, null);
+        Assertions.assertEquals(3, report.getSucceeded());
+        Assertions.assertEquals(ServiceStatus.Started, camelContext.getRouteController().getRouteStatus("bulk-1"));
+
+        report = endpoint.doBulkAction(WriteAction.STOP, "bulk-2", null, 10L, true, null);
+        Assertions.assertEquals(1, report.getTotal());
+        Assertions.assertEquals("bulk-2", report.getRoutes().get(0).getId());
+        Assertions.assertEquals(ServiceStatus.Stopped, camelContext.getRouteController().getRouteStatus("bulk-2"));
+
+        report = endpoint.doBulkAction(WriteAction.STOP, "unknown-*", null, null, null, null);
+        Assertions.assertEquals(0, report.getTotal());
+    }
+
+    @Test
+    public void testBulkActionWithoutFilter() throws Exception {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> endpoint.doBulkAction(WriteAction.STOP, null, null, null, null, null));
+        Assertions.assertEquals(ServiceStatus.Started, camelContext.getRouteController().getRouteStatus("bulk-1"));
+    }
+
+    @Test
+    public void testBulkActionTimeout() throws Exception {
+        // keep the first route busy so it cannot be stopped within the timeout
+        camelContext.createProducerTemplate().asyncSendBody("direct:slow-1", "slow");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (camelContext.getInflightRepository().size("slow-1") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // one route at a time so the second route is still waiting when the timeout is reached
+        BulkActionReport report = endpoint.doBulkAction(WriteAction.STOP, null, "slow", 1L, true, 1);
+        Assertions.assertEquals(2, report.getTotal());
+        Assertions.assertEquals("slow-2", report.getRoutes().get(1).getId());
+        Assertions.assertEquals(RouteActionStatus.TIMEOUT, report.getRoutes().get(1).getStatus());
+
+        // and the route reported as timed out is not stopped afterwards
+        Thread.sleep(2000);
+        Assertions.assertEquals(ServiceStatus.Started, camelContext.getRouteController().getRouteStatus("slow-2"));
+    }
+
+    @Configuration
+    public static class TestConfiguration {
+
+        @Bean
+        public RouteBuilder bulkRoutes() {
+            return new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("timer:bulk1").routeId("bulk-1").routeGroup("bulk").to("log:bulk");
+                    from("timer:bulk2").routeId("bulk-2").routeGroup("bulk").to("log:bulk");
+                    from("timer:bulk3").routeId("bulk-3").routeGroup("bulk").to("log:bulk");
+                    from("direct:slow-1").routeId("slow-1").routeGroup("slow").delay(5000).to("log:slow");
+                    from("direct:slow-2").routeId("slow-2").routeGroup("slow").to("log:slow");
+                }
+            };
+        }
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.apache.camel.spring.boot.actuate.endpoint;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.spring.boot.CamelAutoConfiguration;
@@ -25,12 +26,14 @@ import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint.RouteDe
 import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint.RouteEndpointInfo;
 import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint.TimeInfo;
 import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint.WriteAction;
+import org.apache.camel.util.IOHelper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
 import org.springframework.test.annotation.DirtiesContext;
 import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
 
@@ -49,6 +52,9 @@ public class CamelRoutesEndpointTest {
     @Autowired
     CamelRoutesEndpoint endpoint;
 
+    @Autowired
+    CamelRoutesWebEndpointExtension webExtension;
+
     @Autowired
     CamelContext camelContext;
 
@@ -66,6 +72,36 @@ public class CamelRoutesEndpointTest {
                 .anyMatch(r -> r.getProperties().containsKey("key2") && "val2".equals(r.getProperties().get("key2"))));
     }
 
+    @Test
+    public void testRoutesEndpointFiltered() throws Exception {
+        List<?> routes = endpoint.readRoutes(null, null, "foo-route-group", "started", "foo-*", null, null);
+        Assertions.assertEquals(1, routes.size());
+        Assertions.assertEquals("foo-route", ((RouteEndpointInfo) routes.get(0)).getId());
+
+        routes = endpoint.readRoutes(null, null, "unknown-group", null, null, null, null);
+        Assertions.assertTrue(routes.isEmpty());
+
+        routes = endpoint.readRoutes(1, 10, null, null, null, null, null);
+        Assertions.assertEquals(camelContext.getRoutes().size() - 1, routes.size());
+
+        routes = endpoint.readRoutes(null, null, null, null, "foo-route", "id,status", true);
+        Map<?, ?> route = (Map<?, ?>) routes.get(0);
+        Assertions.assertEquals("foo-route", route.get("id"));
+        Assertions.assertEquals("Started", route.get("status"));
+        Assertions.assertFalse(route.containsKey("group"));
+        Assertions.assertTrue(route.containsKey("details"));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> endpoint.readRoutes(null, null, null, null, null, "id,unknown", null));
+    }
+
+    @Test
+    public void testRoutesEndpointStream() throws Exception {
+        Resource resource = (Resource) webExtension.readRoutes(null, null, "foo-route-group", null, null, "id,group", null, true);
+        String json = IOHelper.loadText(resource.getInputStream()).trim();
+        Assertions.assertEquals("[{\"id\":\"foo-route\",\"group\":\"foo-route-group\"}]", json);
+    }
+
     @Test
     public void testReadOperation() throws Exception {
         Object answer = endpoint.doReadAction("foo-route", ReadAction.INFO);
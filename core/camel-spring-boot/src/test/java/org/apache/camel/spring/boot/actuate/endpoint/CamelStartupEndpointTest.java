@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.spring.boot.MemoryStartupStepRecorder;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelStartupEndpoint.StartupEndpointInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+
+/*
+ * Test for the {@link CamelStartupEndpoint} actuator endpoint.
+ */
+@DirtiesContext
+@CamelSpringBootTest
+@EnableAutoConfiguration
+@SpringBootApplication
+@SpringBootTest(
+    classes = {CamelAutoConfiguration.class, CamelStartupEndpointAutoConfiguration.class, ActuatorTestRoute.class},
+    properties = {"management.endpoints.web.exposure.include=*",
+                  "camel.springboot.startup-recorder=memory"}
+)
+public class CamelStartupEndpointTest {
+
+    @Autowired
+    CamelStartupEndpoint endpoint;
+
+    @Test
+    public void testStartupEndpoint() throws Exception {
+        StartupEndpointInfo info = endpoint.readStartup();
+        Assertions.assertEquals(MemoryStartupStepRecorder.class.getName(), info.getRecorder());
+        Assertions.assertTrue(info.isEnabled());
+        Assertions.assertNotNull(info.getSteps());
+        Assertions.assertFalse(info.getSteps().isEmpty());
+        // sub steps are nested below their parent
+        Assertions.assertTrue(info.getSteps().stream().allMatch(s -> s.getLevel() == 0));
+        Assertions.assertTrue(info.getSteps().stream().anyMatch(s -> !s.getChildren().isEmpty()));
+    }
+
+    @Test
+    public void testStartupEndpointFolded() throws Exception {
+        String folded = endpoint.readStartupAs(CamelStartupEndpoint.FOLDED);
+        Assertions.assertFalse(folded.isEmpty());
+        for (String line : folded.split("\n")) {
+            Assertions.assertTrue(line.matches(".+ \\d+"), line);
+        }
+        Assertions.assertTrue(folded.contains(";"));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> endpoint.readStartupAs("unknown"));
+    }
+
+}
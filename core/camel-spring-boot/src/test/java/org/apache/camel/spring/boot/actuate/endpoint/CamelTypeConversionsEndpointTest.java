@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import java.util.Currency;
+
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.spring.boot.SpringTypeConverter;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelTypeConversionsEndpoint.TypeConversionPairInfo;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelTypeConversionsEndpoint.TypeConversionsEndpointInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+
+/*
+ * Test for the {@link CamelTypeConversionsEndpoint} actuator endpoint.
+ */
+@DirtiesContext
+@CamelSpringBootTest
+@EnableAutoConfiguration
+@SpringBootApplication
+@SpringBootTest(
+    classes = {CamelAutoConfiguration.class, CamelTypeConversionsEndpointAutoConfiguration.class, ActuatorTestRoute.class},
+    properties = {"management.endpoints.web.exposure.include=*",
+                  "camel.springboot.type-conversion-statistics-enabled=true"}
+)
+public class CamelTypeConversionsEndpointTest {
+
+    @Autowired
+    CamelTypeConversionsEndpoint endpoint;
+
+    @Autowired
+    SpringTypeConverter springTypeConverter;
+
+    @Test
+    public void testTypeConversionsEndpoint() throws Exception {
+        Assertions.assertEquals(Currency.getInstance("EUR"), springTypeConverter.convertTo(Currency.class, "EUR"));
+        Assertions.assertEquals(Currency.getInstance("USD"), springTypeConverter.convertTo(Currency.class, "USD"));
+        Assertions.assertNull(springTypeConverter.convertTo(Runnable.class, "EUR"));
+
+        TypeConversionsEndpointInfo info = endpoint.readTypeConversions(null);
+        Assertions.assertNotNull(info.getSpringFallback());
+
+        TypeConversionPairInfo currency = info.getSpringFallback().stream()
+                .filter(p -> p.getTarget().equals(Currency.class.getName()))
+                .findFirst().orElse(null);
+        Assertions.assertNotNull(currency);
+        Assertions.assertEquals(String.class.getName(), currency.getSource());
+        Assertions.assertEquals(2, currency.getAttempts());
+        Assertions.assertEquals(2, currency.getHits());
+        Assertions.assertEquals(0, currency.getMisses());
+
+        TypeConversionPairInfo runnable = info.getSpringFallback().stream()
+                .filter(p -> p.getTarget().equals(Runnable.class.getName()))
+                .findFirst().orElse(null);
+        Assertions.assertNotNull(runnable);
+        Assertions.assertEquals(1, runnable.getMisses());
+
+        Assertions.assertEquals(1, endpoint.readTypeConversions(1).getSpringFallback().size());
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.health;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+@DirtiesContext
+@CamelSpringBootTest
+@EnableAutoConfiguration
+@SpringBootApplication
+@SpringBootTest(
+    classes = {CamelAutoConfiguration.class, CamelHealthCheckAutoConfiguration.class, MyCamelRoute.class},
+    properties = {"camel.springboot.java-routes-include-pattern=**/MyCamelRoute*",
+                  "camel.health.async-enabled=true",
+                  "camel.health.async-interval=100"})
+public class CamelAsyncHealthTest {
+
+    @Autowired
+    CamelHealthCheckIndicator indicator;
+
+    @Autowired
+    CamelContext camelContext;
+
+    @Test
+    public void shouldHaveCachedHealth() throws Exception {
+        Health health = indicator.health();
+        long deadline = System.currentTimeMillis() + 10000;
+        // wait for the health checks to have been invoked in the background
+        while (!"UP".equals(health.getStatus().getCode()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            health = indicator.health();
+        }
+
+        Assertions.assertEquals("UP", health.getStatus().getCode());
+        Assertions.assertEquals("UP", health.getDetails().get("context"));
+        Assertions.assertTrue(health.getDetails().containsKey("cacheAge"));
+        Assertions.assertFalse(health.getDetails().containsKey("staleChecks"));
+    }
+
+}
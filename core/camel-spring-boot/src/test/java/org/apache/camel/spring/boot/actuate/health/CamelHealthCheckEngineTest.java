@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.health;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Predicate;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.health.HealthCheck;
+import org.apache.camel.health.HealthCheckRegistry;
+import org.apache.camel.health.HealthCheckResultBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.health.AbstractHealthCheck;
+import org.apache.camel.impl.health.DefaultHealthCheckRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+public class CamelHealthCheckEngineTest {
+
+    private CamelContext context;
+    private HealthCheckRegistry registry;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        context = new DefaultCamelContext();
+        context.start();
+        registry = new DefaultHealthCheckRegistry();
+        registry.setCamelContext(context);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        context.stop();
+    }
+
+    @Test
+    public void testNotInvokedYet() throws Exception {
+        registry.register(new TestHealthCheck("ok", () -> {
+        }));
+        CamelHealthCheckEngine engine = new CamelHealthCheckEngine(context, registry, 60000, 1000, 1, null);
+
+        // there are no cached results before the engine is started
+        Assertions.assertEquals(Status.DOWN, new CamelHealthCheckIndicator(null, context, engine, null).health().getStatus());
+        Assertions.assertEquals(Status.UNKNOWN,
+                new CamelHealthCheckIndicator(null, context, engine, HealthCheck.State.UNKNOWN).health().getStatus());
+
+        CamelHealthCheckIndicator indicator = new CamelHealthCheckIndicator(null, context, engine, null);
+        engine.start();
+        try {
+            awaitResult(engine, "ok", r -> r.getResult() != null);
+            Assertions.assertEquals(Status.UP, indicator.health().getStatus());
+        } finally {
+            engine.stop();
+        }
+
+        // and the cached results are cleared when the engine is stopped
+        Assertions.assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        registry.register(new TestHealthCheck("stuck", () -> {
+            // ignores the interrupt when timed out
+            boolean done = false;
+            while (!done) {
+                try {
+                    release.await();
+                    done = true;
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+        }));
+        registry.register(new TestHealthCheck("ok", () -> {
+        }));
+        CamelHealthCheckEngine engine = new CamelHealthCheckEngine(context, registry, 100, 200, 1, null);
+        CamelHealthCheckIndicator indicator = new CamelHealthCheckIndicator(null, context, engine, null);
+        engine.start();
+        try {
+            awaitResult(engine, "stuck", CamelHealthCheckEngine.CachedResult::isTimedOut);
+            // the other health check is invoked even though the stuck health check keeps its thread
+            awaitResult(engine, "ok", r -> r.getResult() != null);
+
+            Health health = indicator.health();
+            Assertions.assertEquals(Status.DOWN, health.getStatus());
+            Assertions.assertEquals("DOWN", health.getDetails().get("stuck"));
+            Assertions.assertEquals("UP", health.getDetails().get("ok"));
+
+            // the stuck health check is not invoked again until it returns, so its result becomes stale
+            long deadline = System.currentTimeMillis() + 10000;
+            while (!health.getDetails().containsKey("staleChecks") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                health = indicator.health();
+            }
+            Assertions.assertEquals(Collections.singletonList("stuck"), health.getDetails().get("staleChecks"));
+            Assertions.assertEquals(Status.DOWN, health.getStatus());
+        } finally {
+            release.countDown();
+            engine.stop();
+        }
+    }
+
+    @Test
+    public void testStale() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        registry.register(new TestHealthCheck("stuck", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        // a long timeout so the health check keeps the only thread beyond its interval
+        CamelHealthCheckEngine engine = new CamelHealthCheckEngine(context, registry, 100, 60000, 1, null);
+        CamelHealthCheckIndicator indicator = new CamelHealthCheckIndicator(null, context, engine, HealthCheck.State.UP);
+        engine.start();
+        try {
+            Thread.sleep(500);
+            // not invoked yet so reported with the initial state
+            Health health = indicator.health();
+            Assertions.assertEquals(Status.UP, health.getStatus());
+            Assertions.assertEquals("UP", health.getDetails().get("stuck"));
+
+            release.countDown();
+            awaitResult(engine, "stuck", r -> r.getResult() != null);
+            long now = System.currentTimeMillis();
+            CamelHealthCheckEngine.CachedResult cached = findResult(engine, "stuck");
+            Assertions.assertFalse(engine.isStale(cached, now));
+            Assertions.assertTrue(engine.isStale(cached, now + 100 + 60000 + 1));
+        } finally {
+            release.countDown();
+            engine.stop();
+        }
+    }
+
+    private static CamelHealthCheckEngine.CachedResult awaitResult(
+            CamelHealthCheckEngine engine, String id, Predicate<CamelHealthCheckEngine.CachedResult> predicate)
+            throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        CamelHealthCheckEngine.CachedResult cached = findResult(engine, id);
+        while ((cached == null || !predicate.test(cached)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            cached = findResult(engine, id);
+        }
+        Assertions.assertNotNull(cached, "No result of health check: " + id);
+        Assertions.assertTrue(predicate.test(cached), "Unexpected result of health check: " + id);
+        return cached;
+    }
+
+    private static CamelHealthCheckEngine.CachedResult findResult(CamelHealthCheckEngine engine, String id) {
+        Collection<CamelHealthCheckEngine.CachedResult> results = engine.getResults();
+        return results.stream().filter(r -> id.equals(r.getId())).findFirst().orElse(null);
+    }
+
+    private static final class TestHealthCheck extends AbstractHealthCheck {
+
+        private final Runnable task;
+
+        private TestHealthCheck(String id, Runnable task) {
+            super("test", id);
+            this.task = task;
+        }
+
+        @Override
+        protected void doCall(HealthCheckResultBuilder builder, Map<String, Object> options) {
+            task.run();
+            builder.up();
+        }
+    }
+}
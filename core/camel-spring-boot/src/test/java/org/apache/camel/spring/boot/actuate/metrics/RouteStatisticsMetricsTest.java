@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.metrics;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spring.boot.statistics.RouteStatisticsCollector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RouteStatisticsMetricsTest {
+
+    @Test
+    public void testRouteStatisticsMetrics() throws Exception {
+        RouteStatisticsCollector collector = new RouteStatisticsCollector();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new RouteStatisticsMetrics(collector).bindTo(registry);
+
+        CamelContext camelContext = new DefaultCamelContext();
+        camelContext.addRoutePolicyFactory(collector);
+        camelContext.adapt(ExtendedCamelContext.class).addInterceptStrategy(collector);
+        try {
+            camelContext.addRoutes(createRouteBuilder());
+            camelContext.start();
+            ProducerTemplate template = camelContext.createProducerTemplate();
+
+            template.sendBody("direct:start", "Hello");
+            template.sendBody("direct:start", "World");
+            Assertions.assertEquals(2, routeTimer(registry).count());
+            Assertions.assertNotNull(registry.find(RouteStatisticsMetrics.PROCESSOR_METRIC_PREFIX)
+                    .tag("routeId", "start").tag("processorId", "result").functionTimer());
+
+            // the meters of the route and its processors are removed with the route
+            camelContext.getRouteController().stopRoute("start");
+            camelContext.removeRoute("start");
+            Assertions.assertNull(routeTimer(registry));
+            Assertions.assertTrue(registry.find(RouteStatisticsMetrics.PROCESSOR_METRIC_PREFIX)
+                    .tag("routeId", "start").functionTimers().isEmpty());
+
+            // and a route added again with the same id gets new meters
+            camelContext.addRoutes(createRouteBuilder());
+            template.sendBody("direct:start", "Again");
+            Assertions.assertEquals(1, routeTimer(registry).count());
+            Assertions.assertEquals(1, registry.find(RouteStatisticsMetrics.PROCESSOR_METRIC_PREFIX)
+                    .tag("routeId", "start").tag("processorId", "result").functionTimer().count());
+        } finally {
+            camelContext.stop();
+        }
+    }
+
+    private static FunctionTimer routeTimer(SimpleMeterRegistry registry) {
+        return registry.find(RouteStatisticsMetrics.ROUTE_METRIC_PREFIX).tag("routeId", "start").functionTimer();
+    }
+
+    private static RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("start")
+                    .to("mock:result").id("result");
+            }
+        };
+    }
+}
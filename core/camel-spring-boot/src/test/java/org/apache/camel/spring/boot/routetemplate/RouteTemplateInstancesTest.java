@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.routetemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.spi.RouteTemplateParameterSource;
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+
+@DirtiesContext
+@CamelSpringBootTest
+@SpringBootTest(
+    classes = {
+        CamelAutoConfiguration.class,
+        CamelRouteTemplateAutoConfiguration.class,
+        RouteTemplateInstancesTest.TestRoutes.class
+    },
+    properties = {
+        "camel.routetemplate.config[0].templateId=myTemplate",
+        "camel.routetemplate.config[0].routeId=first",
+        "camel.routetemplate.config[0].name=one",
+        "camel.routetemplate.config[1].templateId=myTemplate",
+        "camel.routetemplate.config[1].routeId=second",
+        "camel.routetemplate.config[1].name=two"
+    }
+)
+public class RouteTemplateInstancesTest {
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Autowired
+    private ProducerTemplate template;
+
+    @Autowired
+    private RouteTemplateInstances instances;
+
+    @Test
+    public void testRouteTemplateInstances() throws Exception {
+        Assertions.assertEquals(2, instances.getInstances().size());
+        Assertions.assertTrue(instances.getInstances().get("first").isCreated());
+        Assertions.assertNotNull(camelContext.getRoute("first"));
+        Assertions.assertNotNull(camelContext.getRoute("second"));
+
+        // add a route at runtime
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(RouteTemplateParameterSource.TEMPLATE_ID, "myTemplate");
+        parameters.put("name", "three");
+        instances.addInstance("third", parameters);
+        Assertions.assertTrue(instances.getInstances().get("third").isCreated());
+
+        MockEndpoint mock = camelContext.getEndpoint("mock:three", MockEndpoint.class);
+        mock.expectedBodiesReceived("Hello");
+        template.sendBody("direct:three", "Hello");
+        mock.assertIsSatisfied();
+
+        // remove a route at runtime without affecting the others
+        Assertions.assertTrue(instances.removeInstance("first"));
+        Assertions.assertNull(camelContext.getRoute("first"));
+        Assertions.assertNotNull(camelContext.getRoute("second"));
+        Assertions.assertNotNull(camelContext.getRoute("third"));
+        Assertions.assertFalse(instances.removeInstance("first"));
+    }
+
+    @Test
+    public void testParameterSource() throws Exception {
+        RouteTemplateParameterSource source = camelContext.getRegistry()
+                .lookupByNameAndType("CamelSpringBootRouteTemplateParametersSource", RouteTemplateParameterSource.class);
+        Assertions.assertNotNull(source);
+        Assertions.assertEquals("myTemplate", source.parameters("second").get(RouteTemplateParameterSource.TEMPLATE_ID));
+        Assertions.assertEquals("two", source.parameters("second").get("name"));
+        // the routes have been created already, so camel does not create them again
+        Assertions.assertTrue(source.routeIds().isEmpty());
+    }
+
+    @Configuration
+    public static class TestRoutes {
+
+        @Bean
+        public RouteBuilder routeTemplates() {
+            return new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    routeTemplate("myTemplate").templateParameter("name")
+                        .from("direct:{{name}}")
+                        .to("mock:{{name}}");
+                }
+            };
+        }
+    }
+}
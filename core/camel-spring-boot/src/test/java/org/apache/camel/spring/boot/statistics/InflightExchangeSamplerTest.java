@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.statistics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class InflightExchangeSamplerTest {
+
+    @Test
+    public void testExchangesAreNotMarkedWithProperties() throws Exception {
+        InflightExchangeSampler sampler = new InflightExchangeSampler(1, 1);
+        List<Map<String, Object>> properties = new CopyOnWriteArrayList<>();
+
+        CamelContext context = new DefaultCamelContext();
+        context.addRoutePolicyFactory(sampler);
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("start")
+                    .process(e -> properties.add(new HashMap<>(e.getProperties())))
+                    .split(body().tokenize(","))
+                        .to("direct:next")
+                    .end();
+                from("direct:next").routeId("next")
+                    .process(e -> properties.add(new HashMap<>(e.getProperties())));
+            }
+        });
+        context.start();
+        try {
+            context.createProducerTemplate().sendBody("direct:start", "a,b,c");
+        } finally {
+            context.stop();
+        }
+
+        Assertions.assertEquals(4, properties.size());
+        // the sampler does not add exchange properties, which would be copied to the split exchanges
+        for (Map<String, Object> map : properties) {
+            Assertions.assertTrue(map.keySet().stream().noneMatch(k -> k.startsWith("CamelInflightExchangeSampler")), map.toString());
+        }
+        // the first exchange was tracked, and the split exchanges were tracked or dropped
+        Assertions.assertEquals(4, sampler.getSampledCount() + sampler.getDroppedCount());
+        Assertions.assertTrue(sampler.browse(0).isEmpty());
+        Assertions.assertEquals(0, sampler.getMarkedCount());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.statistics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, (1L << 40) - 1 }) {
+            int index = LatencyHistogram.bucketIndex(value);
+            Assertions.assertTrue(LatencyHistogram.bucketUpperBound(index) >= value, "upper bound of " + value);
+            Assertions.assertTrue(index == 0 || LatencyHistogram.bucketUpperBound(index - 1) < value, "lower bound of " + value);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(99));
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        Assertions.assertEquals(1000, histogram.getCount());
+        Assertions.assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), histogram.getMax());
+        Assertions.assertEquals(500.5, histogram.getMean() / 1000, 0.001);
+        // within the relative error of the buckets
+        Assertions.assertEquals(500, histogram.getValueAtPercentile(50, TimeUnit.MICROSECONDS), 500 * 0.125);
+        Assertions.assertEquals(990, histogram.getValueAtPercentile(99, TimeUnit.MICROSECONDS), 990 * 0.125);
+        Assertions.assertEquals(1000, histogram.getValueAtPercentile(100, TimeUnit.MICROSECONDS), 0.001);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.statistics;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint.ReadAction;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpoint.RouteStatisticsInfo;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelRoutesEndpointAutoConfiguration;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DirtiesContext
+@CamelSpringBootTest
+@EnableAutoConfiguration
+@SpringBootTest(classes = {CamelAutoConfiguration.class, CamelRoutesEndpointAutoConfiguration.class, RouteStatisticsTest.TestConfiguration.class},
+                properties = {"camel.springboot.route-statistics-enabled=true", "camel.springboot.jmx-enabled=false"})
+public class RouteStatisticsTest {
+
+    @Autowired
+    CamelContext camelContext;
+
+    @Autowired
+    ProducerTemplate template;
+
+    @Autowired
+    RouteStatisticsCollector collector;
+
+    @Autowired
+    CamelRoutesEndpoint endpoint;
+
+    @Test
+    public void testRouteStatistics() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+        Assertions.assertThrows(Exception.class, () -> template.sendBody("direct:start", "Kaboom"));
+
+        RouteStatistics route = collector.getRouteStatistics("start");
+        Assertions.assertNotNull(route);
+        Assertions.assertEquals(11, route.getExchangesTotal());
+        Assertions.assertEquals(1, route.getExchangesFailed());
+        Assertions.assertEquals(0, route.getExchangesInflight());
+        Assertions.assertTrue(route.getLatency().getMax() > 0);
+
+        ProcessingStatistics processor = route.getProcessorStatistics("check");
+        Assertions.assertNotNull(processor);
+        Assertions.assertEquals("start", processor.getRouteId());
+        Assertions.assertEquals(11, processor.getExchangesTotal());
+        Assertions.assertEquals(1, processor.getExchangesFailed());
+    }
+
+    @Test
+    public void testRouteStatisticsEndpoint() throws Exception {
+        template.sendBody("direct:start", "Hello");
+
+        Object answer = endpoint.doReadAction("start", ReadAction.DETAIL);
+        JsonNode json = new ObjectMapper().valueToTree(answer);
+        Assertions.assertFalse(json.path("details").isObject());
+        Assertions.assertTrue(json.path("statistics").path("exchangesTotal").asLong() >= 1);
+        Assertions.assertTrue(json.path("statistics").path("processors").isArray());
+
+        Assertions.assertNotNull(endpoint.readRoutes(null, null, null, null, "start", "id,statistics", null));
+        json = new ObjectMapper().valueToTree(endpoint.readRoutes(null, null, null, null, "start", "id", true));
+        Assertions.assertTrue(json.path(0).path("statistics").path("exchangesTotal").asLong() >= 1);
+        Assertions.assertNotNull(new RouteStatisticsInfo(collector.getRouteStatistics("start")).getProcessors());
+    }
+
+    @Configuration
+    public static class TestConfiguration {
+
+        @Bean
+        public RouteBuilder routeBuilder() {
+            return new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:start").routeId("start")
+                        .process(e -> {
+                            if ("Kaboom".equals(e.getMessage().getBody())) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        }).id("check")
+                        .to("mock:result").id("result");
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.spring.boot.threadpool.AdaptiveThreadPoolExecutor.Decision;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveThreadPoolTest {
+
+    @Test
+    public void testAdjust() throws Exception {
+        AdaptiveThreadPoolExecutor executor = new AdaptiveThreadPoolExecutor("test", 1, 4, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(100), 1, 0.8);
+        try {
+            // the tasks wait in the queue as there is one thread
+            runTasks(executor, 10, 20);
+            // but the cpu load is too high to grow
+            Assertions.assertEquals(Decision.HOLD, executor.adjust(0.9));
+            Assertions.assertEquals(1, executor.getCorePoolSize());
+
+            runTasks(executor, 10, 20);
+            Assertions.assertEquals(Decision.GROW, executor.adjust(0.1));
+            Assertions.assertTrue(executor.getCorePoolSize() > 1);
+            Assertions.assertTrue(executor.getCorePoolSize() <= 4);
+            Assertions.assertEquals(1, executor.getGrowCount());
+
+            // idle so shrink down to the min pool size
+            for (int i = 0; i < 10 && executor.getCorePoolSize() > 1; i++) {
+                Assertions.assertEquals(Decision.SHRINK, executor.adjust(0.1));
+            }
+            Assertions.assertEquals(1, executor.getCorePoolSize());
+            Assertions.assertEquals(Decision.HOLD, executor.adjust(0.1));
+            Assertions.assertTrue(executor.getShrinkCount() > 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAdaptiveProfile() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("adaptive")
+                .poolSize(2).maxPoolSize(8).maxQueueSize(100).keepAliveTime(60L, TimeUnit.SECONDS).build();
+        CamelContext context = new DefaultCamelContext();
+        CamelThreadPoolFactory factory = CamelThreadPoolFactory.install(context);
+        factory.addAdaptiveProfile("adaptive", 50, 0.8, 1000);
+        context.getExecutorServiceManager().registerThreadPoolProfile(profile);
+        context.start();
+        try {
+            ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "adaptive", "adaptive");
+            Assertions.assertTrue(executor instanceof AdaptiveThreadPoolExecutor);
+            AdaptiveThreadPoolExecutor adaptive = (AdaptiveThreadPoolExecutor) executor;
+            Assertions.assertEquals("adaptive", adaptive.getId());
+            Assertions.assertEquals(2, adaptive.getMinPoolSize());
+            Assertions.assertEquals(8, adaptive.getMaximumPoolSize());
+            Assertions.assertEquals("done", executor.submit(() -> "done").get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(isControllerAlive());
+        } finally {
+            context.stop();
+        }
+
+        // the controller is shut down with the camel context
+        for (int i = 0; i < 50 && isControllerAlive(); i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertFalse(isControllerAlive());
+    }
+
+    private static boolean isControllerAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.isAlive() && thread.getName().contains("AdaptiveThreadPoolController"));
+    }
+
+    private static void runTasks(ExecutorService executor, int tasks, long millis) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.spring.boot.actuate.metrics.ThreadPoolMetrics;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class InstrumentedThreadPoolTest {
+
+    @Test
+    public void testInstrumentedThreadPool() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("small")
+                .poolSize(1).maxPoolSize(1).maxQueueSize(1).keepAliveTime(60L, TimeUnit.SECONDS)
+                .rejectedPolicy(ThreadPoolRejectedPolicy.Abort).build();
+        CamelThreadPoolFactory factory = new CamelThreadPoolFactory();
+        factory.setInstrumented(true);
+        ExecutorService executor = factory.newThreadPool(profile, Thread::new);
+        Assertions.assertTrue(executor instanceof InstrumentedThreadPoolExecutor);
+        InstrumentedThreadPoolExecutor instrumented = (InstrumentedThreadPoolExecutor) executor;
+
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            Future<?> running = executor.submit(() -> await(latch));
+            Future<?> queued = executor.submit(() -> { });
+            // the pool and the queue is full
+            Assertions.assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> { }));
+
+            latch.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        Assertions.assertEquals(1, instrumented.getRejectedTaskCount());
+        Assertions.assertEquals(2, instrumented.getRunTime().getCount());
+        Assertions.assertEquals(2, instrumented.getWaitTime().getCount());
+        Assertions.assertTrue(instrumented.getWaitTime().getMax() > 0);
+    }
+
+    @Test
+    public void testThreadPoolMetrics() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ThreadPoolMetrics metrics = new ThreadPoolMetrics();
+        metrics.bindTo(registry);
+
+        CamelContext context = new DefaultCamelContext();
+        context.addLifecycleStrategy(metrics);
+        CamelThreadPoolFactory.install(context).setInstrumented(true);
+        context.start();
+        try {
+            ExecutorService executor = context.getExecutorServiceManager().newFixedThreadPool(this, "test", 2);
+            executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+            FunctionTimer run = registry.find(ThreadPoolMetrics.METRIC_PREFIX + ".run").functionTimer();
+            Assertions.assertNotNull(run);
+            Assertions.assertEquals(1, run.count());
+            Assertions.assertNotNull(registry.find(ThreadPoolMetrics.METRIC_PREFIX + ".queued").gauge());
+
+            context.getExecutorServiceManager().shutdown(executor);
+            Assertions.assertNull(registry.find(ThreadPoolMetrics.METRIC_PREFIX + ".run").functionTimer());
+        } finally {
+            context.stop();
+        }
+    }
+
+    @Test
+    public void testThreadPoolMetricsSameId() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ThreadPoolMetrics metrics = new ThreadPoolMetrics();
+        metrics.bindTo(registry);
+
+        CamelContext context = new DefaultCamelContext();
+        context.addLifecycleStrategy(metrics);
+        context.start();
+        try {
+            ExecutorService first = context.getExecutorServiceManager().newFixedThreadPool(this, "test", 2);
+            ExecutorService second = context.getExecutorServiceManager().newFixedThreadPool(this, "test", 2);
+            Assertions.assertEquals(2, registry.find(ThreadPoolMetrics.METRIC_PREFIX + ".queued").gauges().size());
+
+            // the meters of the other thread pool are kept
+            context.getExecutorServiceManager().shutdown(first);
+            Assertions.assertEquals(1, registry.find(ThreadPoolMetrics.METRIC_PREFIX + ".queued").gauges().size());
+            context.getExecutorServiceManager().shutdown(second);
+            Assertions.assertTrue(registry.find(ThreadPoolMetrics.METRIC_PREFIX + ".queued").gauges().isEmpty());
+        } finally {
+            context.stop();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.ServiceStatus;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.model.ExecutorServiceAwareDefinition;
+import org.apache.camel.model.ModelCamelContext;
+import org.apache.camel.model.ProcessorDefinitionHelper;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.spring.boot.routetemplate.CamelRouteTemplateAutoConfiguration;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+
+@DirtiesContext
+@CamelSpringBootTest
+@SpringBootTest(
+    classes = {
+        CamelAutoConfiguration.class,
+        CamelThreadPoolAutoConfiguration.class,
+        CamelRouteTemplateAutoConfiguration.class,
+        RouteBulkheadsTest.TestConfiguration.class
+    },
+    properties = {
+        "camel.threadpool.config[orders].pool-size = 2",
+        "camel.threadpool.config[orders].max-pool-size = 3",
+        "camel.threadpool.config[orders].max-queue-size = 10",
+        "camel.threadpool.config[orders].rejected-policy = CallerRuns",
+        "camel.threadpool.config[auditPool].pool-size = 1",
+        "camel.threadpool.config[auditPool].max-pool-size = 1",
+        "camel.threadpool.bulkhead[orders].route-group = orders",
+        "camel.threadpool.bulkhead[audit].route-id-pattern = audit*",
+        "camel.threadpool.bulkhead[audit].thread-pool-profile = auditPool",
+        "camel.routetemplate.config[0].templateId = auditTemplate",
+        "camel.routetemplate.config[0].routeId = audit-template",
+        "camel.routetemplate.config[0].name = template"
+    }
+)
+public class RouteBulkheadsTest {
+
+    @Autowired
+    private CamelContext context;
+
+    @Autowired
+    private ProducerTemplate template;
+
+    @Autowired
+    private RouteBulkheads bulkheads;
+
+    @Test
+    public void testBulkheads() throws Exception {
+        Assertions.assertEquals(Arrays.asList("order-split", "order-threads", "order-sequential", "order-pool-size", "order-thread-name"),
+                bulkheads.getRoutes().get("orders"));
+        // including the routes created from route templates
+        Assertions.assertEquals(Arrays.asList("audit-wiretap", "audit-template"), bulkheads.getRoutes().get("audit"));
+
+        Assertions.assertEquals(Arrays.asList("bulkhead-orders"), executorServiceRefs("order-split"));
+        Assertions.assertEquals(Arrays.asList("bulkhead-orders"), executorServiceRefs("order-threads"));
+        Assertions.assertEquals(Arrays.asList("bulkhead-audit"), executorServiceRefs("audit-wiretap"));
+        Assertions.assertEquals(Arrays.asList("bulkhead-audit"), executorServiceRefs("audit-template"));
+        // not parallel, not bound to a bulkhead, or a thread pool is configured in the route
+        Assertions.assertEquals(Arrays.asList((String) null), executorServiceRefs("order-sequential"));
+        Assertions.assertEquals(Arrays.asList((String) null), executorServiceRefs("other-threads"));
+        Assertions.assertEquals(Arrays.asList("orders"), executorServiceRefs("order-own-pool"));
+        // the threads EIPs with their own thread pool options are left alone (and the routes are started)
+        Assertions.assertEquals(Arrays.asList((String) null), executorServiceRefs("order-pool-size"));
+        Assertions.assertEquals(Arrays.asList((String) null), executorServiceRefs("order-thread-name"));
+        Assertions.assertEquals(ServiceStatus.Started, context.getRouteController().getRouteStatus("order-pool-size"));
+        Assertions.assertEquals(ServiceStatus.Started, context.getRouteController().getRouteStatus("order-thread-name"));
+
+        ThreadPoolExecutor orders = (ThreadPoolExecutor) context.getRegistry().lookupByNameAndType("bulkhead-orders", ExecutorService.class);
+        Assertions.assertEquals(2, orders.getCorePoolSize());
+        Assertions.assertEquals(3, orders.getMaximumPoolSize());
+        ThreadPoolExecutor audit = (ThreadPoolExecutor) context.getRegistry().lookupByNameAndType("bulkhead-audit", ExecutorService.class);
+        Assertions.assertEquals(1, audit.getMaximumPoolSize());
+
+        MockEndpoint mock = context.getEndpoint("mock:order", MockEndpoint.class);
+        mock.expectedMessageCount(3);
+        template.sendBody("direct:order-split", Arrays.asList("a", "b", "c"));
+        mock.assertIsSatisfied();
+        Assertions.assertTrue(orders.getCompletedTaskCount() > 0);
+    }
+
+    private List<String> executorServiceRefs(String routeId) {
+        RouteDefinition route = context.adapt(ModelCamelContext.class).getRouteDefinition(routeId);
+        List<String> answer = new ArrayList<>();
+        for (ExecutorServiceAwareDefinition<?> eip
+                : ProcessorDefinitionHelper.filterTypeInOutputs(route.getOutputs(), ExecutorServiceAwareDefinition.class)) {
+            answer.add(eip.getExecutorServiceRef());
+        }
+        return answer;
+    }
+
+    // *************************************
+    // Config
+    // *************************************
+
+    @Configuration
+    public static class TestConfiguration {
+        @Bean
+        public RouteBuilder routeBuilder() {
+            return new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:order-split").routeId("order-split").routeGroup("orders")
+                        .split(body()).parallelProcessing()
+                            .to("mock:order");
+                    from("direct:order-threads").routeId("order-threads").routeGroup("orders")
+                        .threads()
+                        .to("mock:order-threads");
+                    from("direct:order-sequential").routeId("order-sequential").routeGroup("orders")
+                        .split(body())
+                            .to("mock:order-sequential");
+                    from("direct:order-pool-size").routeId("order-pool-size").routeGroup("orders")
+                        .threads(5)
+                        .to("mock:order-pool-size");
+                    from("direct:order-thread-name").routeId("order-thread-name").routeGroup("orders")
+                        .threads().threadName("orders")
+                        .to("mock:order-thread-name");
+                    from("direct:audit").routeId("audit-wiretap")
+                        .wireTap("mock:audit")
+                        .to("mock:audited");
+                    from("direct:other").routeId("other-threads")
+                        .threads()
+                        .to("mock:other");
+                    from("direct:order-own-pool").routeId("order-own-pool").routeGroup("orders-own")
+                        .threads().executorServiceRef("orders")
+                        .to("mock:order-own-pool");
+                    routeTemplate("auditTemplate").templateParameter("name")
+                        .from("direct:audit-{{name}}")
+                        .wireTap("mock:audit-{{name}}")
+                        .to("mock:audited-{{name}}");
+                }
+            };
+        }
+    }
+}
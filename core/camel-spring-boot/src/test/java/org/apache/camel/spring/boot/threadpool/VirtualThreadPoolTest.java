@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.threadpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Rejectable;
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+@DirtiesContext
+@CamelSpringBootTest
+@SpringBootTest(
+    classes = {
+        CamelAutoConfiguration.class,
+        CamelThreadPoolAutoConfiguration.class
+    },
+    properties = {
+        "camel.threadpool.config[io].kind = virtual",
+        "camel.threadpool.config[limitedIo].kind = virtual",
+        "camel.threadpool.config[limitedIo].max-concurrency = 2",
+        "camel.threadpool.config[platform].pool-size = 20",
+        "camel.threadpool.config[platform].max-pool-size = 20",
+        "camel.threadpool.config[platform].max-queue-size = -1"
+    }
+)
+public class VirtualThreadPoolTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPoolTest.class);
+
+    @Autowired
+    private CamelContext context;
+
+    @Test
+    public void testVirtualThreadPoolProfile() throws Exception {
+        Assertions.assertNotNull(context.getExecutorServiceManager().getThreadPoolProfile("io"));
+
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "io", "io");
+        try {
+            if (VirtualThreads.isSupported()) {
+                Assertions.assertTrue(executor instanceof VirtualThreadExecutorService);
+            } else {
+                // falls back to a thread pool of platform threads
+                Assertions.assertTrue(executor instanceof ThreadPoolExecutor);
+            }
+            Assertions.assertEquals("done", executor.submit(() -> "done").get(5, TimeUnit.SECONDS));
+        } finally {
+            context.getExecutorServiceManager().shutdown(executor);
+        }
+    }
+
+    @Test
+    @EnabledIf("isVirtualThreadsSupported")
+    public void testMaxConcurrency() throws Exception {
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "limitedIo", "limitedIo");
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(10);
+                    running.decrementAndGet();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            context.getExecutorServiceManager().shutdown(executor);
+        }
+        Assertions.assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void testMaxQueueSize() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService("bounded", Executors.newCachedThreadPool(), 1, 1,
+                ThreadPoolRejectedPolicy.Abort);
+        try {
+            // one task running and one waiting
+            executor.execute(() -> await(release));
+            executor.execute(() -> {
+            });
+            Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+            }));
+
+            // exchanges are rejected rather than failing the caller
+            RejectableTask task = new RejectableTask();
+            executor.execute(task);
+            Assertions.assertTrue(task.rejected.await(5, TimeUnit.SECONDS));
+            Assertions.assertFalse(task.ran);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectWhenInterrupted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService("interrupted", Executors.newCachedThreadPool(), 1);
+        try {
+            executor.execute(() -> await(release));
+            RejectableTask task = new RejectableTask();
+            executor.execute(task);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (executor.getQueueSize() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // the waiting task is interrupted, so it is rejected (and the exchange is not left hanging)
+            executor.shutdownNow();
+            Assertions.assertTrue(task.rejected.await(5, TimeUnit.SECONDS));
+            Assertions.assertFalse(task.ran);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Runs blocking (I/O like) tasks in a virtual thread pool and in a pool of 20 platform threads, where the virtual
+     * threads are not limited by a number of threads.
+     */
+    @Test
+    @EnabledIf("isVirtualThreadsSupported")
+    public void testBlockingConcurrency() throws Exception {
+        int tasks = 200;
+        long blockMillis = 50;
+
+        AtomicInteger platformRunning = new AtomicInteger();
+        AtomicInteger virtualRunning = new AtomicInteger();
+        double platform = throughput("platform", tasks, blockMillis, platformRunning);
+        double virtual = throughput("io", tasks, blockMillis, virtualRunning);
+        LOG.info("Throughput of {} tasks blocking {} ms: platform threads {} tasks/s, virtual threads {} tasks/s",
+                tasks, blockMillis, Math.round(platform), Math.round(virtual));
+
+        Assertions.assertTrue(platformRunning.get() <= 20);
+        Assertions.assertTrue(virtualRunning.get() > 20, "Max running virtual threads: " + virtualRunning.get());
+    }
+
+    private double throughput(String profileId, int tasks, long blockMillis, AtomicInteger maxRunning) throws Exception {
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, profileId, profileId);
+        AtomicInteger running = new AtomicInteger();
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(blockMillis);
+                    running.decrementAndGet();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return tasks / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            context.getExecutorServiceManager().shutdown(executor);
+        }
+    }
+
+    static boolean isVirtualThreadsSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RejectableTask implements Runnable, Rejectable {
+
+        private final CountDownLatch rejected = new CountDownLatch(1);
+        private volatile boolean ran;
+
+        @Override
+        public void run() {
+            ran = true;
+        }
+
+        @Override
+        public void reject() {
+            rejected.countDown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -21,8 +21,12 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.component.direct.DirectComponent;
+import org.apache.camel.support.IntrospectionSupport;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -42,6 +46,8 @@ import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
 )
 public class CamelPropertiesHelperTest {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CamelPropertiesHelperTest.class);
+
     @Autowired
     ApplicationContext context;
 
@@ -66,6 +72,7 @@ public class CamelPropertiesHelperTest {
         private MyOption option;
         private CamelContext camelContext;
         private MyFooClass myFooClass;
+        private int size;
 
         public int getId() {
             return id;
@@ -106,6 +113,182 @@ public class CamelPropertiesHelperTest {
         public void setMyFooClass(MyFooClass myFooClass) {
             this.myFooClass = myFooClass;
         }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+    }
+
+    public static class MySource {
+
+        private Integer id;
+        private String name;
+        private String option;
+        private String unknown;
+        private Integer size;
+        private String description;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public void setId(Integer id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getOption() {
+            return option;
+        }
+
+        public void setOption(String option) {
+            this.option = option;
+        }
+
+        public String getUnknown() {
+            return unknown;
+        }
+
+        public void setUnknown(String unknown) {
+            this.unknown = unknown;
+        }
+
+        public String getReadOnly() {
+            return "readOnly";
+        }
+
+        public Integer getSize() {
+            return size;
+        }
+
+        // the primitive type of the getter
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        // a super type of the getter
+        public void setDescription(CharSequence description) {
+            this.description = description != null ? description.toString() : null;
+        }
+    }
+
+    public static class MyDirectSource {
+
+        private Boolean block;
+        private Long timeout;
+
+        public Boolean getBlock() {
+            return block;
+        }
+
+        public void setBlock(Boolean block) {
+            this.block = block;
+        }
+
+        public Long getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Long timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    @Test
+    public void testCopyProperties() throws Exception {
+        MySource source = new MySource();
+        source.setId(123);
+        source.setName("Donald Duck");
+        source.setOption("#myCoolOption");
+        source.setUnknown("foo");
+        source.setSize(5);
+        source.setDescription("Duck");
+
+        MyClass target = new MyClass();
+        CamelPropertiesHelper.copyProperties(camelContext, source, target);
+
+        Assertions.assertEquals(123, target.getId());
+        Assertions.assertEquals("Donald Duck", target.getName());
+        Assertions.assertSame(context.getBean("myCoolOption"), target.getOption());
+        Assertions.assertEquals(5, target.getSize());
+
+        // the plan is reused for the same pair of classes
+        CamelPropertiesHelper.BindingPlan plan = CamelPropertiesHelper.getBindingPlan(MySource.class, MyClass.class);
+        Assertions.assertSame(plan, CamelPropertiesHelper.getBindingPlan(MySource.class, MyClass.class));
+        // getters without setters are not copied, and setters of a super type or primitive type are
+        Assertions.assertEquals(6, plan.getBindings().size());
+        for (CamelPropertiesHelper.PropertyBinding binding : plan.getBindings()) {
+            boolean unknown = "unknown".equals(binding.getName()) || "description".equals(binding.getName());
+            Assertions.assertEquals(unknown, binding.isUnknown());
+        }
+
+        // until the plans are cleared
+        CamelPropertiesHelper.clearBindingPlans();
+        Assertions.assertNotSame(plan, CamelPropertiesHelper.getBindingPlan(MySource.class, MyClass.class));
+
+        source.setName("Goofy");
+        source.setOption("myCoolOption");
+        target = new MyClass();
+        CamelPropertiesHelper.copyProperties(camelContext, source, target);
+
+        Assertions.assertEquals(123, target.getId());
+        Assertions.assertEquals("Goofy", target.getName());
+        Assertions.assertSame(context.getBean("myCoolOption"), target.getOption());
+    }
+
+    @Test
+    public void testCopyPropertiesToComponent() throws Exception {
+        MyDirectSource source = new MyDirectSource();
+        source.setBlock(false);
+        source.setTimeout(1234L);
+
+        DirectComponent plan = new DirectComponent();
+        plan.setCamelContext(camelContext);
+        DirectComponent introspection = new DirectComponent();
+        introspection.setCamelContext(camelContext);
+
+        int count = 20000;
+        long planTime = 0;
+        long introspectionTime = 0;
+        // the first round warms up
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                CamelPropertiesHelper.copyProperties(camelContext, source, plan);
+            }
+            planTime = System.nanoTime() - start;
+
+            // how the properties were copied before the binding plans
+            start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                CamelPropertiesHelper.setCamelProperties(camelContext, introspection, IntrospectionSupport.getNonNullProperties(source), false);
+            }
+            introspectionTime = System.nanoTime() - start;
+        }
+        LOG.info("Copied the properties {} times in {} ms using the binding plan and in {} ms using introspection",
+                count, planTime / 1000000, introspectionTime / 1000000);
+
+        Assertions.assertFalse(plan.isBlock());
+        Assertions.assertEquals(1234L, plan.getTimeout());
+        Assertions.assertFalse(introspection.isBlock());
+        Assertions.assertEquals(1234L, introspection.getTimeout());
+        Assertions.assertTrue(planTime < introspectionTime,
+                "Copying using the binding plan should be faster (" + planTime + " ns) than using introspection (" + introspectionTime + " ns)");
     }
 
     @Test
@@ -16,15 +16,24 @@
  */
 package org.apache.camel.spring.boot.util;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.test.annotation.DirtiesContext;
 import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @CamelSpringBootTest
 @DirtiesContext
@@ -44,6 +53,9 @@ import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
     }
 )
 public class HierarchicalPropertiesEvaluatorTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HierarchicalPropertiesEvaluatorTest.class);
+
     @Autowired
     Environment environment;
 
@@ -56,6 +68,93 @@ public class HierarchicalPropertiesEvaluatorTest {
         Assertions.assertFalse(HierarchicalPropertiesEvaluator.evaluate(environment, "test.group2", "test.group2.subgroup3"));
     }
 
+    @Test
+    public void testEvaluatorMemoized() {
+        StandardEnvironment env = new StandardEnvironment();
+        Map<String, Object> map = new HashMap<>();
+        map.put("camel.component.enabled", "true");
+        map.put("camel.component.foo.enabled", "false");
+        env.getPropertySources().addFirst(new MapPropertySource("test", map));
+
+        Assertions.assertFalse(HierarchicalPropertiesEvaluator.evaluate(env, "camel.component", "camel.component.foo"));
+        Assertions.assertTrue(HierarchicalPropertiesEvaluator.evaluate(env, "camel.component", "camel.component.bar"));
+
+        HierarchicalPropertiesEvaluator.EnabledProperties enabled = HierarchicalPropertiesEvaluator.getEnabledProperties(env);
+        Assertions.assertSame(enabled, HierarchicalPropertiesEvaluator.getEnabledProperties(env));
+        Assertions.assertFalse(enabled.getValue("camel.component.bar.enabled").isPresent());
+
+        // adding a property source discards the memoized values
+        Map<String, Object> override = new HashMap<>();
+        override.put("camel.component.bar.enabled", "false");
+        env.getPropertySources().addFirst(new MapPropertySource("override", override));
+        Assertions.assertNotSame(enabled, HierarchicalPropertiesEvaluator.getEnabledProperties(env));
+        Assertions.assertFalse(HierarchicalPropertiesEvaluator.evaluate(env, "camel.component", "camel.component.bar"));
+
+        // changing a property source in place requires to clear the cache
+        override.put("camel.component.bar.enabled", "true");
+        HierarchicalPropertiesEvaluator.clearCache();
+        Assertions.assertTrue(HierarchicalPropertiesEvaluator.evaluate(env, "camel.component", "camel.component.bar"));
+    }
+
+    @Test
+    public void testStopMemoizing() {
+        StandardEnvironment env = new StandardEnvironment();
+        Map<String, Object> map = new HashMap<>();
+        map.put("camel.component.foo.enabled", "false");
+        env.getPropertySources().addFirst(new MapPropertySource("test", map));
+
+        Assertions.assertFalse(HierarchicalPropertiesEvaluator.evaluate(env, "camel.component", "camel.component.foo"));
+        Assertions.assertNotNull(HierarchicalPropertiesEvaluator.getEnabledProperties(env));
+
+        // such as when the application context has been refreshed, so changes in place are seen
+        HierarchicalPropertiesEvaluator.stopMemoizing(env);
+        Assertions.assertNull(HierarchicalPropertiesEvaluator.getEnabledProperties(env));
+        map.put("camel.component.foo.enabled", "true");
+        Assertions.assertTrue(HierarchicalPropertiesEvaluator.evaluate(env, "camel.component", "camel.component.foo"));
+    }
+
+    @Test
+    public void testEvaluationCost() {
+        StandardEnvironment env = new StandardEnvironment();
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < 1000; i += 10) {
+            map.put("camel.component.c" + i + ".enabled", "false");
+        }
+        env.getPropertySources().addFirst(new MapPropertySource("test", map));
+
+        // as many evaluations as the conditions and customizers of the generated auto configurations
+        int components = 1000;
+        long start = System.nanoTime();
+        int disabled = 0;
+        for (int i = 0; i < components; i++) {
+            if (!evaluateWithoutCache(env, "camel.component", "camel.component.c" + i, "camel.component.c" + i + ".customizer")) {
+                disabled++;
+            }
+        }
+        long unmemoized = System.nanoTime() - start;
+        Assertions.assertEquals(100, disabled);
+
+        start = System.nanoTime();
+        disabled = 0;
+        for (int i = 0; i < components; i++) {
+            if (!HierarchicalPropertiesEvaluator.evaluate(env, "camel.component", "camel.component.c" + i, "camel.component.c" + i + ".customizer")) {
+                disabled++;
+            }
+        }
+        long memoized = System.nanoTime() - start;
+        Assertions.assertEquals(100, disabled);
+
+        LOG.info("Evaluation of {} components: {} ms without cache, {} ms memoized", components, unmemoized / 1_000_000, memoized / 1_000_000);
+    }
+
+    private static boolean evaluateWithoutCache(Environment environment, String... prefixes) {
+        boolean answer = true;
+        for (String prefix : prefixes) {
+            answer = Binder.get(environment).bind(prefix + ".enabled", Bindable.of(Boolean.class)).orElse(answer);
+        }
+        return answer;
+    }
+
     @Configuration
     static class TestConfiguration {
     }
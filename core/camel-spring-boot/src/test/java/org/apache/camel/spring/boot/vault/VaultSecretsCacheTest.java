@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.vault;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.component.properties.PropertiesComponent;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.PropertiesFunction;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VaultSecretsCacheTest {
+
+    private final AtomicLong time = new AtomicLong(1000);
+
+    @Test
+    public void testCachedUntilExpired() {
+        CountingFunction vault = new CountingFunction();
+        VaultSecretsCache cache = cache(vault, config(10000, 0, 0));
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals("secret-foo-1", cache.apply("foo"));
+        }
+        Assertions.assertEquals(1, vault.calls.get());
+        Assertions.assertEquals(99, cache.getHits());
+
+        time.addAndGet(10000);
+        Assertions.assertEquals("secret-foo-2", cache.apply("foo"));
+        Assertions.assertEquals(2, vault.calls.get());
+        Assertions.assertEquals(2, cache.getRemoteLookups());
+    }
+
+    @Test
+    public void testJitter() {
+        CountingFunction vault = new CountingFunction();
+        VaultSecretsCache cache = cache(vault, config(10000, 0, 0.5));
+
+        for (int i = 0; i < 100; i++) {
+            cache.apply("foo" + i);
+        }
+        // the secrets expire between half and all of the time to live, so some have expired by then
+        time.addAndGet(7500);
+        for (int i = 0; i < 100; i++) {
+            cache.apply("foo" + i);
+        }
+        int expired = vault.calls.get() - 100;
+        Assertions.assertTrue(expired > 0 && expired < 100, "Some secrets should have expired, but not all: " + expired);
+    }
+
+    @Test
+    public void testRefreshAhead() throws Exception {
+        CountingFunction vault = new CountingFunction();
+        VaultSecretsCache cache = cache(vault, config(10000, 2000, 0));
+        ExecutorService refresher = Executors.newSingleThreadExecutor();
+        cache.setRefresher(refresher);
+        try {
+            Assertions.assertEquals("secret-foo-1", cache.apply("foo"));
+
+            // within the refresh ahead time the cached secret is returned, and refreshed in the background
+            time.addAndGet(8500);
+            Assertions.assertEquals("secret-foo-1", cache.apply("foo"));
+            refresher.shutdown();
+            Assertions.assertTrue(refresher.awaitTermination(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(2, vault.calls.get());
+
+            // the refreshed secret did not expire
+            time.addAndGet(2000);
+            Assertions.assertEquals("secret-foo-2", cache.apply("foo"));
+            Assertions.assertEquals(2, vault.calls.get());
+            Assertions.assertEquals(1, cache.getMisses());
+        } finally {
+            refresher.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testStaleIfError() {
+        CountingFunction vault = new CountingFunction();
+        VaultSecretsCache cache = cache(vault, config(10000, 0, 0));
+
+        Assertions.assertEquals("secret-foo-1", cache.apply("foo"));
+        vault.fail = true;
+        time.addAndGet(10000);
+        Assertions.assertEquals("secret-foo-1", cache.apply("foo"));
+        Assertions.assertEquals(1, cache.getStaleHits());
+        Assertions.assertEquals(1, cache.getErrors());
+
+        // the vault is not tried again until a tenth of the time to live
+        Assertions.assertEquals("secret-foo-1", cache.apply("foo"));
+        Assertions.assertEquals(2, vault.calls.get());
+        time.addAndGet(1000);
+        Assertions.assertEquals("secret-foo-1", cache.apply("foo"));
+        Assertions.assertEquals(3, vault.calls.get());
+
+        vault.fail = false;
+        time.addAndGet(1000);
+        Assertions.assertEquals("secret-foo-4", cache.apply("foo"));
+
+        // without a cached secret the error is thrown
+        vault.fail = true;
+        Assertions.assertThrows(RuntimeCamelException.class, () -> cache.apply("bar"));
+    }
+
+    @Test
+    public void testStaleIfErrorDisabled() {
+        CountingFunction vault = new CountingFunction();
+        VaultCacheConfigurationProperties config = config(10000, 0, 0);
+        config.setStaleIfError(false);
+        VaultSecretsCache cache = cache(vault, config);
+
+        cache.apply("foo");
+        vault.fail = true;
+        time.addAndGet(10000);
+        Assertions.assertThrows(RuntimeCamelException.class, () -> cache.apply("foo"));
+    }
+
+    @Test
+    public void testMaximumSize() {
+        CountingFunction vault = new CountingFunction();
+        VaultCacheConfigurationProperties config = config(10000, 0, 0);
+        config.setMaximumSize(10);
+        VaultSecretsCache cache = cache(vault, config);
+
+        for (int i = 0; i < 20; i++) {
+            time.incrementAndGet();
+            cache.apply("foo" + i);
+        }
+        Assertions.assertEquals(10, cache.size());
+        // the secrets which expire first are evicted
+        Assertions.assertFalse(cache.isCached("foo0"));
+        Assertions.assertTrue(cache.isCached("foo19"));
+    }
+
+    @Test
+    public void testInstall() throws Exception {
+        CountingFunction vault = new CountingFunction();
+        CamelContext context = new DefaultCamelContext();
+        ((PropertiesComponent) context.getPropertiesComponent()).addPropertiesFunction(vault);
+
+        VaultSecretsCache cache = VaultSecretsCache.install(context, "aws", config(60000, 10000, 0.1));
+        Assertions.assertNotNull(cache);
+        Assertions.assertSame(vault, cache.getDelegate());
+        Assertions.assertNull(VaultSecretsCache.install(context, "unknown", config(60000, 10000, 0.1)));
+
+        context.start();
+        try {
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertEquals("secret-foo-1", context.resolvePropertyPlaceholders("{{aws:foo}}"));
+            }
+            Assertions.assertEquals(1, vault.calls.get());
+        } finally {
+            context.stop();
+        }
+    }
+
+    private VaultSecretsCache cache(PropertiesFunction vault, VaultCacheConfigurationProperties config) {
+        VaultSecretsCache answer = new VaultSecretsCache(vault, config);
+        answer.setClock(time::get);
+        return answer;
+    }
+
+    private static VaultCacheConfigurationProperties config(long timeToLive, long refreshAhead, double jitter) {
+        VaultCacheConfigurationProperties answer = new VaultCacheConfigurationProperties();
+        answer.setEnabled(true);
+        answer.setTimeToLive(timeToLive);
+        answer.setRefreshAhead(refreshAhead);
+        answer.setJitter(jitter);
+        return answer;
+    }
+
+    /**
+     * A local stand-in of a vault, which counts the lookups.
+     */
+    private static final class CountingFunction implements PropertiesFunction {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean fail;
+
+        @Override
+        public String getName() {
+            return "aws";
+        }
+
+        @Override
+        public String apply(String remainder) {
+            int call = calls.incrementAndGet();
+            if (fail) {
+                throw new RuntimeCamelException("Vault is not available");
+            }
+            return "secret-" + remainder + "-" + call;
+        }
+    }
+}
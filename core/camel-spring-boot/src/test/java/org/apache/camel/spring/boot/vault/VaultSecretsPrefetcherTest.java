@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.vault;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.properties.PropertiesComponent;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.PropertiesFunction;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+public class VaultSecretsPrefetcherTest {
+
+    @Test
+    public void testCollect() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        VaultSecretsPrefetcher prefetcher = new VaultSecretsPrefetcher(Collections.singletonList(install(context, new SlowFunction("aws", 0))));
+
+        Map<String, Set<String>> secrets = new LinkedHashMap<>();
+        prefetcher.collect("jdbc:{{aws:db/url}}?user={{aws:db/user:sa}}&password={{aws:{{env}}-password}}", secrets);
+        prefetcher.collect("{{gcp:other}} and {{foo}}", secrets);
+
+        Assertions.assertEquals(1, secrets.size());
+        Assertions.assertEquals(Set.of("db/url", "db/user:sa"), secrets.get("aws"));
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        SlowFunction vault = new SlowFunction("aws", 200);
+        CamelContext context = new DefaultCamelContext();
+        VaultSecretsCache cache = install(context, vault);
+
+        StandardEnvironment env = new StandardEnvironment();
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            map.put("camel.component.foo" + i + ".secret-key", "{{aws:key" + i + "}}");
+        }
+        env.getPropertySources().addFirst(new MapPropertySource("test", map));
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                for (int i = 0; i < 5; i++) {
+                    from("direct:start" + i).routeId("route" + i).to("log:{{aws:log" + i + "}}");
+                }
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        VaultSecretsPrefetcher prefetcher = new VaultSecretsPrefetcher(Collections.singletonList(cache));
+        Assertions.assertEquals(10, prefetcher.prefetch(context, env, null));
+        long elapsed = System.currentTimeMillis() - start;
+
+        // the secrets are looked up concurrently
+        Assertions.assertTrue(elapsed < 10 * 200, "Secrets should be looked up concurrently, took: " + elapsed);
+        Assertions.assertEquals(10, vault.calls.get());
+        Assertions.assertEquals(10, cache.size());
+
+        // already cached
+        Assertions.assertEquals(0, prefetcher.prefetch(context));
+
+        context.start();
+        try {
+            Assertions.assertEquals("secret-key0", context.resolvePropertyPlaceholders("{{aws:key0}}"));
+            Assertions.assertEquals(10, vault.calls.get());
+        } finally {
+            context.stop();
+        }
+    }
+
+    @Test
+    public void testPrefetchVaultsConcurrently() throws Exception {
+        SlowFunction aws = new SlowFunction("aws", 500);
+        SlowFunction gcp = new SlowFunction("gcp", 500);
+        CamelContext context = new DefaultCamelContext();
+        VaultSecretsCache awsCache = install(context, aws);
+        VaultSecretsCache gcpCache = install(context, gcp);
+
+        StandardEnvironment env = new StandardEnvironment();
+        Map<String, Object> map = new HashMap<>();
+        map.put("camel.component.foo.secret-key", "{{aws:key}}");
+        map.put("camel.component.bar.secret-key", "{{gcp:key}}");
+        env.getPropertySources().addFirst(new MapPropertySource("test", map));
+
+        long start = System.currentTimeMillis();
+        VaultSecretsPrefetcher prefetcher = new VaultSecretsPrefetcher(Arrays.asList(awsCache, gcpCache));
+        Assertions.assertEquals(2, prefetcher.prefetch(context, env, null));
+        long elapsed = System.currentTimeMillis() - start;
+
+        // the vaults are looked up concurrently
+        Assertions.assertTrue(elapsed < 2 * 500, "Vaults should be looked up concurrently, took: " + elapsed);
+        Assertions.assertTrue(awsCache.isCached("key"));
+        Assertions.assertTrue(gcpCache.isCached("key"));
+    }
+
+    @Test
+    public void testCollectFromEnvironment() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        VaultSecretsPrefetcher prefetcher = new VaultSecretsPrefetcher(Collections.singletonList(install(context, new SlowFunction("aws", 0))));
+
+        StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new MapPropertySource("high", Map.of("secret-key", "{{aws:new-key}}")));
+        env.getPropertySources().addLast(new MapPropertySource("low", Map.of("secret-key", "{{aws:old-key}}", "other-key", "{{aws:other}}")));
+
+        Map<String, Set<String>> secrets = new LinkedHashMap<>();
+        prefetcher.collectFromEnvironment(env, secrets);
+
+        // the overridden value is not collected
+        Assertions.assertEquals(Set.of("new-key", "other"), secrets.get("aws"));
+    }
+
+    private static VaultSecretsCache install(CamelContext context, PropertiesFunction vault) {
+        ((PropertiesComponent) context.getPropertiesComponent()).addPropertiesFunction(vault);
+        VaultCacheConfigurationProperties config = new VaultCacheConfigurationProperties();
+        config.setEnabled(true);
+        config.setPrefetch(true);
+        return VaultSecretsCache.install(context, vault.getName(), config);
+    }
+
+    /**
+     * A local stand-in of a vault, which takes some time to look up a secret.
+     */
+    private static final class SlowFunction implements PropertiesFunction {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final String name;
+        private final long delay;
+
+        private SlowFunction(String name, long delay) {
+            this.name = name;
+            this.delay = delay;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String apply(String remainder) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "secret-" + remainder;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.springboot.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Generates the package scan index of the runtime dependencies of a Spring Boot application, which is used by
+ * {@code org.apache.camel.spring.boot.FatJarPackageScanCache} to find the classes and resources of the nested jars
+ * without having to inflate every nested jar of the fat jar when scanning packages.
+ * <p/>
+ * The index is written to the output directory of the project, so it is packaged into the application classes of
+ * the fat jar by the spring-boot-maven-plugin. The jars are named the same way as the spring-boot-maven-plugin names
+ * the nested jars (artifact id, base version and classifier, prefixed by the group id when the names clash), and
+ * their size and CRC-32 are stored so the index is only used for the same nested jars.
+ */
+@Mojo(name = "generate-package-scan-index", defaultPhase = LifecyclePhase.PREPARE_PACKAGE, threadSafe = true,
+      requiresDependencyResolution = ResolutionScope.RUNTIME)
+public class PackageScanIndexMojo extends AbstractMojo {
+
+    // must be kept in sync with org.apache.camel.spring.boot.FatJarPackageScanIndex
+    private static final String INDEX_LOCATION = "META-INF/camel/package-scan.idx";
+    private static final String INDEX_HEADER = "camel-package-scan-index";
+    private static final int INDEX_VERSION = 3;
+    // the scopes of the libraries packaged by the spring-boot-maven-plugin
+    private static final List<String> SCOPES = Arrays.asList(Artifact.SCOPE_COMPILE, Artifact.SCOPE_RUNTIME, Artifact.SCOPE_PROVIDED);
+
+    /**
+     * The maven project.
+     */
+    @Parameter(defaultValue = "${project}", readonly = true)
+    protected MavenProject project;
+
+    /**
+     * The directory where the index is generated.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}")
+    protected File outputDirectory;
+
+    /**
+     * To skip generating the index.
+     */
+    @Parameter(property = "camel.packageScanIndex.skip", defaultValue = "false")
+    protected boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping generating package scan index");
+            return;
+        }
+
+        File index = new File(outputDirectory, INDEX_LOCATION);
+        int jars = 0;
+        try {
+            Files.createDirectories(index.getParentFile().toPath());
+            try (Writer writer = Files.newBufferedWriter(index.toPath(), StandardCharsets.UTF_8)) {
+                writer.write(INDEX_HEADER + "\t" + INDEX_VERSION + "\n");
+                Set<String> duplicates = getDuplicates(project.getArtifacts());
+                for (Artifact artifact : project.getArtifacts()) {
+                    File file = artifact.getFile();
+                    if (!"jar".equals(artifact.getType()) || file == null || !file.isFile() || !SCOPES.contains(artifact.getScope())) {
+                        continue;
+                    }
+                    String name = getJarName(artifact);
+                    if (duplicates.contains(name)) {
+                        name = artifact.getGroupId() + "-" + name;
+                    }
+                    writeJar(writer, name, file);
+                    jars++;
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot generate package scan index: " + index, e);
+        }
+        getLog().info("Generated package scan index of " + jars + " jars: " + index);
+    }
+
+    /**
+     * The name of the nested jar of the artifact, as named by the spring-boot-maven-plugin (such as the base version
+     * of a timestamped snapshot, instead of the file name in the local repository).
+     */
+    static String getJarName(Artifact artifact) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(artifact.getArtifactId()).append("-").append(artifact.getBaseVersion());
+        if (artifact.getClassifier() != null && !artifact.getClassifier().isEmpty()) {
+            sb.append("-").append(artifact.getClassifier());
+        }
+        sb.append(".").append(artifact.getArtifactHandler().getExtension());
+        return sb.toString();
+    }
+
+    private static Set<String> getDuplicates(Set<Artifact> artifacts) {
+        Set<String> duplicates = new HashSet<>();
+        Set<String> seen = new HashSet<>();
+        for (Artifact artifact : artifacts) {
+            String name = getJarName(artifact);
+            if (artifact.getFile() != null && !seen.add(name)) {
+                duplicates.add(name);
+            }
+        }
+        return duplicates;
+    }
+
+    private void writeJar(Writer writer, String jarName, File file) throws IOException {
+        // directory -> simple class names / resource file names, sorted to keep the index reproducible
+        Map<String, Set<String>> classes = new TreeMap<>();
+        Map<String, Set<String>> resources = new TreeMap<>();
+        try (ZipFile zip = new ZipFile(file)) {
+            Enumeration<? extends ZipEntry> it = zip.entries();
+            while (it.hasMoreElements()) {
+                ZipEntry entry = it.nextElement();
+                String name = entry.getName().trim();
+                // the manifest is not an entry when scanning the jar as a jar stream
+                if (entry.isDirectory() || JarFile.MANIFEST_NAME.equals(name)) {
+                    continue;
+                }
+                int pos = name.lastIndexOf('/');
+                String dir = pos > 0 ? name.substring(0, pos) : "";
+                if (name.endsWith(".class")) {
+                    String simpleName = name.substring(pos + 1, name.length() - ".class".length());
+                    classes.computeIfAbsent(dir, k -> new TreeSet<>()).add(simpleName);
+                } else {
+                    resources.computeIfAbsent(dir, k -> new TreeSet<>()).add(name.substring(pos + 1));
+                }
+            }
+        }
+
+        writer.write("J\t" + jarName + "\t" + file.length() + "\t" + Long.toHexString(crc(file)) + "\n");
+        writeEntries(writer, "P", classes);
+        writeEntries(writer, "R", resources);
+    }
+
+    private static long crc(File file) throws IOException {
+        // the nested jars are stored as is, so this is the CRC-32 in the central directory of the fat jar
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            int n;
+            while ((n = is.read(buffer)) != -1) {
+                crc.update(buffer, 0, n);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static void writeEntries(Writer writer, String kind, Map<String, Set<String>> entries) throws IOException {
+        for (Map.Entry<String, Set<String>> entry : entries.entrySet()) {
+            writer.write(kind + "\t" + entry.getKey());
+            for (String name : entry.getValue()) {
+                writer.write("\t" + name);
+            }
+            writer.write("\n");
+        }
+    }
+
+}
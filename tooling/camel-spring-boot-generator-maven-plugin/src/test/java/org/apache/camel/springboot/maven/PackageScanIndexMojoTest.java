@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.springboot.maven;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PackageScanIndexMojoTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testGenerateIndex() throws Exception {
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        artifacts.add(artifact("org.foo", "foo", "1.0", null, Artifact.SCOPE_COMPILE, "foo.jar",
+                "org/foo/Foo.class", "org/foo/Bar.class", "META-INF/services/org/apache/camel/foo"));
+        // a timestamped snapshot is named by its base version
+        artifacts.add(artifact("org.snap", "snap", "1.0-20221017.101010-1", null, Artifact.SCOPE_RUNTIME,
+                "snap-1.0-20221017.101010-1.jar", "org/snap/Snap.class"));
+        artifacts.add(artifact("org.foo", "foo", "1.0", "tests", Artifact.SCOPE_RUNTIME, "foo-tests.jar",
+                "org/foo/FooTest.class"));
+        // jars with the same name are prefixed by their group id
+        artifacts.add(artifact("org.one", "dup", "1.0", null, Artifact.SCOPE_COMPILE, "one/dup-1.0.jar", "org/one/Dup.class"));
+        artifacts.add(artifact("org.two", "dup", "1.0", null, Artifact.SCOPE_COMPILE, "two/dup-1.0.jar", "org/two/Dup.class"));
+        // not packaged in the fat jar
+        artifacts.add(artifact("org.test", "test", "1.0", null, Artifact.SCOPE_TEST, "test.jar", "org/test/Test.class"));
+
+        List<String> lines = generate(artifacts);
+
+        Assertions.assertEquals("camel-package-scan-index\t3", lines.get(0));
+        File foo = tempDir.resolve("foo.jar").toFile();
+        Assertions.assertTrue(lines.contains("J\tfoo-1.0.jar\t" + foo.length() + "\t" + Long.toHexString(crc(foo))));
+        Assertions.assertTrue(lines.contains("P\torg/foo\tBar\tFoo"));
+        Assertions.assertTrue(lines.contains("R\tMETA-INF/services/org/apache/camel\tfoo"));
+        Assertions.assertTrue(lines.stream().anyMatch(l -> l.startsWith("J\tsnap-1.0-SNAPSHOT.jar\t")));
+        Assertions.assertTrue(lines.stream().anyMatch(l -> l.startsWith("J\tfoo-1.0-tests.jar\t")));
+        Assertions.assertTrue(lines.stream().anyMatch(l -> l.startsWith("J\torg.one-dup-1.0.jar\t")));
+        Assertions.assertTrue(lines.stream().anyMatch(l -> l.startsWith("J\torg.two-dup-1.0.jar\t")));
+        Assertions.assertFalse(lines.stream().anyMatch(l -> l.startsWith("J\tdup-1.0.jar\t")));
+        Assertions.assertFalse(lines.stream().anyMatch(l -> l.startsWith("J\ttest-1.0.jar\t")));
+        Assertions.assertFalse(lines.contains("P\torg/test\tTest"));
+    }
+
+    @Test
+    public void testSkip() throws Exception {
+        PackageScanIndexMojo mojo = new PackageScanIndexMojo();
+        mojo.project = new MavenProject();
+        mojo.outputDirectory = tempDir.resolve("classes").toFile();
+        mojo.skip = true;
+        mojo.execute();
+
+        Assertions.assertFalse(new File(mojo.outputDirectory, "META-INF/camel/package-scan.idx").exists());
+    }
+
+    private List<String> generate(Set<Artifact> artifacts) throws Exception {
+        MavenProject project = new MavenProject();
+        project.setArtifacts(artifacts);
+        PackageScanIndexMojo mojo = new PackageScanIndexMojo();
+        mojo.project = project;
+        mojo.outputDirectory = tempDir.resolve("classes").toFile();
+        mojo.execute();
+
+        return Files.readAllLines(tempDir.resolve("classes/META-INF/camel/package-scan.idx"), StandardCharsets.UTF_8);
+    }
+
+    private Artifact artifact(String groupId, String artifactId, String version, String classifier, String scope,
+                              String fileName, String... entries) throws IOException {
+        File file = tempDir.resolve(fileName).toFile();
+        file.getParentFile().mkdirs();
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file))) {
+            for (String entry : entries) {
+                zos.putNextEntry(new ZipEntry(entry));
+                zos.write(new byte[] { 1 });
+                zos.closeEntry();
+            }
+        }
+        DefaultArtifact artifact = new DefaultArtifact(groupId, artifactId, version, scope, "jar", classifier,
+                new DefaultArtifactHandler("jar"));
+        artifact.setFile(file);
+        return artifact;
+    }
+
+    private static long crc(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file.toPath()));
+        return crc.getValue();
+    }
+
+}